@@ -0,0 +1,66 @@
+package juegoprog.benchmark.jmh;
+
+import juegoprog.elementos.AlmacenBalas;
+import juegoprog.elementos.GestorBalas;
+import juegoprog.escenarios.MapaColisiones;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un tick de las balas ({@link GestorBalas#actualizar}, lo que antes era {@code Bala.actualizar}
+ * de cada una): rayo contra el mapa, borrado de las que chocan y publicación de la instantánea.
+ * <p>
+ * En cada operación el pool se rellena hasta {@code balas} con disparos desde puntos libres al
+ * azar, y se quitan las que han salido del mapa (fuera de él no chocan con nada). Ese relleno
+ * entra en la medida, pero es mucho más barato que el tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkBalas {
+
+    // Unas pocas, el pool por defecto lleno y una prueba de carga
+    @Param({"64", "256", "4096"})
+    int balas;
+
+    private MapaColisiones mapa;
+    private GestorBalas gestor;
+    private final Random random = new Random(42);
+
+    @Setup
+    public void preparar() {
+        mapa = MapaSintetico.get();
+        gestor = new GestorBalas(balas);
+        rellenar();
+    }
+
+    @Benchmark
+    public GestorBalas actualizar() {
+        gestor.actualizar(mapa);
+        rellenar();
+        return gestor;
+    }
+
+    private void rellenar() {
+        AlmacenBalas almacen = gestor.getAlmacen();
+        int i = 0;
+        while (i < almacen.getNum()) {
+            double x = almacen.getX(i), y = almacen.getY(i);
+            if (x < 0 || y < 0 || x >= MapaSintetico.ANCHO || y >= MapaSintetico.ALTO) {
+                almacen.eliminar(i);
+            } else {
+                i++;
+            }
+        }
+        while (almacen.getNum() < balas) {
+            int[] origen = MapaSintetico.puntoLibre(mapa, random);
+            double angulo = random.nextDouble() * Math.PI * 2;
+            almacen.crear(origen[0], origen[1], origen[0] + Math.cos(angulo), origen[1] + Math.sin(angulo));
+        }
+    }
+}
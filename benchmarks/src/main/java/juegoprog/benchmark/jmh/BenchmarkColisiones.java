@@ -0,0 +1,115 @@
+package juegoprog.benchmark.jmh;
+
+import juegoprog.escenarios.ImpactoRayo;
+import juegoprog.escenarios.MapaColisiones;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas al mapa de colisiones (lo que antes hacía {@code ColisionesPanel.hayColision}):
+ * un punto suelto, un lote de puntos de una vez, el rayo de una bala de un tick y líneas de
+ * visión largas (600 px). Cada operación recorre {@code puntos} consultas al azar del mapa
+ * sintético.
+ * <p>
+ * {@link #muestreoBala} es el avance antiguo de las balas (6 puntos cada 5 px), para comparar
+ * con {@link #trazarRayo}: los rayos salen de puntos libres, así que los choques que cuenta el
+ * muestreo de menos son balas que atraviesan paredes finas.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkColisiones {
+
+    // Puntos por operación: los de un tick normal y los de una prueba de carga
+    @Param({"1024", "65536"})
+    int puntos;
+
+    // Lo que avanza una bala en un tick y la longitud de una línea de visión larga
+    private static final int VELOCIDAD = 30;
+    private static final int VISION = 600;
+    private static final int PASOS_MUESTREO = 6;
+
+    private MapaColisiones mapa;
+    private int[] xs, ys;      // Puntos al azar (con o sin obstáculo)
+    private int[] lx, ly;      // Puntos libres, de donde salen los rayos
+    private double[] dx, dy;
+    private boolean[] resultado;
+    private final ImpactoRayo impacto = new ImpactoRayo();
+
+    @Setup
+    public void preparar() {
+        mapa = MapaSintetico.get();
+        Random random = new Random(42);
+        xs = new int[puntos];
+        ys = new int[puntos];
+        lx = new int[puntos];
+        ly = new int[puntos];
+        dx = new double[puntos];
+        dy = new double[puntos];
+        resultado = new boolean[puntos];
+        for (int i = 0; i < puntos; i++) {
+            xs[i] = random.nextInt(MapaSintetico.ANCHO);
+            ys[i] = random.nextInt(MapaSintetico.ALTO);
+            int[] libre = MapaSintetico.puntoLibre(mapa, random);
+            lx[i] = libre[0];
+            ly[i] = libre[1];
+            double angulo = random.nextDouble() * Math.PI * 2;
+            dx[i] = Math.cos(angulo);
+            dy[i] = Math.sin(angulo);
+        }
+    }
+
+    @Benchmark
+    public int hayColision() {
+        int choques = 0;
+        for (int i = 0; i < puntos; i++) {
+            if (mapa.hayColision(xs[i], ys[i])) choques++;
+        }
+        return choques;
+    }
+
+    @Benchmark
+    public void consultarLote(Blackhole bh) {
+        mapa.consultar(xs, ys, puntos, resultado);
+        bh.consume(resultado);
+    }
+
+    @Benchmark
+    public int trazarRayo() {
+        int choques = 0;
+        for (int i = 0; i < puntos; i++) {
+            if (mapa.trazarRayo(lx[i], ly[i], lx[i] + dx[i] * VELOCIDAD, ly[i] + dy[i] * VELOCIDAD, impacto)) choques++;
+        }
+        return choques;
+    }
+
+    @Benchmark
+    public int muestreoBala() {
+        int choques = 0;
+        double paso = (double) VELOCIDAD / PASOS_MUESTREO;
+        for (int i = 0; i < puntos; i++) {
+            for (int p = 1; p <= PASOS_MUESTREO; p++) {
+                if (mapa.hayColision((int) (lx[i] + dx[i] * paso * p), (int) (ly[i] + dy[i] * paso * p))) {
+                    choques++;
+                    break;
+                }
+            }
+        }
+        return choques;
+    }
+
+    @Benchmark
+    public int lineaDeVision() {
+        int visibles = 0;
+        for (int i = 0; i < puntos; i++) {
+            if (mapa.hayLineaDeVision(lx[i], ly[i], lx[i] + dx[i] * VISION, ly[i] + dy[i] * VISION)) visibles++;
+        }
+        return visibles;
+    }
+}
@@ -0,0 +1,75 @@
+package juegoprog.benchmark.jmh;
+
+import juegoprog.elementos.AlmacenBalas;
+import juegoprog.elementos.AlmacenEnemigos;
+import juegoprog.elementos.GestorBalas;
+import juegoprog.elementos.GestorEnemigos;
+import juegoprog.escenarios.MapaColisiones;
+import juegoprog.simulacion.SalidaSonido;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de impacto de bala contra enemigos ({@link GestorEnemigos#verificarColisiones}) con
+ * {@code enemigos} enemigos y la mitad de balas: rejilla de candidatos y prueba del cuadrado.
+ * <p>
+ * Mide solo ese camino de consulta, no el de los aciertos. Cada bala se coloca cerca de un
+ * enemigo al azar (hasta un tamaño de enemigo de distancia), así que en la primera invocación
+ * de cada iteración acierta alrededor de una de cada cuatro. Pero las balas no se mueven y un
+ * enemigo muere con {@link AlmacenEnemigos#VIDA_INICIAL} golpes: a partir de la cuarta
+ * invocación los alcanzados ya se han eliminado y las demás (miles por iteración) no aciertan
+ * nada. Devolverles la vida y volver a meterlos en la rejilla cada vez solo se puede hacer con
+ * un tick de {@link GestorEnemigos#actualizar}, que costaría mucho más que lo que se mide; por
+ * eso enemigos y balas solo se reponen al empezar cada iteración.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkImpactos {
+
+    @Param({"15", "100", "1000", "10000"})
+    int enemigos;
+
+    private MapaColisiones mapa;
+    private GestorEnemigos gestorEnemigos;
+    private GestorBalas gestorBalas;
+    private final Random random = new Random(42);
+
+    @Setup
+    public void preparar() {
+        mapa = MapaSintetico.get();
+        gestorEnemigos = new GestorEnemigos(SalidaSonido.SILENCIO, enemigos);
+        gestorBalas = new GestorBalas(Math.max(1, enemigos / 2));
+
+        // Enemigos repartidos por el mapa (paseando, el jugador no está)
+        for (int t = 0; t < 300; t++) {
+            gestorEnemigos.actualizar(-10_000, -10_000, mapa);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void colocarBalas() {
+        gestorEnemigos.actualizar(-10_000, -10_000, mapa);
+
+        AlmacenEnemigos objetivos = gestorEnemigos.getAlmacen();
+        AlmacenBalas balas = gestorBalas.getAlmacen();
+        balas.vaciar();
+        for (int b = 0; b < Math.max(1, enemigos / 2); b++) {
+            int i = random.nextInt(objetivos.getNum());
+            double x = objetivos.getX(i) + (random.nextDouble() * 2 - 1) * AlmacenEnemigos.TAMANO;
+            double y = objetivos.getY(i) + (random.nextDouble() * 2 - 1) * AlmacenEnemigos.TAMANO;
+            balas.crear(x, y, x + 1, y);
+        }
+    }
+
+    @Benchmark
+    public GestorEnemigos verificarColisiones() {
+        gestorEnemigos.verificarColisiones(gestorBalas);
+        return gestorEnemigos;
+    }
+}
@@ -0,0 +1,61 @@
+package juegoprog.benchmark.jmh;
+
+import juegoprog.elementos.GestorEnemigos;
+import juegoprog.escenarios.MapaColisiones;
+import juegoprog.simulacion.SalidaSonido;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un tick de los enemigos ({@link GestorEnemigos#actualizar}, lo que antes era
+ * {@code Enemigo.moverHacia} de cada uno): campo de flujo, movimiento, rejilla y respawn.
+ * <p>
+ * - "persecucion": el jugador está junto al primer punto de respawn, así que los enemigos que
+ *   nacen ahí lo persiguen y se amontonan a su alrededor (con muchos, la mayoría).
+ * - "paseo": el jugador está fuera del mapa y todos pasean entre destinos al azar.
+ * Antes de medir se simulan unos ticks para que los enemigos estén repartidos.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkMovimientoEnemigos {
+
+    private static final int TICKS_PREVIOS = 300;
+
+    // De los del juego a una prueba de estrés
+    @Param({"15", "100", "1000", "10000"})
+    int enemigos;
+
+    @Param({"persecucion", "paseo"})
+    String modo;
+
+    private MapaColisiones mapa;
+    private GestorEnemigos gestor;
+    private double objetivoX, objetivoY;
+
+    @Setup
+    public void preparar() {
+        mapa = MapaSintetico.get();
+        gestor = new GestorEnemigos(SalidaSonido.SILENCIO, enemigos);
+        if ("persecucion".equals(modo)) {
+            objetivoX = 3350;
+            objetivoY = 679;
+        } else {
+            objetivoX = -10_000;
+            objetivoY = -10_000;
+        }
+        for (int t = 0; t < TICKS_PREVIOS; t++) {
+            gestor.actualizar(objetivoX, objetivoY, mapa);
+        }
+    }
+
+    @Benchmark
+    public GestorEnemigos actualizar() {
+        gestor.actualizar(objetivoX, objetivoY, mapa);
+        return gestor;
+    }
+}
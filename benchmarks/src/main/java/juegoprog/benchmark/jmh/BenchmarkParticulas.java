@@ -0,0 +1,38 @@
+package juegoprog.benchmark.jmh;
+
+import juegoprog.efectos.EfectoParticulas;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un tick del efecto de partículas ({@link EfectoParticulas#actualizar}) con el número del
+ * juego (-Dnoir.particulas, 350 por defecto) y dos cargas mayores. Solo la simulación: el
+ * dibujado depende de la pantalla.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BenchmarkParticulas {
+
+    private static final double SEGUNDOS_TICK = 1.0 / 60;
+
+    @Param({"350", "5000", "50000"})
+    int particulas;
+
+    private EfectoParticulas efecto;
+
+    @Setup
+    public void preparar() {
+        efecto = new EfectoParticulas(MapaSintetico.ANCHO, MapaSintetico.ALTO, particulas);
+    }
+
+    @Benchmark
+    public EfectoParticulas actualizar() {
+        efecto.actualizar(SEGUNDOS_TICK);
+        return efecto;
+    }
+}
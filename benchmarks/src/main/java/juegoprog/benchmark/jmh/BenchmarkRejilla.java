@@ -0,0 +1,131 @@
+package juegoprog.benchmark.jmh;
+
+import juegoprog.elementos.AlmacenEnemigos;
+import juegoprog.elementos.RejillaEspacial;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la comprobación de colisiones "todos contra todos" con la rejilla espacial, de 15 a
+ * 10.000 entidades (enemigos y balas repartidos al azar por un mapa del tamaño del Distrito
+ * Sombrío). Cada operación es un tick:
+ * - bala contra enemigo (una bala por cada dos enemigos),
+ * - enemigo contra enemigo (todos los pares a menos de un tamaño de enemigo).
+ * La rejilla se reconstruye en cada tick, como en el juego. Al preparar cada tamaño se comprueba
+ * que los dos métodos encuentran el mismo número de choques.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BenchmarkRejilla {
+
+    private static final int TAMANO = AlmacenEnemigos.TAMANO;
+    private static final int TAM_CELDA = 64;
+
+    @Param({"15", "100", "1000", "10000"})
+    int entidades;
+
+    private double[] ex, ey, bx, by;
+    private int numBalas;
+    private RejillaEspacial rejilla;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        ex = new double[entidades];
+        ey = new double[entidades];
+        for (int i = 0; i < entidades; i++) {
+            ex[i] = random.nextDouble() * MapaSintetico.ANCHO;
+            ey[i] = random.nextDouble() * MapaSintetico.ALTO;
+        }
+        numBalas = Math.max(1, entidades / 2);
+        bx = new double[numBalas];
+        by = new double[numBalas];
+        for (int i = 0; i < numBalas; i++) {
+            bx[i] = random.nextDouble() * MapaSintetico.ANCHO;
+            by[i] = random.nextDouble() * MapaSintetico.ALTO;
+        }
+        rejilla = new RejillaEspacial(MapaSintetico.ANCHO, MapaSintetico.ALTO, TAM_CELDA, entidades);
+
+        if (balasFuerzaBruta() != balasRejilla() || paresFuerzaBruta() != paresRejilla()) {
+            throw new IllegalStateException("La rejilla y la fuerza bruta no encuentran los mismos choques");
+        }
+    }
+
+    // =========================================================================
+    // BALA CONTRA ENEMIGO
+    // =========================================================================
+
+    @Benchmark
+    public long balasFuerzaBruta() {
+        long choques = 0;
+        for (int e = 0; e < entidades; e++) {
+            for (int b = 0; b < numBalas; b++) {
+                if (dentroDelCuadrado(ex[e], ey[e], bx[b], by[b])) choques++;
+            }
+        }
+        return choques;
+    }
+
+    @Benchmark
+    public long balasRejilla() {
+        llenarRejilla();
+
+        long choques = 0;
+        for (int b = 0; b < numBalas; b++) {
+            int candidatos = rejilla.consultar(bx[b], by[b], TAMANO * 0.75, false);
+            for (int k = 0; k < candidatos; k++) {
+                int e = rejilla.getResultado(k);
+                if (dentroDelCuadrado(ex[e], ey[e], bx[b], by[b])) choques++;
+            }
+        }
+        return choques;
+    }
+
+    private static boolean dentroDelCuadrado(double x, double y, double px, double py) {
+        return px >= x - TAMANO / 2.0 && px <= x + TAMANO / 2.0 && py >= y - TAMANO / 2.0 && py <= y + TAMANO / 2.0;
+    }
+
+    // =========================================================================
+    // ENEMIGO CONTRA ENEMIGO
+    // =========================================================================
+
+    @Benchmark
+    public long paresFuerzaBruta() {
+        long pares = 0;
+        double radio2 = (double) TAMANO * TAMANO;
+        for (int i = 0; i < entidades; i++) {
+            for (int j = i + 1; j < entidades; j++) {
+                double dx = ex[i] - ex[j], dy = ey[i] - ey[j];
+                if (dx * dx + dy * dy <= radio2) pares++;
+            }
+        }
+        return pares;
+    }
+
+    @Benchmark
+    public long paresRejilla() {
+        llenarRejilla();
+
+        long pares = 0;
+        for (int i = 0; i < entidades; i++) {
+            int cercanos = rejilla.consultar(ex[i], ey[i], TAMANO, true);
+            for (int k = 0; k < cercanos; k++) {
+                if (rejilla.getResultado(k) > i) pares++; // Cada par una sola vez
+            }
+        }
+        return pares;
+    }
+
+    private void llenarRejilla() {
+        rejilla.limpiar();
+        for (int e = 0; e < entidades; e++) {
+            rejilla.insertar(e, ex[e], ey[e]);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package juegoprog.benchmark.jmh;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Punto de entrada de benchmarks.jar: el mismo que el de JMH, pero si no se elige formato ni
+ * fichero de resultados los escribe en JSON en {@value #FICHERO_POR_DEFECTO}, para poder
+ * comparar ejecuciones y detectar regresiones.
+ * <p>
+ * Ejemplos:
+ * - {@code java -jar benchmarks/target/benchmarks.jar} → todos los benchmarks.
+ * - {@code java -jar benchmarks/target/benchmarks.jar BenchmarkBalas -p balas=4096} → uno, con una carga.
+ * - {@code java -jar benchmarks/target/benchmarks.jar -rf csv -rff balas.csv} → otro formato.
+ * Compilado con JDK 21 (vista previa) hay que añadir {@code --enable-preview} después de {@code java};
+ * los forks de JMH heredan la opción.
+ */
+public final class Lanzador {
+
+    static final String FICHERO_POR_DEFECTO = "jmh-resultados.json";
+
+    private Lanzador() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> argumentos = new ArrayList<>(Arrays.asList(args));
+        if (!argumentos.contains("-rf") && !argumentos.contains("-rff")) {
+            argumentos.addAll(List.of("-rf", "json", "-rff", FICHERO_POR_DEFECTO));
+        }
+        org.openjdk.jmh.Main.main(argumentos.toArray(new String[0]));
+    }
+}
@@ -0,0 +1,61 @@
+package juegoprog.benchmark.jmh;
+
+import juegoprog.escenarios.MapaColisiones;
+import juegoprog.escenarios.MascaraColision;
+
+import java.util.Random;
+
+/**
+ * Mapa de colisiones del tamaño del Distrito Sombrío para los benchmarks: edificios
+ * (rectángulos) y paredes de 1 px, siempre con la misma semilla. Así las medidas no dependen de
+ * que la imagen de colisión esté en el classpath.
+ */
+final class MapaSintetico {
+
+    static final int ANCHO = 4472;
+    static final int ALTO = 4816;
+
+    // Se crea una vez por JVM (cada fork de JMH) y lo comparten todos los estados
+    private static MapaColisiones mapa;
+
+    private MapaSintetico() {
+    }
+
+    static synchronized MapaColisiones get() {
+        if (mapa == null) {
+            mapa = crear(new Random(7));
+        }
+        return mapa;
+    }
+
+    /** Punto al azar sin obstáculo. */
+    static int[] puntoLibre(MapaColisiones mapa, Random random) {
+        int x, y;
+        do {
+            x = random.nextInt(ANCHO);
+            y = random.nextInt(ALTO);
+        } while (mapa.hayColision(x, y));
+        return new int[]{x, y};
+    }
+
+    private static MapaColisiones crear(Random random) {
+        MascaraColision mascara = new MascaraColision(ANCHO, ALTO);
+        for (int e = 0; e < 400; e++) {
+            int x = random.nextInt(ANCHO), y = random.nextInt(ALTO);
+            int w = 40 + random.nextInt(200), h = 40 + random.nextInt(200);
+            for (int fy = y; fy < y + h; fy++) {
+                for (int fx = x; fx < x + w; fx++) {
+                    mascara.setColision(fx, fy, true);
+                }
+            }
+        }
+        for (int p = 0; p < 1500; p++) {
+            int x = random.nextInt(ANCHO), y = random.nextInt(ALTO);
+            int tipo = random.nextInt(3);
+            for (int k = 0; k < 150; k++) {
+                mascara.setColision(x + (tipo != 1 ? k : 0), y + (tipo != 0 ? k : 0), true);
+            }
+        }
+        return new MapaColisiones(mascara);
+    }
+}
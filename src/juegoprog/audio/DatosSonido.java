@@ -0,0 +1,52 @@
+package juegoprog.audio;
+
+import javax.sound.sampled.*;
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Sonido ya decodificado en memoria (formato PCM + muestras).
+ * Se carga una vez desde el registro de recursos y cada reproducción solo abre un Clip
+ * sobre estos bytes, sin volver a buscar ni decodificar el archivo.
+ */
+public final class DatosSonido {
+
+    private final AudioFormat formato;
+    private final byte[] muestras;
+
+    private DatosSonido(AudioFormat formato, byte[] muestras) {
+        this.formato = formato;
+        this.muestras = muestras;
+    }
+
+    /** Lee el archivo completo y lo pasa a PCM si hace falta. */
+    public static DatosSonido cargar(URL url) throws IOException, UnsupportedAudioFileException {
+        try (AudioInputStream original = AudioSystem.getAudioInputStream(url)) {
+            AudioFormat formato = original.getFormat();
+            AudioInputStream pcm = original;
+
+            if (formato.getEncoding() != AudioFormat.Encoding.PCM_SIGNED
+                    && formato.getEncoding() != AudioFormat.Encoding.PCM_UNSIGNED) {
+                AudioFormat destino = new AudioFormat(AudioFormat.Encoding.PCM_SIGNED,
+                        formato.getSampleRate(), 16, formato.getChannels(),
+                        formato.getChannels() * 2, formato.getSampleRate(), false);
+                pcm = AudioSystem.getAudioInputStream(destino, original);
+            }
+
+            try (AudioInputStream entrada = pcm) {
+                return new DatosSonido(entrada.getFormat(), entrada.readAllBytes());
+            }
+        }
+    }
+
+    /** Crea un Clip nuevo (sin iniciar) con las muestras de este sonido. */
+    public Clip abrirClip() throws LineUnavailableException {
+        Clip clip = AudioSystem.getClip();
+        clip.open(formato, muestras, 0, muestras.length);
+        return clip;
+    }
+
+    public int getBytes() {
+        return muestras.length;
+    }
+}
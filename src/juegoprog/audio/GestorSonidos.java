@@ -1,25 +1,49 @@
 package juegoprog.audio;
 
+import juegoprog.simulacion.SalidaSonido;
+import juegoprog.sistema.RegistroRecursos;
+
 import javax.sound.sampled.*;
-import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
 
-public class GestorSonidos {
+public class GestorSonidos implements SalidaSonido {
     private Map<String, Clip> clipsActivos = new HashMap<>();
 
+    // Sonidos ya decodificados que ha pedido este gestor (del registro de recursos, por ID normalizado)
+    private final Map<String, RegistroRecursos.Recurso<DatosSonido>> sonidos = new HashMap<>();
+
+    /** Devuelve el sonido decodificado, pidiéndolo al registro solo la primera vez (null si no existe). */
+    private synchronized DatosSonido obtenerSonido(String ruta) {
+        String id = RegistroRecursos.normalizarId(ruta);
+        RegistroRecursos.Recurso<DatosSonido> recurso = sonidos.get(id);
+        if (recurso == null) {
+            recurso = RegistroRecursos.sonido(ruta);
+            if (recurso == null) {
+                return null;
+            }
+            sonidos.put(id, recurso);
+        }
+        return recurso.get();
+    }
+
     /** Reproduce un sonido corto (disparos, alerta, abrir caja fuerte) */
+    @Override
     public void reproducirEfecto(String ruta) {
         try {
-            URL url = getClass().getResource(ruta);
-            if (url == null) {
+            DatosSonido sonido = obtenerSonido(ruta);
+            if (sonido == null) {
                 System.err.println("❌ Archivo de sonido no encontrado: " + ruta);
                 return;
             }
 
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(url);
-            Clip efectoClip = AudioSystem.getClip();
-            efectoClip.open(audioStream);
+            Clip efectoClip = sonido.abrirClip();
+            // Al terminar se cierra la línea (antes se quedaban abiertas)
+            efectoClip.addLineListener(evento -> {
+                if (evento.getType() == LineEvent.Type.STOP) {
+                    efectoClip.close();
+                }
+            });
             efectoClip.start();
         } catch (Exception e) {
             System.err.println("❌ Error al reproducir el sonido: " + e.getMessage());
@@ -27,21 +51,20 @@ public class GestorSonidos {
     }
 
     /** Reproduce un sonido en bucle (como pasos o correr) */
+    @Override
     public void reproducirBucle(String ruta) {
         try {
             if (clipsActivos.containsKey(ruta) && clipsActivos.get(ruta).isRunning()) {
                 return; // Si ya está sonando, no lo reiniciamos
             }
 
-            URL url = getClass().getResource(ruta);
-            if (url == null) {
+            DatosSonido sonido = obtenerSonido(ruta);
+            if (sonido == null) {
                 System.err.println("❌ Archivo de sonido no encontrado: " + ruta);
                 return;
             }
 
-            AudioInputStream audioStream = AudioSystem.getAudioInputStream(url);
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioStream);
+            Clip clip = sonido.abrirClip();
             clip.loop(Clip.LOOP_CONTINUOUSLY);
             clipsActivos.put(ruta, clip);
             clip.start();
@@ -51,6 +74,7 @@ public class GestorSonidos {
     }
 
     /** Detiene un sonido en bucle (por ejemplo, cuando el jugador se detiene) */
+    @Override
     public void detenerSonido(String ruta) {
         if (clipsActivos.containsKey(ruta)) {
             Clip clip = clipsActivos.get(ruta);
@@ -71,4 +95,13 @@ public class GestorSonidos {
         clipsActivos.clear(); // Limpiamos la lista de sonidos activos
     }
 
+    /** Devuelve al registro los sonidos decodificados que tenía este gestor. */
+    public synchronized void liberarRecursos() {
+        detenerTodosLosSonidos();
+        for (RegistroRecursos.Recurso<DatosSonido> recurso : sonidos.values()) {
+            recurso.liberar();
+        }
+        sonidos.clear();
+    }
+
 }
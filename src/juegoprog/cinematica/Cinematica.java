@@ -156,28 +156,13 @@ public class Cinematica extends JPanel implements ActionListener {
         ventana.setEnCinematica(false);
         ventana.cambiarPantalla("JUEGO");
 
+        // Velo negro de 500 ms sobre el juego: lo pinta el compositor (un glassPane no se vería
+        // encima del lienzo activo, que es un Canvas)
+        ventana.mostrarVeloNegro(500);
+
         SwingUtilities.invokeLater(() -> {
             // Pedimos el foco para el movimiento (lo que ya tenías)
-            ventana.getMovimiento().requestFocusInWindow();
-
-            // 1) Obtenemos el glassPane de la ventana (panel que se dibuja por encima de todo)
-            JRootPane root = ventana.getRootPane();
-            JPanel glass = (JPanel) root.getGlassPane();
-
-            // 2) Configuramos el glassPane como un panel opaco y negro
-            glass.setOpaque(true);
-            glass.setBackground(Color.BLACK);
-
-            // 3) Lo hacemos visible (ahora tapa todo con negro)
-            glass.setVisible(true);
-
-            // 4) Programamos un Timer de 300 ms (o el tiempo que quieras) que lo oculte
-            Timer t = new Timer(500, e -> {
-                // Quita el velo negro
-                glass.setVisible(false);
-            });
-            t.setRepeats(false);
-            t.start();
+            ventana.getVistaJuego().requestFocusInWindow();
         });
     }
 
@@ -11,27 +11,25 @@ public class FinalMision {
     private final Pantalla ventana;
     private boolean enFinal = false;
     private boolean cajaFuerteCompletada;
-    private final Rectangle areaEscape = new Rectangle(1120, 1800, 50, 120);
 
     public FinalMision(Pantalla ventana) {
         this.ventana = ventana;
         this.cajaFuerteCompletada = cajaFuerteCompletada;
     }
 
-    public void verificarEscape(int x, int y) {
+    // El jugador está en la zona de escape (la detecta la simulación): mensaje y acción de ENTER
+    public void ofrecerEscape() {
         if (enFinal) return;
 
-        if (areaEscape.contains(x, y)) {
-            ventana.getMovimiento().setMostrarMensajePista(true);
-            ventana.getMovimiento().agregarEventoEnter(() -> {
-                ventana.getMovimiento().setMostrarMensajePista(false);
-                if (cajaFuerteCompletada) {
-                    mostrarFinal();
-                } else {
-                    JOptionPane.showMessageDialog(null, "Aún falta algo... No puedes irte sin los documentos.", "Algo no cuadra...", JOptionPane.WARNING_MESSAGE);
-                }
-            });
-        }
+        ventana.getMovimiento().setMostrarMensajePista(true);
+        ventana.getMovimiento().agregarEventoEnter(() -> {
+            ventana.getMovimiento().setMostrarMensajePista(false);
+            if (cajaFuerteCompletada) {
+                mostrarFinal();
+            } else {
+                JOptionPane.showMessageDialog(null, "Aún falta algo... No puedes irte sin los documentos.", "Algo no cuadra...", JOptionPane.WARNING_MESSAGE);
+            }
+        });
     }
 
     private void mostrarFinal() {
@@ -1,7 +1,5 @@
 package juegoprog.cinematica;
 
-import juegoprog.elementos.Enemigo;
-import juegoprog.elementos.GestorEnemigos;
 import juegoprog.graficos.Pantalla;
 import javax.swing.*;
 import java.awt.*;
@@ -15,70 +13,53 @@ public class GestorPistas {
     private final Pantalla ventana;
     private boolean enPista = false; // Controla si el jugador está en una pista
     private String pistaActual = null; // Guarda la pista en la que estamos
-    private final Map<String, Pista> pistas = new HashMap<>();
-    private final Map<String, Boolean> pistasVistas = new HashMap<>(); // Controla qué pistas ya fueron vistas
-    private final GestorEnemigos gestorEnemigos; // Referencia al GestorEnemigos
+    private final Map<String, Pista> pistas = new HashMap<>(); // Imágenes de cada pista (las zonas están en ZonasMision)
 
 
     // 🔹 Constructor
-    public GestorPistas(Pantalla ventana,GestorEnemigos gestorEnemigos) {
+    public GestorPistas(Pantalla ventana) {
         this.ventana = ventana;
-        this.gestorEnemigos= gestorEnemigos;
 
 
-        // 🔹 Definir las pistas con coordenadas e imágenes
+        // 🔹 Definir las imágenes de cada pista (la clave es el id de su zona en la simulación)
 
         // ──────—─────── PISTA UNO: 76 ──────────────
 
         pistas.put("76", new Pista(
-                new Rectangle(1930, 3125, 198, 129),
                 new String[]{"/resources/pistas/76A.png", "/resources/pistas/76B.png"}
         ));
 
         // ────────—───── NUEVA PISTA AÑADIDA: SEGUNDA 190 ──────────────
 
         pistas.put("190", new Pista(
-                new Rectangle(2823, 1283, 251, 228),
                 new String[]{"/resources/pistas/190A.png", "/resources/pistas/190B.png", "/resources/pistas/190C.png"}
         ));
         // ──────────────────────────────────────────────────
 
         // ────────────── NUEVA PISTA: TERCERA 35 ──────────────
         pistas.put("35", new Pista(
-                new Rectangle(2670, 3079, 230, 120), // Coordenadas basadas en los datos proporcionados
                 new String[]{"/resources/pistas/35A.png", "/resources/pistas/35B.png", "/resources/pistas/35C.png"}
         ));
 // ───────────────────────────────────────────────────
-
-
-        // 🔹 Inicializar el mapa de pistas vistas (todas comienzan como no vistas)
-        for (String clave : pistas.keySet()) {
-            pistasVistas.put(clave, false);
-        }
     }
 
     // ──────────────────────────────────────────────────────────────────────
-    // 🔹 Verifica si el jugador está sobre una pista y muestra el mensaje
+    // 🔹 El jugador está sobre la zona de una pista sin ver: muestra el mensaje
     // ──────────────────────────────────────────────────────────────────────
-    public void verificarPistas(int x, int y) {
+    public void ofrecerPista(String clave) {
         if (enPista) return; // No hacer nada si ya estamos en una pista
 
-        for (Map.Entry<String, Pista> entry : pistas.entrySet()) {
-            String clave = entry.getKey();
-            Pista pista = entry.getValue();
+        Pista pista = pistas.get(clave);
+        if (pista == null) return;
 
-            if (pista.area.contains(x, y) && !pistasVistas.get(clave)) {
-                // 🔹 Mostrar el mensaje en pantalla como en la caja fuerte
-                ventana.getMovimiento().setMostrarMensajePista(true);
+        // 🔹 Mostrar el mensaje en pantalla como en la caja fuerte
+        ventana.getMovimiento().setMostrarMensajePista(true);
 
-                // 🔹 Al pulsar ENTER, se oculta el mensaje y se muestra la pista
-                ventana.getMovimiento().agregarEventoEnter(() -> {
-                    ventana.getMovimiento().setMostrarMensajePista(false);
-                    mostrarPista(clave, pista.imagenes);
-                });
-                return; // Evita que se sigan revisando pistas
-            }
-        }
+        // 🔹 Al pulsar ENTER, se oculta el mensaje y se muestra la pista
+        ventana.getMovimiento().agregarEventoEnter(() -> {
+            ventana.getMovimiento().setMostrarMensajePista(false);
+            mostrarPista(clave, pista.imagenes);
+        });
     }
 
     // ──────────────────────────────────────────────────────────────────────
@@ -87,7 +68,7 @@ public class GestorPistas {
     private void mostrarPista(String clave, String[] imagenes) {
         enPista = true;
         pistaActual = clave;
-        pistasVistas.put(clave, true); // Marcar como vista para que no se repita
+        ventana.getSimulacion().getZonas().marcarPistaVista(clave); // Marcar como vista para que no se repita
 
         // Detener a los enemigos al entrar en una pista
         detenerEnemigos();
@@ -169,29 +150,23 @@ public class GestorPistas {
 
 
     // ──────────────────────────────────────────────────────────────────────
-    // 🔹 Clase interna para manejar las pistas (coordenadas + imágenes)
+    // 🔹 Clase interna para manejar las pistas (imágenes)
     // ──────────────────────────────────────────────────────────────────────
     private static class Pista {
-        Rectangle area;
         String[] imagenes;
 
-        public Pista(Rectangle area, String[] imagenes) {
-            this.area = area;
+        public Pista(String[] imagenes) {
             this.imagenes = imagenes;
         }
     }
-    // Metodo para detener todos los enemigos usando GestorEnemigos
+    // Metodo para detener todos los enemigos (lo aplica el propio tick de GestorEnemigos)
     private void detenerEnemigos() {
-        for (Enemigo enemigo : gestorEnemigos.getEnemigos()) {
-            enemigo.detener(); // Llamamos al metodo detener() del enemigo
-        }
+        ventana.getSimulacion().getGestorEnemigos().setPausado(true);
     }
 
-    // Metodo para reanudar todos los enemigos usando GestorEnemigos
+    // Metodo para reanudar todos los enemigos
     private void reanudarEnemigos() {
-        for (Enemigo enemigo : gestorEnemigos.getEnemigos()) {
-            enemigo.reanudar(); // Volvemos a habilitar el movimiento
-        }
+        ventana.getSimulacion().getGestorEnemigos().setPausado(false);
     }
 
 
@@ -1,25 +1,24 @@
 package juegoprog.controles;
 
-import juegoprog.audio.GestorSonidos;
 import juegoprog.cinematica.FinalMision;
 import juegoprog.cinematica.GestorPistas;
-import juegoprog.elementos.GestorBalas;
-import juegoprog.elementos.GestorEnemigos;
-import juegoprog.escenarios.EscenarioDistritoSombrio;
-import juegoprog.escenarios.ColisionesPanel;
 import juegoprog.graficos.Pantalla;
 import juegoprog.jugador.Personaje;
+import juegoprog.simulacion.EntradaJugador;
+import juegoprog.simulacion.Simulacion;
+import juegoprog.simulacion.Zona;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 
-/** Esta clase gestiona el movimiento del personaje principal y, a la vez,
+/** Esta clase es el control del personaje principal en la ventana y, a la vez,
  *   coordina la cámara y el desplazamiento del mapa.
- * - Captura eventos de teclado y ratón para mover y rotar al personaje.
- * - Dispara balas y gestiona colisiones.
- * - Interactúa con enemigos y elementos del escenario (pistas, minijuegos, alarmas, tejados, etc.).  */
-public class Movimiento extends JPanel implements ActionListener {
+ * - Captura eventos de teclado y ratón y los pasa a la {@link Simulacion} (controles, disparos, hacia dónde mira).
+ * - Tras cada tick centra la cámara en el personaje y muestra lo que toca según la zona en la que esté
+ *   (pistas, minijuego, salida, tejados).
+ * - El movimiento, las colisiones, los enemigos y las balas son de la simulación, que no depende de Swing. */
+public class Movimiento {
 
     // =========================================================================
     // 1. CONSTANTES Y CONFIGURACIÓN GENERAL
@@ -27,20 +26,13 @@ public class Movimiento extends JPanel implements ActionListener {
 
     private final int SCREEN_WIDTH = 1280;
     private final int SCREEN_HEIGHT = 720;
-    private final int VELOCIDAD_CAMINAR = 3;  // Velocidad base
 
     // =========================================================================
     // 2. ATRIBUTOS DE CONTROL DE MOVIMIENTO
     // =========================================================================
 
-    // Teclas de movimiento
-    private boolean up, down, left, right, space;
-
-    // Velocidad dinámica (depende de si está corriendo o no)
-    private int velocidad = VELOCIDAD_CAMINAR;
-
-    // Se usa para rotar el personaje según el cursor
-    private double anguloRotacion = 0;
+    // Teclas de movimiento (las lee la simulación en cada tick)
+    private final EntradaJugador entrada;
 
     // =========================================================================
     // 3. ATRIBUTOS DE RATÓN Y DESPLAZAMIENTO DE MAPA
@@ -53,29 +45,26 @@ public class Movimiento extends JPanel implements ActionListener {
     private int desplazamientoX;
     private int desplazamientoY;
 
-    // =========================================================================
-    // 4. CONTROL DE ELEMENTOS GRÁFICOS (TEJADOS, ETC.)
-    // =========================================================================
+    // Offset del tick anterior, para interpolar la cámara en el render
+    private int desplazamientoXPrevio;
+    private int desplazamientoYPrevio;
 
-    // Por defecto, los tejados se muestran
-    private boolean mostrarTejados = true;
+    // Cámara interpolada que se usa al pintar
+    private int camaraRenderX;
+    private int camaraRenderY;
 
     // =========================================================================
-    // 5. REFERENCIAS A OTRAS CLASES (ESCENARIO, COLISIONES, JUGADOR, ETC.)
+    // 5. REFERENCIAS A OTRAS CLASES (SIMULACIÓN, JUGADOR, VENTANA)
     // =========================================================================
 
-    private final EscenarioDistritoSombrio escenario;
-    private final ColisionesPanel colisiones;
+    private final Simulacion simulacion;
     private final Personaje personaje;
     private final Pantalla ventana;
 
     // =========================================================================
-    // 6. GESTOR DE BALAS, ENEMIGOS, SONIDOS Y PISTAS
+    // 6. GESTOR DE PISTAS
     // =========================================================================
 
-    private final GestorBalas gestorBalas = new GestorBalas();
-    private final GestorEnemigos gestorEnemigos;
-    private final GestorSonidos gestorSonidos = new GestorSonidos();
     private final GestorPistas gestorPistas;
 
     // =========================================================================
@@ -97,56 +86,32 @@ public class Movimiento extends JPanel implements ActionListener {
     // Atributo de FinalMision
     private final FinalMision finalMision;
 
-    // =========================================================================
-    // 8. CONTROL DE ESTADOS (caminar, correr, alarma, etc.)
-    // =========================================================================
-
-    private boolean estaCaminando = false;
-    private boolean estaCorriendo = false;
-    private boolean alarmaActivada = false;
-
     // =========================================================================
     // 9. CONSTRUCTOR
     // =========================================================================
 
     /**
-     * @param ventana    Referencia a la ventana principal.
-     * @param escenario  Escenario actual (mapa).
-     * @param colisiones Panel que maneja las colisiones.
-     * @param personaje  Personaje controlado por el jugador.
+     * @param ventana     Referencia a la ventana principal.
+     * @param simulacion  Núcleo de la partida (jugador, enemigos, balas, zonas).
+     * @param finalMision Final de la misión (zona de escape).
      */
-    public Movimiento(Pantalla ventana, EscenarioDistritoSombrio escenario,
-                      ColisionesPanel colisiones, Personaje personaje, FinalMision finalMision) {
+    public Movimiento(Pantalla ventana, Simulacion simulacion, FinalMision finalMision) {
 
         this.ventana = ventana;
-        this.escenario = escenario;
-        this.colisiones = colisiones;
-        this.personaje = personaje;
+        this.simulacion = simulacion;
+        this.personaje = simulacion.getPersonaje();
+        this.entrada = simulacion.getEntrada();
         this.gestorPistas = ventana.getGestorPistas();
-        this.gestorEnemigos = new GestorEnemigos(gestorSonidos);
 
         // 🔹 Inicializamos FinalMision aquí dentro de Movimiento
         this.finalMision = finalMision;
 
-        setOpaque(false);
-        setFocusable(true);
-
-        // Posición inicial de la cámara
-        this.desplazamientoX = 640;
-        this.desplazamientoY = 360;
-
-        // Ajustamos el escenario y colisiones al desplazamiento inicial
-        escenario.actualizarDesplazamiento(desplazamientoX, desplazamientoY);
-        colisiones.actualizarOffset(desplazamientoX, desplazamientoY);
-
-        // Se configuran los listeners de teclado y ratón
-        configurarEventos();
-
-        // ─────────────────────────────────────────────────────────────────
-        // NUEVO: Asignar la ventana para comprobar la cinemática en GestorEnemigos
-        // ─────────────────────────────────────────────────────────────────
-        this.gestorEnemigos.setPantalla(ventana);
+        // Posición inicial de la cámara (centrada en el personaje)
+        centrarCamara();
+        sincronizarCamaraPrevia();
 
+        // Los listeners de teclado y ratón los registra la ventana sobre el componente de la vista
+        // (ver registrarEventos); lo que se ve lo dibuja el compositor.
     }
 
     // =========================================================================
@@ -154,10 +119,13 @@ public class Movimiento extends JPanel implements ActionListener {
     // =========================================================================
 
     /** Configura los KeyListeners y MouseListeners para controlar movimiento,
-     *  disparos y rotación del personaje. */
-    private void configurarEventos() {
+     *  disparos y rotación del personaje sobre el componente indicado.
+     *  El componente que recibe la entrada es la vista de la pantalla de juego (lienzo o panel de escena).
+     *
+     * @param destino componente que recibe los eventos de teclado y ratón. */
+    public void registrarEventos(Component destino) {
         // Evento de teclado
-        addKeyListener(new KeyAdapter() {
+        destino.addKeyListener(new KeyAdapter() {
             @Override
             public void keyPressed(KeyEvent e) {
                 toggleMovement(e.getKeyCode(), true);
@@ -189,7 +157,7 @@ public class Movimiento extends JPanel implements ActionListener {
         });
 
         // Evento de movimiento de ratón
-        addMouseMotionListener(new MouseMotionAdapter() {
+        destino.addMouseMotionListener(new MouseMotionAdapter() {
             @Override
             public void mouseMoved(MouseEvent e) {
                 posicionRaton.setLocation(e.getX() + desplazamientoX, e.getY() + desplazamientoY);
@@ -198,7 +166,7 @@ public class Movimiento extends JPanel implements ActionListener {
         });
 
         // Evento de clic de ratón
-        addMouseListener(new MouseAdapter() {
+        destino.addMouseListener(new MouseAdapter() {
             @Override
             public void mousePressed(MouseEvent e) {
                 if (SwingUtilities.isLeftMouseButton(e)) {
@@ -212,127 +180,55 @@ public class Movimiento extends JPanel implements ActionListener {
     // 11. LÓGICA DE MOVIMIENTO Y DISPARO
     // =========================================================================
 
-    /** Cambia el estado de las variables de movimiento (arriba, abajo, izquierda, derecha, correr). */
+    /** Cambia el estado de los controles de movimiento (arriba, abajo, izquierda, derecha, correr). */
     private void toggleMovement(int keyCode, boolean pressed) {
         switch (keyCode) {
-            case KeyEvent.VK_W -> up = pressed;
-            case KeyEvent.VK_S -> down = pressed;
-            case KeyEvent.VK_A -> left = pressed;
-            case KeyEvent.VK_D -> right = pressed;
-            case KeyEvent.VK_SPACE -> {
-                space = pressed;
-                ajustarVelocidad(); // Ajusta velocidad según si está corriendo
-            }
-        }
-    }
-
-    /** Define si el jugador camina o corre, modificando la velocidad y el estado del personaje. */
-    private void ajustarVelocidad() {
-        if (space) {
-            // Velocidad al presionar SPACE
-            velocidad = 5;
-            personaje.setCorrer(true);
-        } else {
-            velocidad = VELOCIDAD_CAMINAR;
-            personaje.setCorrer(false);
+            case KeyEvent.VK_W -> entrada.setArriba(pressed);
+            case KeyEvent.VK_S -> entrada.setAbajo(pressed);
+            case KeyEvent.VK_A -> entrada.setIzquierda(pressed);
+            case KeyEvent.VK_D -> entrada.setDerecha(pressed);
+            case KeyEvent.VK_SPACE -> entrada.setCorrer(pressed); // La simulación ajusta la velocidad
         }
     }
 
     /** Dispara una bala desde la posición del personaje hacia la posición del ratón. */
     private void dispararBala() {
-        gestorSonidos.reproducirEfecto("/audio/NoirShotC.wav");
-
-        double xInicial = personaje.getX();
-        double yInicial = personaje.getY();
-
-        double objetivoX = posicionRaton.x;
-        double objetivoY = posicionRaton.y;
-
-        gestorBalas.disparar(xInicial, yInicial, objetivoX, objetivoY);
+        simulacion.disparar(posicionRaton.x, posicionRaton.y);
     }
 
     // =========================================================================
-    // 12. BUCLE PRINCIPAL DE MOVIMIENTO (SE LLAMA REGULARMENTE)
+    // 12. DESPUÉS DE CADA TICK DE LA SIMULACIÓN
     // =========================================================================
 
     /**
-     * Se encarga de:
-     *  - Verificar colisiones y mover al jugador en consecuencia
-     *  - Administrar sonidos de pasos/correr
-     *  - Verificar zonas especiales (alarmas, minijuego, pistas, etc.)
-     *  - Actualizar enemigos y balas
+     * Se llama en el hilo del bucle justo después de {@link Simulacion#tick()}:
+     *  - Centra la cámara en la nueva posición del personaje (guardando la anterior para interpolar).
+     *  - Oculta/muestra el tejado de la casa en la que esté el jugador.
+     *  - Muestra los mensajes de la zona en la que está (minijuego, pistas, salida).
      */
-    public void moverJugador() {
-
-        // ─────────────────────────────────────────────────────────────────────
-        // 🔹 BLOQUEA el movimiento si estamos en cinemática
-        // ─────────────────────────────────────────────────────────────────────
-        if (ventana.isEnCinematica()) {
-            System.out.println("[DEBUG] Se ha detectado cinemática: no actualizo movimiento ni enemigos.");
-            return;
-        }
+    public void despuesDelTick() {
+        // Guardamos la cámara del tick anterior como estado "anterior" para la interpolación
+        desplazamientoXPrevio = desplazamientoX;
+        desplazamientoYPrevio = desplazamientoY;
+        centrarCamara();
 
-        // 1. Verificar colisiones
-        boolean[] colisionesDirecciones = verificarColisiones();
+        int personajeRealX = personaje.getX();
+        int personajeRealY = personaje.getY();
 
-        // 2. Calcular movimiento
-        double[] movimiento = calcularMovimiento(colisionesDirecciones);
+        // Ocultar/mostrar el tejado de la casa en la que esté el jugador
+        ventana.getTejados().actualizar(personajeRealX, personajeRealY);
 
-        // 3. Aplicar movimiento al escenario
-        aplicarMovimiento(movimiento);
-
-        // 4. Actualizar posición real del personaje
-        int personajeRealX = desplazamientoX + SCREEN_WIDTH / 2;
-        int personajeRealY = desplazamientoY + SCREEN_HEIGHT / 2;
-        personaje.setPosicion(personajeRealX, personajeRealY);
-
-        // 5. Verificar pistas en la posición actual
-        gestorPistas.verificarPistas(personajeRealX, personajeRealY);
-
-        // 6 Verificar si el jugador está en la zona de escape (final del juego)
-        finalMision.verificarEscape(personajeRealX, personajeRealY);
-
-        // 7. Ocultar/mostrar tejados dependiendo de si el jugador está dentro de alguna casa
-        gestionarTejados(personajeRealX, personajeRealY);
-
-        // 8. Comprobar zona de minijuego (caja fuerte)
-        gestionarMinijuegoCajaFuerte(personajeRealX, personajeRealY);
-
-        // 9. Comprobar zona de alarma y reproducirla una sola vez
-        gestionarAlarma(personajeRealX, personajeRealY);
-
-        // 10. Administrar sonidos de pasos/carrera
-        gestionarSonidosPasos(movimiento);
-
-        // 11. Actualizar enemigos y balas
-        gestorEnemigos.actualizar(personaje.getX(), personaje.getY(), colisiones, desplazamientoX, desplazamientoY);
-        gestorEnemigos.verificarColisiones(gestorBalas);
-
-        if (gestorEnemigos.enemigosEliminados()) {
-            // Generar nueva oleada (ejemplo)
-            gestorEnemigos.actualizar(personaje.getX(), personaje.getY(), colisiones,
-                    desplazamientoX, desplazamientoY);
-        }
-
-        gestorBalas.actualizar(colisiones, desplazamientoX, desplazamientoY);
+        // Zona de interacción (caja fuerte, pista o salida) en la que está el jugador
+        atenderZona(simulacion.getZonas().getZonaActual());
     }
 
-    // =========================================================================
-    // 12.1. GESTIÓN DE TEJADOS, MINIJUEGO Y ALARMAS
-    // =========================================================================
-
-    /** Si el jugador está dentro de ciertas casas, se ocultan los tejados. */
-    private void gestionarTejados(int x, int y) {
-        // Definir límites de las casas
-        Rectangle casa1 = new Rectangle(1787, 1865, 463, 756);
-        Rectangle casa2 = new Rectangle(2567, 2785, 516, 1084);
-
-        mostrarTejados = !casa1.contains(x, y) && !casa2.contains(x, y);
-    }
+    /** Muestra el mensaje de la zona y prepara lo que hará ENTER. Al salir de una pista o de
+     *  la salida sin pulsar ENTER se quitan el mensaje y la acción. */
+    private void atenderZona(Zona zona) {
+        Zona.Tipo tipo = zona != null ? zona.getTipo() : null;
 
-    /** Si el jugador está cerca de la caja fuerte, se muestra un mensaje para entrar al minijuego. */
-    private void gestionarMinijuegoCajaFuerte(int x, int y) {
-        if (x >= 2700 && x <= 2730 && y >= 3800 && y <= 3860) {
+        // Caja fuerte: mensaje para entrar al minijuego
+        if (tipo == Zona.Tipo.CAJA_FUERTE) {
             if (!mostrarMensajeMinijuego) {
                 System.out.println("📍 Pulsa ENTER para acceder al minijuego");
                 mostrarMensajeMinijuego = true;
@@ -340,122 +236,44 @@ public class Movimiento extends JPanel implements ActionListener {
         } else {
             mostrarMensajeMinijuego = false;
         }
-    }
 
-    /** Zona donde suena una alarma cuando el jugador entra, pero solo se activa una vez
-     *  hasta que sale de la zona. */
-    private void gestionarAlarma(int x, int y) {
-        Rectangle zonaAlarma = new Rectangle(2499, 1854, 1301, 2588);
-        if (zonaAlarma.contains(x, y)) {
-            if (!alarmaActivada) {
-                System.out.println("🚨 Alarma activada: ¡Intruso detectado!");
-                gestorSonidos.reproducirEfecto("/audio/NoirAreaAlarm.wav");
-                alarmaActivada = true;
-            }
-        } else {
-            alarmaActivada = false;
+        if (tipo == Zona.Tipo.PISTA) {
+            gestorPistas.ofrecerPista(zona.getId());
+        } else if (tipo == Zona.Tipo.ESCAPE) {
+            finalMision.ofrecerEscape();
+        } else if (mostrarMensajePista) {
+            mostrarMensajePista = false;
+            eventoEnter = null;
         }
     }
 
-    // =========================================================================
-    // 12.2. GESTIÓN DE SONIDOS (PASOS Y CARRERA)
-    // =========================================================================
-
-    /** Activa o desactiva los sonidos de pasos y carrera según el movimiento del personaje. */
-    private void gestionarSonidosPasos(double[] movimiento) {
-        if (movimiento[0] != 0 || movimiento[1] != 0) {
-            // Movimiento en x o y distinto de 0 => se está desplazando
-            if (space) { // Correr
-                if (!estaCorriendo) {
-                    gestorSonidos.detenerSonido("/audio/NoirRun.wav");
-                    gestorSonidos.detenerSonido("/audio/NoirStep3b.wav"); // Aseguramos detener el otro
-                    gestorSonidos.reproducirBucle("/audio/NoirRun.wav");
-                    estaCorriendo = true;
-                    estaCaminando = false;
-                }
-            } else { // Caminar
-                if (!estaCaminando) {
-                    gestorSonidos.detenerSonido("/audio/NoirRun.wav");
-                    gestorSonidos.detenerSonido("/audio/NoirStep3b.wav");
-                    gestorSonidos.reproducirBucle("/audio/NoirStep3b.wav");
-                    estaCaminando = true;
-                    estaCorriendo = false;
-                }
-            }
-        } else {
-            // Se detuvo
-            if (estaCaminando || estaCorriendo) {
-                gestorSonidos.detenerSonido("/audio/NoirStep3b.wav");
-                gestorSonidos.detenerSonido("/audio/NoirRun.wav");
-                estaCaminando = false;
-                estaCorriendo = false;
-            }
-        }
+    /** Coloca la cámara de forma que el personaje quede en el centro de la pantalla. */
+    private void centrarCamara() {
+        desplazamientoX = personaje.getX() - SCREEN_WIDTH / 2;
+        desplazamientoY = personaje.getY() - SCREEN_HEIGHT / 2;
     }
 
     // =========================================================================
-    // 13. LÓGICA DE COLISIONES
+    // 13. CÁMARA INTERPOLADA
     // =========================================================================
 
     /**
-     * Verifica si hay colisiones en las cuatro direcciones principales.
-     * Devuelve un array [arriba, abajo, izquierda, derecha].
+     * Se llama desde el paso de render del bucle. Calcula la cámara interpolada entre el tick
+     * anterior y el actual; el compositor se la pasa después a todas las capas.
+     *
+     * @param alpha fracción de tick transcurrida desde la última actualización (0..1).
      */
-    private boolean[] verificarColisiones() {
-        int hitbox = 10;
-
-        // Coordenadas globales
-        int globalX = personaje.getX() - desplazamientoX;
-        int globalY = personaje.getY() - desplazamientoY;
-
-        // Chequeo de colisiones en cuatro direcciones
-        boolean colisionArriba = colisiones.hayColision(globalX, globalY - hitbox - velocidad);
-        boolean colisionAbajo = colisiones.hayColision(globalX, globalY + hitbox + velocidad);
-        boolean colisionIzquierda = colisiones.hayColision(globalX - hitbox - velocidad, globalY);
-        boolean colisionDerecha = colisiones.hayColision(globalX + hitbox + velocidad, globalY);
-
-        return new boolean[]{colisionArriba, colisionAbajo, colisionIzquierda, colisionDerecha};
+    public void prepararRender(double alpha) {
+        camaraRenderX = (int) Math.round(desplazamientoXPrevio + (desplazamientoX - desplazamientoXPrevio) * alpha);
+        camaraRenderY = (int) Math.round(desplazamientoYPrevio + (desplazamientoY - desplazamientoYPrevio) * alpha);
     }
 
-    /** Calcula cuánto se mueve el personaje en X e Y, según teclas, colisiones y velocidad. */
-    private double[] calcularMovimiento(boolean[] colisionesDirecciones) {
-        double moveX = 0, moveY = 0;
-
-        if (up && !colisionesDirecciones[0]) moveY -= velocidad;
-        if (down && !colisionesDirecciones[1]) moveY += velocidad;
-        if (left && !colisionesDirecciones[2]) moveX -= velocidad;
-        if (right && !colisionesDirecciones[3]) moveX += velocidad;
-
-        // Normalizar en diagonal (para no ir más rápido en diagonales)
-        double length = Math.sqrt(moveX * moveX + moveY * moveY);
-        if (length > 0) {
-            moveX = (moveX / length) * velocidad;
-            moveY = (moveY / length) * velocidad;
-        }
-
-        return new double[]{moveX, moveY};
-    }
-
-    /** Aplica el movimiento calculado al desplazamiento (cámara) y respeta los límites del mapa. */
-    private void aplicarMovimiento(double[] movimiento) {
-        int nuevoX = desplazamientoX + (int) movimiento[0];
-        int nuevoY = desplazamientoY + (int) movimiento[1];
-
-        // Limitar el movimiento dentro de los bordes del escenario
-        nuevoX = Math.max(0, Math.min(nuevoX, escenario.getAncho() - SCREEN_WIDTH));
-        nuevoY = Math.max(0, Math.min(nuevoY, escenario.getAlto() - SCREEN_HEIGHT));
-
-        // Actualizar solo si cambió
-        if (nuevoX != desplazamientoX || nuevoY != desplazamientoY) {
-            desplazamientoX = nuevoX;
-            desplazamientoY = nuevoY;
-            escenario.actualizarDesplazamiento(desplazamientoX, desplazamientoY);
-            colisiones.actualizarOffset(desplazamientoX, desplazamientoY);
-        }
-        // --- NUEVO: mover la niebla del mismo modo
-        ventana.getNiebla().actualizarDesplazamiento(desplazamientoX, desplazamientoY);
-        ventana.getParticulas().setLocation(-desplazamientoX, -desplazamientoY);
-
+    /** Iguala la cámara previa y la de render a la actual (tras un salto, para no interpolar el salto). */
+    private void sincronizarCamaraPrevia() {
+        desplazamientoXPrevio = desplazamientoX;
+        desplazamientoYPrevio = desplazamientoY;
+        camaraRenderX = desplazamientoX;
+        camaraRenderY = desplazamientoY;
     }
 
     // =========================================================================
@@ -464,44 +282,27 @@ public class Movimiento extends JPanel implements ActionListener {
 
     /**
      * Calcula el ángulo de rotación basado en la posición del ratón
-     * vs el centro de la pantalla.
+     * vs el centro de la pantalla, y se lo pasa al personaje.
      */
     private void calcularAnguloRotacion() {
-        anguloRotacion = Math.atan2(
+        personaje.setAngulo(Math.atan2(
                 (posicionRaton.y - desplazamientoY) - (double) SCREEN_HEIGHT / 2,
                 (posicionRaton.x - desplazamientoX) - (double) SCREEN_WIDTH / 2
-        );
+        ));
     }
 
     public void reiniciarDesplazamiento(int posicionInicialX, int posicionInicialY) {
-        // Calcula el desplazamiento para alinear la pantalla con las coordenadas iniciales del personaje
-        desplazamientoX = posicionInicialX - (SCREEN_WIDTH / 2);
-        desplazamientoY = posicionInicialY - (SCREEN_HEIGHT / 2);
+        // Coloca al personaje en las coordenadas iniciales y alinea la pantalla con él
+        simulacion.reiniciarJugador(posicionInicialX, posicionInicialY);
+        centrarCamara();
 
-        // Asegurarse de que la posición del personaje se alinea con el desplazamiento
-        personaje.setX(posicionInicialX);
-        personaje.setY(posicionInicialY);
-
-        // Actualiza el desplazamiento del escenario y las colisiones
-        escenario.actualizarDesplazamiento(desplazamientoX, desplazamientoY);
-        colisiones.actualizarOffset(desplazamientoX, desplazamientoY);
+        // La cámara salta directamente a la nueva posición (sin interpolar)
+        sincronizarCamaraPrevia();
     }
     public void reiniciarTeclas() {
-        // Resetear todas las teclas a su estado "no presionado"
-        up = false;
-        down = false;
-        left = false;
-        right = false;
-        space = false;
-
-        // Anula los sonidos de pasos o carrera si estaban activos
-        estaCaminando = false;
-        estaCorriendo = false;
-        gestorSonidos.detenerSonido("/audio/NoirStep3b.wav");
-        gestorSonidos.detenerSonido("/audio/NoirRun.wav");
-        gestorSonidos.detenerSonido("/audio/NoirHerida1.wav");
-        gestorSonidos.detenerSonido("/audio/NoirHerida2.wav");
-        gestorSonidos.detenerSonido("/audio/NoirHerida3.wav");
+        // Resetear todas las teclas a su estado "no presionado" y anular los sonidos de pasos,
+        // carrera o heridas si estaban activos
+        simulacion.soltarControles();
 
         System.out.println("[DEBUG] Teclas de movimiento reiniciadas.");
     }
@@ -509,34 +310,11 @@ public class Movimiento extends JPanel implements ActionListener {
 
 
     // =========================================================================
-    // 15. PINTADO DEL PERSONAJE Y DEMÁS ELEMENTOS EN PANTALLA
+    // 15. MENSAJES EN PANTALLA
     // =========================================================================
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        Graphics2D g2d = (Graphics2D) g;
-
-
-
-        // 1. Dibujar mensajes de minijuego y pistas
-        dibujarMensajes(g);
-
-        // 2. Dibujar personaje con rotación
-        dibujarPersonaje(g2d);
-
-        // 3. Dibujar balas y enemigos
-        gestorBalas.dibujar(g, desplazamientoX, desplazamientoY);
-        gestorEnemigos.dibujar(g, desplazamientoX, desplazamientoY);
-
-        // 4. Dibujar tejados si están activos
-        if (mostrarTejados) {
-            g.drawImage(ventana.getTejados(), -desplazamientoX, -desplazamientoY, null);
-        }
-    }
-
-    /** Muestra los textos en pantalla de “Pulsa ENTER...” para minijuego y pistas. */
-    private void dibujarMensajes(Graphics g) {
+    /** Capa de HUD del compositor: muestra los textos en pantalla de “Pulsa ENTER...” para minijuego y pistas. */
+    public void dibujarMensajes(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
         g.setColor(Color.WHITE);
         g.setFont(new Font("Arial", Font.BOLD, 18));
 
@@ -548,31 +326,6 @@ public class Movimiento extends JPanel implements ActionListener {
         }
     }
 
-    /** Renderiza la imagen del personaje rotada hacia la posición del ratón. */
-    private void dibujarPersonaje(Graphics2D g2d) {
-        Image imagenPersonaje = personaje.getImagen();
-        if (imagenPersonaje == null) {
-            return;
-        }
-
-        // Trasladar el Graphics2D al centro de la pantalla
-        g2d.translate(SCREEN_WIDTH / 2, SCREEN_HEIGHT / 2);
-
-        // Rotar el personaje
-        g2d.rotate(anguloRotacion);
-
-        // Dibujar imagen en el centro
-        int anchoImagen = imagenPersonaje.getWidth(this);
-        int altoImagen = imagenPersonaje.getHeight(this);
-        if (anchoImagen > 0 && altoImagen > 0) {
-            g2d.drawImage(imagenPersonaje, -anchoImagen / 2, -altoImagen / 2, this);
-        }
-
-        // Deshacer la rotación y la traslación
-        g2d.rotate(-anguloRotacion);
-        g2d.translate(-SCREEN_WIDTH / 2, -SCREEN_HEIGHT / 2);
-    }
-
     // Mensaje de confirmación de Salida tras pulsar ESCAPE.
 
     private void mostrarConfirmacionSalida() {
@@ -582,7 +335,7 @@ public class Movimiento extends JPanel implements ActionListener {
         String[] opciones = {"Sí", "No"};
 
         int opcion = JOptionPane.showOptionDialog(
-                this,
+                ventana,
                 mensaje,
                 "Abandonar la escena",
                 JOptionPane.YES_NO_OPTION,
@@ -594,7 +347,7 @@ public class Movimiento extends JPanel implements ActionListener {
 
         if (opcion == 0) { // opción "Sí"
             // Reset del estado del juego
-            ventana.getMovimiento().reiniciarDesplazamiento(1280, 720);
+            ventana.getMovimiento().reiniciarDesplazamiento(Simulacion.INICIO_X, Simulacion.INICIO_Y);
             ventana.getMovimiento().reiniciarTeclas();
             ventana.getFinalMision().setCajaFuerteCompletada(false);
 
@@ -636,14 +389,13 @@ public class Movimiento extends JPanel implements ActionListener {
         return desplazamientoY;
     }
 
+    /** Cámara interpolada del frame que se está dibujando (la calcula {@link #prepararRender(double)}). */
+    public int getCamaraRenderX() {
+        return camaraRenderX;
+    }
 
-    // =========================================================================
-    // 17. METODO DE LA INTERFAZ ActionListener (SI SE NECESITA)
-    // =========================================================================
-
-    @Override
-    public void actionPerformed(ActionEvent e) {
-        // Actualmente vacío
+    public int getCamaraRenderY() {
+        return camaraRenderY;
     }
 
 }
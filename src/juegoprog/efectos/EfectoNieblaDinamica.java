@@ -1,72 +1,96 @@
 package juegoprog.efectos;
 
-import javax.swing.*;
-import java.awt.*;
-
-public class EfectoNieblaDinamica extends JPanel {
+import juegoprog.graficos.MosaicoTeselas;
 
-    private final Image imagenNiebla;  // Tu única imagen
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+
+/**
+ * Niebla que se desplaza lentamente sobre el mapa.
+ * Es una capa del compositor: se dibujan únicamente las repeticiones de la textura que
+ * cubren la vista de la cámara. La textura se guarda ya multiplicada por la opacidad
+ * (alfa premultiplicado), así que cada copia es un drawImage sin AlphaComposite.
+ * El scroll avanza con el reloj del bucle principal (actualizar), no con un Timer propio.
+ */
+public class EfectoNieblaDinamica {
+
+    private BufferedImage imagenNiebla;      // Textura original
+    private BufferedImage texturaPremultiplicada; // Textura con la opacidad ya aplicada
     private float alpha = 0.5f;
 
     private int offsetX = 0;
-    private int offsetY = 0;
+    private double offsetY = 0;
 
-    private final int velocidadY = 1;
-    private final int fps = 30;
+    private static final double VELOCIDAD_Y = 30; // Píxeles por segundo (antes 1 px cada 1/30 s)
 
     public EfectoNieblaDinamica() {
-        setOpaque(false);
-
-        imagenNiebla = new ImageIcon(
-                getClass().getResource("/resources/efectos/fog.png")
-        ).getImage();
-
-        int w = imagenNiebla.getWidth(null);
-        int h = imagenNiebla.getHeight(null);
-        System.out.println("fog.png mide: " + w + " x " + h);
-
-        int delay = 1000 / fps;
-        new Timer(delay, e -> {
-            // Scroll vertical interno
-            offsetY += velocidadY;
-            if (offsetY >= h) {
-                offsetY = 0;
+        try {
+            URL url = getClass().getResource("/resources/efectos/fog.png");
+            if (url == null) {
+                System.err.println("❌ Imagen de niebla no encontrada.");
+            } else {
+                imagenNiebla = ImageIO.read(url);
+                System.out.println("fog.png mide: " + imagenNiebla.getWidth() + " x " + imagenNiebla.getHeight());
             }
-            repaint();
-        }).start();
+        } catch (IOException e) {
+            System.err.println("❌ Error al cargar la niebla: " + e.getMessage());
+        }
+
+        prepararTextura();
     }
 
-    // --- NUEVO: para mover la niebla junto al escenario
-    public void actualizarDesplazamiento(int desplX, int desplY) {
-        // Al igual que EscenarioDistritoSombrio setLocation(-x, -y)
-        // Ponemos la niebla en la posición "opuesta" a la cámara
-        setLocation(-desplX, -desplY);
+    /** Avanza el scroll vertical de la niebla. Se llama en cada tick del bucle principal.
+     *
+     * @param segundos duración del tick en segundos. */
+    public void actualizar(double segundos) {
+        if (imagenNiebla == null) return;
+
+        offsetY += VELOCIDAD_Y * segundos;
+        if (offsetY >= imagenNiebla.getHeight()) {
+            offsetY -= imagenNiebla.getHeight();
+        }
     }
 
     public void setAlpha(float alpha) {
         this.alpha = alpha;
-        repaint();
+        prepararTextura();
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    /** Crea la copia de la textura con la opacidad ya aplicada (solo cuando cambia la opacidad). */
+    private void prepararTextura() {
+        if (imagenNiebla == null) return;
 
-        Graphics2D g2d = (Graphics2D) g.create();
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
+        int w = imagenNiebla.getWidth();
+        int h = imagenNiebla.getHeight();
+        BufferedImage textura = MosaicoTeselas.crearImagenCompatible(w, h, Transparency.TRANSLUCENT);
 
-        int imgW = imagenNiebla.getWidth(null);
-        int imgH = imagenNiebla.getHeight(null);
+        Graphics2D g = textura.createGraphics();
+        g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC, alpha));
+        g.drawImage(imagenNiebla, 0, 0, null);
+        g.dispose();
 
-        // Repetimos la textura
-        for (int x = -imgW; x < getWidth() + imgW; x += imgW) {
-            for (int y = -imgH; y < getHeight() + imgH; y += imgH) {
-                int dibujoX = x + offsetX;
-                int dibujoY = y + offsetY;
-                g2d.drawImage(imagenNiebla, dibujoX, dibujoY, null);
+        texturaPremultiplicada = textura;
+    }
+
+    /** Dibuja la niebla sobre la vista. Está anclada al mapa, así que se desplaza con la cámara. */
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
+        if (texturaPremultiplicada == null) return;
+
+        int imgW = texturaPremultiplicada.getWidth();
+        int imgH = texturaPremultiplicada.getHeight();
+        int desplY = (int) offsetY;
+
+        // Primera repetición (en coordenadas del mapa) que toca el borde superior izquierdo de la vista
+        int inicioX = Math.floorDiv(camaraX - offsetX, imgW) * imgW + offsetX;
+        int inicioY = Math.floorDiv(camaraY - desplY, imgH) * imgH + desplY;
+
+        for (int x = inicioX; x < camaraX + ancho; x += imgW) {
+            for (int y = inicioY; y < camaraY + alto; y += imgH) {
+                g.drawImage(texturaPremultiplicada, x - camaraX, y - camaraY, null);
             }
         }
-
-        g2d.dispose();
     }
 }
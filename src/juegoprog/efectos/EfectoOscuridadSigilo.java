@@ -1,45 +1,39 @@
 package juegoprog.efectos;
 
 import juegoprog.jugador.Personaje;
-import juegoprog.controles.Movimiento;
 
-import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Point2D;
 
-public class EfectoOscuridadSigilo extends JPanel {
+/** Oscurece la pantalla salvo un círculo alrededor del personaje.
+ *  Es la capa de iluminación del compositor (desactivada por defecto). */
+public class EfectoOscuridadSigilo {
 
     private final Personaje personaje;
-    private final Movimiento movimiento;
     private int radioVisible;
 
-    public EfectoOscuridadSigilo(Personaje personaje, Movimiento movimiento) {
+    public EfectoOscuridadSigilo(Personaje personaje) {
         this.personaje = personaje;
-        this.movimiento = movimiento;
         this.radioVisible = 150; // Ajusta a tu gusto
-        setOpaque(false);
     }
 
     public void setRadioVisible(int radioVisible) {
         this.radioVisible = radioVisible;
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
         Graphics2D g2d = (Graphics2D) g.create();
 
         // 1) Pintamos toda la pantalla con un velo negro semitransparente
         g2d.setColor(new Color(0, 0, 0, 200)); // Ajusta alpha a tu gusto
-        g2d.fillRect(0, 0, getWidth(), getHeight());
+        g2d.fillRect(0, 0, ancho, alto);
 
         // 2) DST_OUT para sustraer lo que dibujemos a continuación
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.DST_OUT));
 
         // 3) Coordenadas del personaje en pantalla
-        int xPantalla = personaje.getX() - movimiento.getDesplazamientoX();
-        int yPantalla = personaje.getY() - movimiento.getDesplazamientoY();
+        int xPantalla = personaje.getX() - camaraX;
+        int yPantalla = personaje.getY() - camaraY;
 
         // 4) RadialGradientPaint con centro “blanco opaco” y borde “blanco transparente”
         //    => en DST_OUT, lo opaco “corta” completamente la niebla, lo transparente no la toca
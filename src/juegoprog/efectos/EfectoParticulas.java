@@ -1,75 +1,117 @@
 package juegoprog.efectos;
 
-import javax.swing.*;
+import juegoprog.graficos.MosaicoTeselas;
+import juegoprog.sistema.Azar;
+
 import java.awt.*;
-import java.util.Random;
+import java.awt.image.BufferedImage;
+import java.util.SplittableRandom;
 
 /**
  * Efecto de partículas flotantes (polvo, cenizas, etc.) para dar más ambiente.
- * Cada partícula tiene posición, velocidad y tamaño. Se actualizan en un Timer.
+ * Las partículas se guardan en arrays de floats (una posición por partícula), sin objetos
+ * por partícula y sin crear nada mientras el juego corre.
+ * Cada partícula usa un sprite ya dibujado según su tamaño y opacidad, solo se dibujan las
+ * que caen dentro de la vista y la simulación avanza con el tick del bucle principal.
  */
-public class EfectoParticulas extends JPanel {
+public class EfectoParticulas {
 
-    private static class Particula {
-        float x, y;        // posición
-        float vx, vy;      // velocidad
-        float radio;       // radio de la partícula
-        float alpha;       // opacidad
-    }
+    // Rangos de tamaño y opacidad (los mismos que antes)
+    private static final float RADIO_MIN = 2f, RADIO_MAX = 6f;
+    private static final float ALPHA_MIN = 0.1f, ALPHA_MAX = 0.5f;
+
+    // Velocidad máxima en píxeles por segundo (antes ±0,5 px cada 1/30 s)
+    private static final float VELOCIDAD_MAX = 15f;
+
+    // Número de sprites precalculados
+    private static final int CUBOS_RADIO = (int) (RADIO_MAX - RADIO_MIN) + 1; // 2, 3, 4, 5, 6 px
+    private static final int CUBOS_ALPHA = 8;
+
+    private final int mapaAncho;
+    private final int mapaAlto;
+    private final int numParticulas;
 
-    private Particula[] particulas;    // array de partículas
-    private final Random random = new Random();
+    // Datos de las partículas (estructura de arrays)
+    private final float[] x, y;     // posición en el mapa
+    private final float[] vx, vy;   // velocidad en px/s
+    private final float[] radio;    // radio real (para saber si está en la vista)
+    private final int[] sprite;     // índice del sprite (cubo de radio y alpha)
+
+    private final SplittableRandom random = Azar.flujo("particulas");
+
+    // Sprites: un círculo blanco por cada combinación de radio y opacidad
+    private final BufferedImage[] sprites = new BufferedImage[CUBOS_RADIO * CUBOS_ALPHA];
 
     private float densidad = 0.3f; // opacidad global de la capa de partículas
 
     // Constructor
     public EfectoParticulas(int ancho, int alto, int numParticulas) {
-        setOpaque(false);
-        setSize(ancho, alto); // tamaño del panel
+        this.mapaAncho = ancho;
+        this.mapaAlto = alto;
+        this.numParticulas = numParticulas;
 
-        particulas = new Particula[numParticulas];
+        x = new float[numParticulas];
+        y = new float[numParticulas];
+        vx = new float[numParticulas];
+        vy = new float[numParticulas];
+        radio = new float[numParticulas];
+        sprite = new int[numParticulas];
 
         // Inicializamos cada partícula en una posición aleatoria
         for (int i = 0; i < numParticulas; i++) {
-            particulas[i] = crearParticula();
+            reiniciarParticula(i);
         }
 
-        // Timer que actualiza las partículas ~30 FPS
-        int delay = 33; // ms => ~30fps
-        new Timer(delay, e -> {
-            actualizarParticulas();
-            repaint();
-        }).start();
+        prepararSprites();
+    }
+
+    /** Da valores aleatorios de posición, velocidad, tamaño y alpha a la partícula i (sin crear objetos) */
+    private void reiniciarParticula(int i) {
+        x[i] = random.nextFloat() * mapaAncho;
+        y[i] = random.nextFloat() * mapaAlto;
+        vx[i] = (random.nextFloat() - 0.5f) * 2 * VELOCIDAD_MAX;
+        vy[i] = (random.nextFloat() - 0.5f) * 2 * VELOCIDAD_MAX;
+        radio[i] = RADIO_MIN + random.nextFloat() * (RADIO_MAX - RADIO_MIN);
+
+        float alpha = ALPHA_MIN + random.nextFloat() * (ALPHA_MAX - ALPHA_MIN);
+        int cuboRadio = Math.round(radio[i] - RADIO_MIN);
+        int cuboAlpha = Math.min(CUBOS_ALPHA - 1, (int) ((alpha - ALPHA_MIN) / (ALPHA_MAX - ALPHA_MIN) * CUBOS_ALPHA));
+        sprite[i] = cuboRadio * CUBOS_ALPHA + cuboAlpha;
     }
 
-    /** Crea una partícula con valores aleatorios de posición, velocidad, tamaño y alpha */
-    private Particula crearParticula() {
-        Particula p = new Particula();
-        p.x = random.nextFloat() * getWidth();  // dentro del panel
-        p.y = random.nextFloat() * getHeight();
-        p.vx = (random.nextFloat() - 0.5f) * 1.0f; // velocidad horizontal suave
-        p.vy = (random.nextFloat() - 0.5f) * 1.0f; // velocidad vertical suave
-        p.radio = 2 + random.nextFloat() * 4;     // radio 2..6 px
-        p.alpha = 0.1f + random.nextFloat() * 0.4f; // opacidad 0.3..1.0
-        return p;
+    /** Dibuja una vez los círculos de cada tamaño y opacidad, con la densidad global ya aplicada. */
+    private void prepararSprites() {
+        for (int r = 0; r < CUBOS_RADIO; r++) {
+            int diametro = (int) (RADIO_MIN + r) * 2;
+            for (int a = 0; a < CUBOS_ALPHA; a++) {
+                float alpha = ALPHA_MIN + (a + 0.5f) * (ALPHA_MAX - ALPHA_MIN) / CUBOS_ALPHA;
+
+                BufferedImage img = MosaicoTeselas.crearImagenCompatible(diametro, diametro, Transparency.TRANSLUCENT);
+                Graphics2D g = img.createGraphics();
+                g.setColor(new Color(1f, 1f, 1f, Math.min(1f, alpha * densidad)));
+                g.fillOval(0, 0, diametro, diametro);
+                g.dispose();
+
+                sprites[r * CUBOS_ALPHA + a] = img;
+            }
+        }
     }
 
-    /** Actualiza cada partícula: mueve y comprueba si sale del panel */
-    private void actualizarParticulas() {
-        for (Particula p : particulas) {
-            p.x += p.vx;
-            p.y += p.vy;
+    /** Mueve las partículas y reinicia las que salen del mapa. Se llama en cada tick del bucle.
+     *
+     * @param segundos duración del tick en segundos. */
+    public void actualizar(double segundos) {
+        float dt = (float) segundos;
+        for (int i = 0; i < numParticulas; i++) {
+            float nx = x[i] + vx[i] * dt;
+            float ny = y[i] + vy[i] * dt;
 
             // Si se escapa de los bordes, la "teletransportamos" a una posición nueva
-            if (p.x < 0 || p.x > getWidth() || p.y < 0 || p.y > getHeight()) {
-                // Reiniciamos la partícula para que aparezca en otra zona
-                Particula nueva = crearParticula();
-                p.x = nueva.x;
-                p.y = nueva.y;
-                p.vx = nueva.vx;
-                p.vy = nueva.vy;
-                p.radio = nueva.radio;
-                p.alpha = nueva.alpha;
+            if (nx < 0 || nx > mapaAncho || ny < 0 || ny > mapaAlto) {
+                reiniciarParticula(i);
+            } else {
+                x[i] = nx;
+                y[i] = ny;
             }
         }
     }
@@ -77,31 +119,24 @@ public class EfectoParticulas extends JPanel {
     /** Ajusta la opacidad global de esta capa de partículas (0..1) */
     public void setDensidad(float dens) {
         this.densidad = dens;
-        repaint();
+        prepararSprites();
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    /** Dibuja las partículas que caen dentro de la vista (están en coordenadas del mapa). */
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
+        // Límites de la vista (con margen del radio máximo para no cortar las de los bordes)
+        float minX = camaraX - RADIO_MAX;
+        float minY = camaraY - RADIO_MAX;
+        float maxX = camaraX + ancho + RADIO_MAX;
+        float maxY = camaraY + alto + RADIO_MAX;
 
-        // Pintamos todas las partículas como pequeños círculos
-        Graphics2D g2d = (Graphics2D) g.create();
-
-        // Fijamos una opacidad global sobre toda la capa (para atenuar más)
-        g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, densidad));
-
-        // Dibujamos cada partícula
-        for (Particula p : particulas) {
-            // Color blanco semitransparente
-            // Ponemos la alpha de la partícula multiplicada por la densidad global
-            float finalAlpha = p.alpha;
-            Color color = new Color(1f, 1f, 1f, finalAlpha);
+        for (int i = 0; i < numParticulas; i++) {
+            float px = x[i];
+            float py = y[i];
+            if (px < minX || px > maxX || py < minY || py > maxY) continue;
 
-            g2d.setColor(color);
-            g2d.fillOval((int)(p.x - p.radio), (int)(p.y - p.radio),
-                    (int)(p.radio*2), (int)(p.radio*2));
+            float r = radio[i];
+            g.drawImage(sprites[sprite[i]], (int) (px - r) - camaraX, (int) (py - r) - camaraY, null);
         }
-
-        g2d.dispose();
     }
 }
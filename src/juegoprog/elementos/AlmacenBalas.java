@@ -0,0 +1,121 @@
+package juegoprog.elementos;
+
+import java.util.Arrays;
+
+/**
+ * Datos de todas las balas en arrays paralelos (ver {@link AlmacenSoA}).
+ * La lógica que las mueve está en {@link GestorBalas}, que recorre estos arrays.
+ */
+public final class AlmacenBalas extends AlmacenSoA {
+
+    /** Píxeles que avanza una bala en cada tick. */
+    public static final int VELOCIDAD = 30;
+
+    // =========================================================================
+    // 1. DATOS (índice denso; los recorre GestorBalas)
+    // =========================================================================
+
+    double[] x, y;                  // Posición actual de la bala en el mundo
+    double[] xPrevio, yPrevio;      // Posición al inicio del tick (interpolación)
+    double[] vx, vy;                // Desplazamiento por tick (dirección normalizada × velocidad)
+    boolean[] activa;               // false = chocó (se elimina al final del tick)
+    int[] numeroDisparo;            // Orden de creación (para reciclar la más antigua)
+
+    private int siguienteDisparo = 0;
+
+    public AlmacenBalas(int capacidad) {
+        super(capacidad);
+        int inicial = Math.max(1, capacidad);
+        x = new double[inicial];
+        y = new double[inicial];
+        xPrevio = new double[inicial];
+        yPrevio = new double[inicial];
+        vx = new double[inicial];
+        vy = new double[inicial];
+        activa = new boolean[inicial];
+        numeroDisparo = new int[inicial];
+    }
+
+    /**
+     * Añade una bala que sale de (xInicial, yInicial) hacia (xObjetivo, yObjetivo).
+     *
+     * @return handle estable de la bala.
+     */
+    public int crear(double xInicial, double yInicial, double xObjetivo, double yObjetivo) {
+        int handle = crear();
+        int i = num - 1;
+        x[i] = xInicial;
+        y[i] = yInicial;
+        xPrevio[i] = xInicial;
+        yPrevio[i] = yInicial;
+
+        // Vector normalizado hacia el objetivo
+        double distancia = Math.hypot(xObjetivo - xInicial, yObjetivo - yInicial);
+        vx[i] = (xObjetivo - xInicial) / distancia * VELOCIDAD;
+        vy[i] = (yObjetivo - yInicial) / distancia * VELOCIDAD;
+        activa[i] = true;
+        numeroDisparo[i] = siguienteDisparo++;
+        return handle;
+    }
+
+    // =========================================================================
+    // 2. SOPORTE DE AlmacenSoA
+    // =========================================================================
+
+    @Override
+    protected void crecer(int capacidad) {
+        x = Arrays.copyOf(x, capacidad);
+        y = Arrays.copyOf(y, capacidad);
+        xPrevio = Arrays.copyOf(xPrevio, capacidad);
+        yPrevio = Arrays.copyOf(yPrevio, capacidad);
+        vx = Arrays.copyOf(vx, capacidad);
+        vy = Arrays.copyOf(vy, capacidad);
+        activa = Arrays.copyOf(activa, capacidad);
+        numeroDisparo = Arrays.copyOf(numeroDisparo, capacidad);
+    }
+
+    @Override
+    protected void mover(int desde, int hasta) {
+        x[hasta] = x[desde];
+        y[hasta] = y[desde];
+        xPrevio[hasta] = xPrevio[desde];
+        yPrevio[hasta] = yPrevio[desde];
+        vx[hasta] = vx[desde];
+        vy[hasta] = vy[desde];
+        activa[hasta] = activa[desde];
+        numeroDisparo[hasta] = numeroDisparo[desde];
+    }
+
+    // =========================================================================
+    // 3. CONSULTA
+    // =========================================================================
+
+    /** @return índice de la bala disparada hace más tiempo (-1 si no hay ninguna). */
+    public int indiceMasAntigua() {
+        int masAntigua = -1;
+        for (int i = 0; i < num; i++) {
+            // Resta para comparar bien aunque el contador dé la vuelta
+            if (masAntigua < 0 || numeroDisparo[i] - numeroDisparo[masAntigua] < 0) {
+                masAntigua = i;
+            }
+        }
+        return masAntigua;
+    }
+
+    public boolean isActiva(int indice) {
+        return activa[indice];
+    }
+
+    /** Marca la bala como gastada: se elimina en la siguiente actualización. */
+    public void desactivar(int indice) {
+        activa[indice] = false;
+    }
+
+    public double getX(int indice) {
+        return x[indice];
+    }
+
+    public double getY(int indice) {
+        return y[indice];
+    }
+}
@@ -0,0 +1,185 @@
+package juegoprog.elementos;
+
+import java.util.Arrays;
+
+/**
+ * Datos de todos los enemigos en arrays paralelos (ver {@link AlmacenSoA}).
+ * La lógica que los mueve y comprueba está en {@link GestorEnemigos}, que recorre estos arrays.
+ */
+public final class AlmacenEnemigos extends AlmacenSoA {
+
+    // =========================================================================
+    // 1. CONSTANTES
+    // =========================================================================
+
+    /** Lado del cuadrado con el que se dibuja y colisiona cada enemigo. */
+    public static final int TAMANO = 60;
+
+    /** Vida con la que aparece un enemigo. */
+    public static final int VIDA_INICIAL = 3;
+
+    // Bits de 'estado'
+    public static final byte ACTIVO = 1;           // Vivo (si no, se elimina al final del tick)
+    public static final byte PERSIGUIENDO = 2;     // Persiguió al jugador en el tick anterior
+    public static final byte CAUSANDO_DANIO = 4;   // En contacto con el jugador
+    public static final byte DETENIDO = 8;         // Quieto (p. ej. mientras se lee una pista)
+
+    // =========================================================================
+    // 2. DATOS (índice denso; los recorre GestorEnemigos)
+    // =========================================================================
+
+    double[] x, y;                  // Posición actual (coordenadas globales)
+    double[] xPrevio, yPrevio;      // Posición al inicio del tick (interpolación)
+    double[] angulo;                // Hacia dónde mira (radianes)
+    double[] objetivoX, objetivoY;  // Destino del paseo aleatorio
+    int[] vida;
+    int[] tiempoCambioDireccion;    // Ticks hasta elegir otro destino aleatorio
+    int[] intentosMoverse;          // Ticks seguidos sin poder avanzar
+    byte[] estado;
+    long[] semilla;                 // Estado del generador aleatorio propio (ver siguienteAleatorio)
+    int[] enfriamientoDanio;        // Ticks hasta el siguiente golpe al jugador (mientras hay contacto)
+
+    public AlmacenEnemigos(int capacidad) {
+        super(capacidad);
+        reservar(Math.max(1, capacidad));
+    }
+
+    private void reservar(int capacidad) {
+        x = new double[capacidad];
+        y = new double[capacidad];
+        xPrevio = new double[capacidad];
+        yPrevio = new double[capacidad];
+        angulo = new double[capacidad];
+        objetivoX = new double[capacidad];
+        objetivoY = new double[capacidad];
+        vida = new int[capacidad];
+        tiempoCambioDireccion = new int[capacidad];
+        intentosMoverse = new int[capacidad];
+        estado = new byte[capacidad];
+        semilla = new long[capacidad];
+        enfriamientoDanio = new int[capacidad];
+    }
+
+    // =========================================================================
+    // 3. ALTA
+    // =========================================================================
+
+    /**
+     * Añade un enemigo vivo.
+     *
+     * @param xInicial  Posición X inicial.
+     * @param yInicial  Posición Y inicial.
+     * @param destinoX  Primer destino aleatorio (X).
+     * @param destinoY  Primer destino aleatorio (Y).
+     * @param semilla   Semilla de su generador aleatorio propio.
+     * @return handle estable del enemigo.
+     */
+    public int crear(double xInicial, double yInicial, double destinoX, double destinoY, long semilla) {
+        int handle = crear();
+        int i = num - 1;
+        x[i] = xInicial;
+        y[i] = yInicial;
+        xPrevio[i] = xInicial;
+        yPrevio[i] = yInicial;
+        angulo[i] = 0;
+        objetivoX[i] = destinoX;
+        objetivoY[i] = destinoY;
+        vida[i] = VIDA_INICIAL;
+        tiempoCambioDireccion[i] = 0;
+        intentosMoverse[i] = 0;
+        estado[i] = ACTIVO;
+        this.semilla[i] = semilla;
+        enfriamientoDanio[i] = 0;
+        return handle;
+    }
+
+    // =========================================================================
+    // 4. SOPORTE DE AlmacenSoA
+    // =========================================================================
+
+    @Override
+    protected void crecer(int capacidad) {
+        x = Arrays.copyOf(x, capacidad);
+        y = Arrays.copyOf(y, capacidad);
+        xPrevio = Arrays.copyOf(xPrevio, capacidad);
+        yPrevio = Arrays.copyOf(yPrevio, capacidad);
+        angulo = Arrays.copyOf(angulo, capacidad);
+        objetivoX = Arrays.copyOf(objetivoX, capacidad);
+        objetivoY = Arrays.copyOf(objetivoY, capacidad);
+        vida = Arrays.copyOf(vida, capacidad);
+        tiempoCambioDireccion = Arrays.copyOf(tiempoCambioDireccion, capacidad);
+        intentosMoverse = Arrays.copyOf(intentosMoverse, capacidad);
+        estado = Arrays.copyOf(estado, capacidad);
+        semilla = Arrays.copyOf(semilla, capacidad);
+        enfriamientoDanio = Arrays.copyOf(enfriamientoDanio, capacidad);
+    }
+
+    @Override
+    protected void mover(int desde, int hasta) {
+        x[hasta] = x[desde];
+        y[hasta] = y[desde];
+        xPrevio[hasta] = xPrevio[desde];
+        yPrevio[hasta] = yPrevio[desde];
+        angulo[hasta] = angulo[desde];
+        objetivoX[hasta] = objetivoX[desde];
+        objetivoY[hasta] = objetivoY[desde];
+        vida[hasta] = vida[desde];
+        tiempoCambioDireccion[hasta] = tiempoCambioDireccion[desde];
+        intentosMoverse[hasta] = intentosMoverse[desde];
+        estado[hasta] = estado[desde];
+        semilla[hasta] = semilla[desde];
+        enfriamientoDanio[hasta] = enfriamientoDanio[desde];
+    }
+
+    // =========================================================================
+    // 5. AZAR POR ENEMIGO
+    // =========================================================================
+
+    /**
+     * Siguiente número del generador propio del enemigo (SplitMix64 sobre su semilla).
+     * Cada enemigo tiene su propia secuencia, así que el resultado no depende del orden en que
+     * se muevan ni de cuántos hilos lo hagan.
+     */
+    long siguienteAleatorio(int indice) {
+        long z = (semilla[indice] += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // =========================================================================
+    // 6. CONSULTA
+    // =========================================================================
+
+    public boolean tiene(int indice, byte bit) {
+        return (estado[indice] & bit) != 0;
+    }
+
+    public boolean isActivo(int indice) {
+        return (estado[indice] & ACTIVO) != 0;
+    }
+
+    public double getX(int indice) {
+        return x[indice];
+    }
+
+    public double getY(int indice) {
+        return y[indice];
+    }
+
+    public double getXPrevio(int indice) {
+        return xPrevio[indice];
+    }
+
+    public double getYPrevio(int indice) {
+        return yPrevio[indice];
+    }
+
+    public double getAngulo(int indice) {
+        return angulo[indice];
+    }
+
+    public int getVida(int indice) {
+        return vida[indice];
+    }
+}
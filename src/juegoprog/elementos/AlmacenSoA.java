@@ -0,0 +1,157 @@
+package juegoprog.elementos;
+
+import java.util.Arrays;
+
+/**
+ * Base de los almacenes de entidades "estructura de arrays" (SoA).
+ * <p>
+ * - Los datos de cada entidad (posición, vida, estado...) viven en arrays primitivos paralelos
+ *   que definen las subclases. Las entidades vivas ocupan las posiciones densas [0, getNum()),
+ *   así que los sistemas recorren los arrays de seguido, sin objetos ni listas.
+ * - Al eliminar, la última entidad pasa al hueco (swap-remove): O(1) y sin huecos.
+ * - Como el índice denso cambia al eliminar, cada entidad tiene además un handle estable
+ *   (ranura + generación). {@link #indice(int)} lo traduce al índice denso actual, o -1 si la
+ *   entidad ya no existe aunque su ranura se haya reutilizado.
+ * - No crea objetos por entidad: los arrays solo crecen (al doble) si hay más entidades que nunca.
+ * - No es seguro entre hilos: lo usa el hilo del bucle (o quien sincronice por fuera).
+ */
+public abstract class AlmacenSoA {
+
+    // =========================================================================
+    // 1. HANDLES
+    // =========================================================================
+
+    // Un handle es (generación << BITS_RANURA) | ranura
+    private static final int BITS_RANURA = 20;
+    private static final int MASCARA_RANURA = (1 << BITS_RANURA) - 1;
+    private static final int MASCARA_GENERACION = (1 << (31 - BITS_RANURA)) - 1;
+
+    /** Valor que no corresponde a ninguna entidad. */
+    public static final int SIN_HANDLE = -1;
+
+    protected int num = 0;            // Entidades vivas (posiciones densas [0, num))
+
+    private int[] ranuraDe;           // Índice denso -> ranura
+    private int[] densoDe;            // Ranura -> índice denso (-1 = libre)
+    private int[] generacion;         // Generación actual de cada ranura
+    private int[] libres;             // Pila de ranuras libres
+    private int numLibres = 0;
+    private int numRanuras = 0;       // Ranuras usadas alguna vez
+
+    protected AlmacenSoA(int capacidad) {
+        int inicial = Math.max(1, capacidad);
+        ranuraDe = new int[inicial];
+        densoDe = new int[inicial];
+        generacion = new int[inicial];
+        libres = new int[inicial];
+        Arrays.fill(densoDe, -1);
+    }
+
+    // =========================================================================
+    // 2. CICLO DE VIDA
+    // =========================================================================
+
+    /**
+     * Reserva una entidad al final de la zona densa. La subclase rellena después sus datos
+     * en el índice {@link #getNum()} - 1.
+     *
+     * @return handle estable de la nueva entidad.
+     */
+    protected final int crear() {
+        if (num == ranuraDe.length) {
+            int capacidad = ranuraDe.length * 2;
+            ranuraDe = Arrays.copyOf(ranuraDe, capacidad);
+            crecer(capacidad);
+        }
+
+        int ranura;
+        if (numLibres > 0) {
+            ranura = libres[--numLibres];
+        } else {
+            if (numRanuras == densoDe.length) {
+                int capacidad = densoDe.length * 2;
+                densoDe = Arrays.copyOf(densoDe, capacidad);
+                Arrays.fill(densoDe, numRanuras, capacidad, -1);
+                generacion = Arrays.copyOf(generacion, capacidad);
+                libres = Arrays.copyOf(libres, capacidad);
+            }
+            if (numRanuras > MASCARA_RANURA) {
+                throw new IllegalStateException("Demasiadas entidades en " + getClass().getSimpleName());
+            }
+            ranura = numRanuras++;
+        }
+
+        int indice = num++;
+        ranuraDe[indice] = ranura;
+        densoDe[ranura] = indice;
+        return (generacion[ranura] << BITS_RANURA) | ranura;
+    }
+
+    /**
+     * Elimina la entidad del índice denso dado: la última pasa a ocupar su sitio y su handle
+     * deja de ser válido.
+     */
+    public final void eliminar(int indice) {
+        int ranura = ranuraDe[indice];
+        int ultimo = num - 1;
+
+        if (indice != ultimo) {
+            mover(ultimo, indice);
+            int ranuraUltimo = ranuraDe[ultimo];
+            ranuraDe[indice] = ranuraUltimo;
+            densoDe[ranuraUltimo] = indice;
+        }
+        limpiar(ultimo);
+
+        densoDe[ranura] = -1;
+        generacion[ranura] = (generacion[ranura] + 1) & MASCARA_GENERACION;
+        libres[numLibres++] = ranura;
+        num--;
+    }
+
+    /** Elimina todas las entidades (los handles anteriores dejan de valer). */
+    public final void vaciar() {
+        while (num > 0) {
+            eliminar(num - 1);
+        }
+    }
+
+    // =========================================================================
+    // 3. PARTE DE LAS SUBCLASES
+    // =========================================================================
+
+    /** Amplía los arrays de datos a la nueva capacidad (conservando el contenido). */
+    protected abstract void crecer(int capacidad);
+
+    /** Copia los datos de la entidad del índice 'desde' al índice 'hasta'. */
+    protected abstract void mover(int desde, int hasta);
+
+    /** Suelta lo que la entidad del índice tenga asociado (referencias, temporizadores...). */
+    protected void limpiar(int indice) {
+    }
+
+    // =========================================================================
+    // 4. CONSULTA
+    // =========================================================================
+
+    /** @return número de entidades vivas. */
+    public final int getNum() {
+        return num;
+    }
+
+    /** @return handle estable de la entidad del índice denso dado. */
+    public final int handle(int indice) {
+        int ranura = ranuraDe[indice];
+        return (generacion[ranura] << BITS_RANURA) | ranura;
+    }
+
+    /** @return índice denso actual de la entidad, o -1 si el handle ya no es válido. */
+    public final int indice(int handle) {
+        if (handle < 0) return -1;
+        int ranura = handle & MASCARA_RANURA;
+        if (ranura >= numRanuras || generacion[ranura] != (handle >>> BITS_RANURA)) {
+            return -1;
+        }
+        return densoDe[ranura];
+    }
+}
@@ -0,0 +1,27 @@
+package juegoprog.elementos;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Generador aleatorio que usa la secuencia propia de un enemigo del almacén
+ * (ver {@link AlmacenEnemigos#siguienteAleatorio(int)}). Se apunta a un enemigo con
+ * {@link #setIndice(int)} antes de moverlo; cada hilo usa su propio objeto.
+ */
+final class AzarEnemigo implements RandomGenerator {
+
+    private final AlmacenEnemigos almacen;
+    private int indice;
+
+    AzarEnemigo(AlmacenEnemigos almacen) {
+        this.almacen = almacen;
+    }
+
+    void setIndice(int indice) {
+        this.indice = indice;
+    }
+
+    @Override
+    public long nextLong() {
+        return almacen.siguienteAleatorio(indice);
+    }
+}
@@ -0,0 +1,45 @@
+package juegoprog.elementos;
+
+import java.util.Arrays;
+
+/**
+ * Lista de eventos de enemigos (tipo + handle del enemigo) que se anotan durante una fase de la
+ * simulación y se aplican después, todos juntos y en el orden en que se anotaron.
+ * Así las fases que recorren enemigos no tocan sonidos ni al jugador directamente.
+ */
+final class BuferEventos {
+
+    // Tipos de evento
+    static final int GRITO = 1;           // Un enemigo empieza a perseguir al jugador
+    static final int GOLPE = 2;           // Un enemigo hiere al jugador
+
+    private int[] tipos = new int[16];
+    private int[] handles = new int[16];
+    private int numEventos = 0;
+
+    void anotar(int tipo, int handle) {
+        if (numEventos == tipos.length) {
+            tipos = Arrays.copyOf(tipos, numEventos * 2);
+            handles = Arrays.copyOf(handles, numEventos * 2);
+        }
+        tipos[numEventos] = tipo;
+        handles[numEventos] = handle;
+        numEventos++;
+    }
+
+    void vaciar() {
+        numEventos = 0;
+    }
+
+    int getNumEventos() {
+        return numEventos;
+    }
+
+    int getTipo(int evento) {
+        return tipos[evento];
+    }
+
+    int getHandle(int evento) {
+        return handles[evento];
+    }
+}
@@ -0,0 +1,157 @@
+package juegoprog.elementos;
+
+import java.util.Arrays;
+
+/**
+ * Campo de flujo hacia el jugador, compartido por todos los enemigos que lo persiguen.
+ * <p>
+ * - Trabaja sobre las celdas de una {@link RejillaTransitable}.
+ * - Cuando el jugador cambia de celda se recalcula la distancia (Dijkstra con cubos: 2 en recto,
+ *   3 en diagonal, sin cortar esquinas) desde su celda hasta {@link #RADIO_CELDAS} celdas de
+ *   camino. Cada celda alcanzada guarda la vecina por la que se llega antes al jugador.
+ * - Solo se tocan las celdas dentro de ese radio, y al recalcular solo se limpian esas: el coste
+ *   no depende del tamaño del mapa ni del número de enemigos. Cada enemigo solo lee su celda.
+ * - No es seguro entre hilos: lo actualiza y lo consulta el hilo del bucle.
+ */
+public class CampoFlujo {
+
+    // =========================================================================
+    // 1. CONFIGURACIÓN Y DATOS
+    // =========================================================================
+
+    /** Distancia máxima (en celdas rectas) a la que se propaga el campo desde el jugador. */
+    public static final int RADIO_CELDAS = 48;
+
+    // Coste de un paso recto y de uno diagonal (≈ 1 : √2)
+    private static final int COSTE_RECTO = 2;
+    private static final int COSTE_DIAGONAL = 3;
+    private static final int COSTE_MAXIMO = RADIO_CELDAS * COSTE_RECTO;
+    private static final int SIN_CAMINO = Integer.MAX_VALUE;
+
+    private final RejillaTransitable rejilla;
+
+    private final int[] distancia;       // Coste hasta el jugador (SIN_CAMINO = no alcanzada)
+    private final int[] siguiente;       // Celda vecina hacia el jugador (-1 = ninguna)
+    private int celdaJugador = -1;
+
+    // Celdas con distancia calculada, para limpiarlas en el siguiente cálculo
+    private int[] tocadas = new int[256];
+    private int numTocadas = 0;
+
+    // Cubos de Dijkstra por coste (circular: el coste máximo de un paso es menor que el número de cubos)
+    private final int[][] cubos = new int[COSTE_DIAGONAL + 1][64];
+    private final int[] tamCubo = new int[COSTE_DIAGONAL + 1];
+
+    /**
+     * @param rejilla Celdas transitables del mapa.
+     */
+    public CampoFlujo(RejillaTransitable rejilla) {
+        this.rejilla = rejilla;
+        this.distancia = new int[rejilla.getNumCeldas()];
+        this.siguiente = new int[rejilla.getNumCeldas()];
+        Arrays.fill(distancia, SIN_CAMINO);
+        Arrays.fill(siguiente, -1);
+    }
+
+    // =========================================================================
+    // 2. CÁLCULO
+    // =========================================================================
+
+    /**
+     * Sitúa al jugador. Si ha cambiado de celda, recalcula el campo a su alrededor;
+     * si no, no hace nada.
+     *
+     * @param jugadorX Coordenada X del jugador.
+     * @param jugadorY Coordenada Y del jugador.
+     */
+    public void actualizar(double jugadorX, double jugadorY) {
+        int celda = rejilla.celdaEn(jugadorX, jugadorY);
+        if (celda == celdaJugador) return;
+        celdaJugador = celda;
+
+        // Limpiar solo lo que tocó el cálculo anterior
+        for (int k = 0; k < numTocadas; k++) {
+            distancia[tocadas[k]] = SIN_CAMINO;
+            siguiente[tocadas[k]] = -1;
+        }
+        numTocadas = 0;
+        Arrays.fill(tamCubo, 0);
+        if (celda < 0) return;
+
+        // La celda del jugador es el origen aunque no sea transitable (p. ej. pegado a una pared)
+        fijarDistancia(celda, 0, -1);
+        for (int coste = 0; coste <= COSTE_MAXIMO; coste++) {
+            int cubo = coste % cubos.length;
+            // Durante el recorrido solo se añade a cubos de coste mayor (otros cubos)
+            for (int k = 0; k < tamCubo[cubo]; k++) {
+                int actual = cubos[cubo][k];
+                if (distancia[actual] == coste) {
+                    expandir(actual, coste);
+                }
+            }
+            tamCubo[cubo] = 0;
+        }
+    }
+
+    /** Relaja las vecinas a las que se puede pasar desde la celda. */
+    private void expandir(int celda, int coste) {
+        for (int v = 0; v < rejilla.getNumVecinas(); v++) {
+            int vecina = rejilla.vecina(celda, v);
+            if (vecina < 0) continue;
+
+            int nuevoCoste = coste + (rejilla.esDiagonal(v) ? COSTE_DIAGONAL : COSTE_RECTO);
+            if (nuevoCoste < distancia[vecina] && nuevoCoste <= COSTE_MAXIMO) {
+                fijarDistancia(vecina, nuevoCoste, celda);
+            }
+        }
+    }
+
+    private void fijarDistancia(int celda, int coste, int haciaJugador) {
+        if (distancia[celda] == SIN_CAMINO) {
+            if (numTocadas == tocadas.length) {
+                tocadas = Arrays.copyOf(tocadas, tocadas.length * 2);
+            }
+            tocadas[numTocadas++] = celda;
+        }
+        distancia[celda] = coste;
+        siguiente[celda] = haciaJugador;
+
+        int cubo = coste % cubos.length;
+        if (tamCubo[cubo] == cubos[cubo].length) {
+            cubos[cubo] = Arrays.copyOf(cubos[cubo], cubos[cubo].length * 2);
+        }
+        cubos[cubo][tamCubo[cubo]++] = celda;
+    }
+
+    // =========================================================================
+    // 3. CONSULTA
+    // =========================================================================
+
+    /**
+     * Celda a la que debe ir quien está en (x, y) para acercarse al jugador.
+     * Si su celda no tiene camino (por ejemplo, medio dentro de una pared), se usa la vecina
+     * alcanzada más cercana al jugador.
+     *
+     * @return índice de la celda, o -1 si está en la celda del jugador o fuera del campo
+     *         (en ese caso conviene ir en línea recta).
+     */
+    public int celdaSiguiente(double x, double y) {
+        int celda = rejilla.celdaEn(x, y);
+        if (celda < 0 || celda == celdaJugador) return -1;
+        if (distancia[celda] != SIN_CAMINO) return siguiente[celda];
+
+        int mejor = -1;
+        for (int v = 0; v < rejilla.getNumVecinas(); v++) {
+            int vecina = rejilla.vecina(celda, v);
+            if (vecina >= 0 && distancia[vecina] != SIN_CAMINO && (mejor < 0 || distancia[vecina] < distancia[mejor])) {
+                mejor = vecina;
+            }
+        }
+        return mejor;
+    }
+
+    /** @return rejilla sobre la que se calcula el campo. */
+    public RejillaTransitable getRejilla() {
+        return rejilla;
+    }
+}
@@ -0,0 +1,69 @@
+package juegoprog.elementos;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Buffer circular sin bloqueos para pasar disparos del hilo de Swing (ratón) al hilo del bucle.
+ * <p>
+ * - Un único productor ({@link #ofrecer}) y un único consumidor ({@link #sacar}): cada contador
+ *   solo lo escribe un hilo, así que basta con escrituras ordenadas, sin locks ni CAS.
+ * - Los datos van en arrays primitivos de capacidad fija (potencia de dos): no se crean objetos.
+ * - Si la cola está llena, el disparo se descarta y se cuenta.
+ */
+final class ColaDisparos {
+
+    private final int mascara;
+    private final double[] origenX, origenY, objetivoX, objetivoY;
+
+    private final AtomicLong escritos = new AtomicLong();  // Solo lo avanza el productor
+    private final AtomicLong leidos = new AtomicLong();    // Solo lo avanza el consumidor
+    private volatile long descartados = 0;                 // Solo lo escribe el productor; se lee desde cualquier hilo
+
+    // Último disparo sacado (lo lee el consumidor justo después de sacar)
+    double sacadoOrigenX, sacadoOrigenY, sacadoObjetivoX, sacadoObjetivoY;
+
+    /** @param capacidad se redondea a la siguiente potencia de dos. */
+    ColaDisparos(int capacidad) {
+        int tam = Integer.highestOneBit(Math.max(2, capacidad) - 1) << 1;
+        mascara = tam - 1;
+        origenX = new double[tam];
+        origenY = new double[tam];
+        objetivoX = new double[tam];
+        objetivoY = new double[tam];
+    }
+
+    /** Productor: encola un disparo. @return false si la cola estaba llena y se ha descartado. */
+    boolean ofrecer(double xInicial, double yInicial, double xObjetivo, double yObjetivo) {
+        long e = escritos.get();
+        if (e - leidos.get() > mascara) {
+            descartados++;
+            return false;
+        }
+        int i = (int) (e & mascara);
+        origenX[i] = xInicial;
+        origenY[i] = yInicial;
+        objetivoX[i] = xObjetivo;
+        objetivoY[i] = yObjetivo;
+        escritos.lazySet(e + 1); // Publica los datos anteriores antes del nuevo contador
+        return true;
+    }
+
+    /** Consumidor: saca el disparo más antiguo a los campos 'sacado*'. @return false si no había ninguno. */
+    boolean sacar() {
+        long l = leidos.get();
+        if (l == escritos.get()) {
+            return false;
+        }
+        int i = (int) (l & mascara);
+        sacadoOrigenX = origenX[i];
+        sacadoOrigenY = origenY[i];
+        sacadoObjetivoX = objetivoX[i];
+        sacadoObjetivoY = objetivoY[i];
+        leidos.lazySet(l + 1); // El hueco queda libre para el productor
+        return true;
+    }
+
+    long getDescartados() {
+        return descartados;
+    }
+}
@@ -1,6 +1,7 @@
 package juegoprog.elementos;
 
 import juegoprog.graficos.Pantalla;
+import juegoprog.sistema.Azar;
 
 import javax.imageio.ImageIO;
 import javax.swing.*;
@@ -9,7 +10,7 @@ import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.util.Objects;
-import java.util.Random;
+import java.util.SplittableRandom;
 
 /** Representa el minijuego de la caja fuerte con un dial giratorio.
  * El jugador gira el dial con las flechas izquierda/derecha e ingresa la combinación
@@ -39,6 +40,9 @@ public class Dial extends JPanel {
      * Permite reproducir sonidos, cambiar de pantalla, etc. */
     private final Pantalla ventana;
 
+    /** Azar para elegir el sonido del giro (flujo propio del servicio central; solo desde el EDT). */
+    private final SplittableRandom azar = Azar.flujo("dial");
+
     /** Imagen de fondo (la caja fuerte). Se dibuja detrás del dial. */
     private BufferedImage imagenFondo;
 
@@ -89,7 +93,7 @@ public class Dial extends JPanel {
                     if (e.getKeyCode() == KeyEvent.VK_RIGHT) {
                         angulo += 5;
                         if (tiempoActual - ultimaReproduccionSonido > delaySonidoCaja) {
-                            String sonidoDerecha = new Random().nextBoolean()
+                            String sonidoDerecha = azar.nextBoolean()
                                     ? "/audio/NoirOpenSafeDer.wav"
                                     : "/audio/NoirOpenSafeDer2.wav";
                             ventana.getGestorSonidos().reproducirEfecto(sonidoDerecha);
@@ -101,7 +105,7 @@ public class Dial extends JPanel {
                     else if (e.getKeyCode() == KeyEvent.VK_LEFT) {
                         angulo -= 5;
                         if (tiempoActual - ultimaReproduccionSonido > delaySonidoCaja) {
-                            String sonidoIzquierda = new Random().nextBoolean()
+                            String sonidoIzquierda = azar.nextBoolean()
                                     ? "/audio/NoirOpenSafeIZ.wav"
                                     : "/audio/NoirOpenSafeIZ2.wav";
                             ventana.getGestorSonidos().reproducirEfecto(sonidoIzquierda);
@@ -0,0 +1,54 @@
+package juegoprog.elementos;
+
+import java.util.function.Supplier;
+
+/**
+ * Pareja de instantáneas que se alternan: el hilo de la lógica rellena una mientras los lectores
+ * (render, minimapa) leen la otra, ya publicada.
+ * <p>
+ * - Escritura (solo el hilo de la lógica): {@link #paraEscribir()}, rellenar y {@link #publicar()}.
+ * - Lectura (cualquier hilo): {@link #tomar()} y, al terminar, {@link Instantanea#soltar()}.
+ * - Una instantánea que algún lector tiene todavía no se sobrescribe nunca: si hace falta,
+ *   se crea otra. En el caso normal (leer tarda menos de un tick) no se crean objetos.
+ */
+final class DobleBufer<T extends Instantanea> {
+
+    private final Supplier<T> fabrica;
+    private volatile T publicada;
+    private T trasera;
+
+    DobleBufer(Supplier<T> fabrica) {
+        this.fabrica = fabrica;
+        this.publicada = fabrica.get();
+        this.trasera = fabrica.get();
+    }
+
+    /** @return la instantánea sin publicar, libre de lectores, para rellenarla en este tick. */
+    T paraEscribir() {
+        if (trasera.enLectura()) {
+            // Un lector sigue con la instantánea de hace dos ticks: se deja para él y se usa otra
+            trasera = fabrica.get();
+        }
+        return trasera;
+    }
+
+    /** Publica la instantánea rellenada; la anterior pasa a ser la de escritura. */
+    void publicar() {
+        T nueva = trasera;
+        trasera = publicada;
+        publicada = nueva;
+    }
+
+    /** @return la última instantánea publicada, marcada como en uso hasta que se suelte. */
+    T tomar() {
+        while (true) {
+            T instantanea = publicada;
+            instantanea.adquirir();
+            // Si entretanto se ha publicado otra, esta puede estar reescribiéndose: se prueba de nuevo
+            if (publicada == instantanea) {
+                return instantanea;
+            }
+            instantanea.soltar();
+        }
+    }
+}
@@ -1,23 +1,64 @@
 package juegoprog.elementos;
 
-import juegoprog.escenarios.ColisionesPanel;
-
-import java.awt.*;
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
+import juegoprog.escenarios.ImpactoRayo;
+import juegoprog.escenarios.MapaColisiones;
 
 /**
  * Clase auxiliar para gestionar todas las balas activas en el juego.
- * Esta clase centraliza la creación, actualización y dibujo de las balas.
+ * Esta clase centraliza la creación y actualización de las balas (las dibuja la capa de entidades).
+ * <p>
+ * - Las balas viven en un pool de capacidad fija ({@link AlmacenBalas}, -Dnoir.balas.max=N):
+ *   disparar reutiliza huecos y no crea objetos.
+ * - Si el pool está lleno se aplica la política -Dnoir.balas.desborde: "reciclar" (por defecto)
+ *   sustituye la bala más antigua; "descartar" ignora el disparo nuevo.
+ * - {@link #disparar} solo deja la petición en una cola sin bloqueos; el bucle la recoge en
+ *   {@link #actualizar}. El dibujado lee una instantánea publicada una vez por tick, así que
+ *   ni el bucle ni el render usan synchronized.
  */
 public class GestorBalas {
 
-    /** Lista de todas las balas activas en el juego. */
-    private final List<Bala> balas = new ArrayList<>();
+    /** Balas simultáneas como máximo por defecto. */
+    private static final int MAX_BALAS = Math.max(1, Integer.getInteger("noir.balas.max", 256));
+
+    /** Si está activo, con el pool lleno se recicla la bala más antigua; si no, se descarta la nueva. */
+    private static final boolean RECICLAR_AL_DESBORDAR =
+            !"descartar".equalsIgnoreCase(System.getProperty("noir.balas.desborde", "reciclar"));
+
+    /** Balas simultáneas como máximo en este gestor. */
+    private final int maxBalas;
+
+    /** Datos de todas las balas activas en el juego (solo los toca el hilo del bucle). */
+    private final AlmacenBalas balas;
+
+    /** Disparos pedidos desde Swing y pendientes de entrar en el pool. */
+    private final ColaDisparos disparosPendientes = new ColaDisparos(64);
+
+    /** Copias para el render (ver {@link DobleBufer}). */
+    private final DobleBufer<InstantaneaBalas> instantaneas;
+
+    // Disparos perdidos porque el pool estaba lleno (política "descartar") o reciclados.
+    // Solo los escribe el hilo del bucle; volatile para leerlos en los informes desde otro hilo.
+    private volatile long disparosDescartados = 0;
+    private volatile long balasRecicladas = 0;
+
+    // Resultado del rayo de cada bala (reutilizado; solo desde el hilo del bucle)
+    private final ImpactoRayo impacto = new ImpactoRayo();
+
+    /** Gestor con la capacidad por defecto (-Dnoir.balas.max=N). */
+    public GestorBalas() {
+        this(MAX_BALAS);
+    }
+
+    /** @param maxBalas balas simultáneas como máximo (p. ej. para pruebas de carga). */
+    public GestorBalas(int maxBalas) {
+        this.maxBalas = Math.max(1, maxBalas);
+        this.balas = new AlmacenBalas(this.maxBalas);
+        this.instantaneas = new DobleBufer<>(() -> new InstantaneaBalas(this.maxBalas));
+    }
 
     /**
-     * Crea y añade una nueva bala al gestor.
+     * Pide una nueva bala. Se puede llamar desde el hilo de Swing: la bala aparece en la
+     * siguiente actualización del bucle.
      *
      * @param startX     Posición inicial en X de la bala.
      * @param startY     Posición inicial en Y de la bala.
@@ -25,48 +66,96 @@ public class GestorBalas {
      * @param objetivoY  Coordenada Y hacia donde apunta la bala.
      */
     public void disparar(double startX, double startY, double objetivoX, double objetivoY) {
-        synchronized (balas) {
-            balas.add(new Bala(startX, startY, objetivoX, objetivoY));
-        }
+        disparosPendientes.ofrecer(startX, startY, objetivoX, objetivoY);
     }
 
     /**
      * Actualiza la posición de todas las balas activas en el juego.
-     * Elimina las balas que ya no están activas (colisiones o fuera del mapa).
+     * Elimina las balas que ya no están activas (colisiones o fuera del mapa), añade los disparos
+     * pendientes (en su punto de salida, como hasta ahora) y publica la instantánea del tick.
+     *
+     * @param colisiones Mapa de colisiones (coordenadas globales).
      */
-    public void actualizar(ColisionesPanel colisiones, int desplazamientoX, int desplazamientoY) {
-        synchronized (balas) {
-            Iterator<Bala> iterador = balas.iterator();
-            while (iterador.hasNext()) {
-                Bala bala = iterador.next();
-                bala.actualizar(colisiones, desplazamientoX, desplazamientoY);
-
-                if (!bala.isActiva()) {
-                    iterador.remove();
-                }
+    public void actualizar(MapaColisiones colisiones) {
+        int i = 0;
+        while (i < balas.getNum()) {
+            if (balas.activa[i]) {
+                mover(i, colisiones);
             }
+
+            if (balas.activa[i]) {
+                i++;
+            } else {
+                balas.eliminar(i); // La última pasa a la posición i, que se vuelve a mirar
+            }
+        }
+
+        while (disparosPendientes.sacar()) {
+            crearBala(disparosPendientes.sacadoOrigenX, disparosPendientes.sacadoOrigenY,
+                    disparosPendientes.sacadoObjetivoX, disparosPendientes.sacadoObjetivoY);
         }
+
+        instantaneas.paraEscribir().copiar(balas);
+        instantaneas.publicar();
     }
 
-    /**
-     * Dibuja todas las balas activas en la pantalla.
-     *
-     * @param g Contexto gráfico del juego.
-     */
-    public void dibujar(Graphics g, int desplazamientoX, int desplazamientoY) {
-        synchronized (balas) {
-            for (Bala bala : balas) {
-                bala.dibujar(g, desplazamientoX, desplazamientoY);
+    /** Mete una bala en el pool aplicando la política de desbordamiento. */
+    private void crearBala(double xInicial, double yInicial, double xObjetivo, double yObjetivo) {
+        if (balas.getNum() >= maxBalas) {
+            if (!RECICLAR_AL_DESBORDAR) {
+                disparosDescartados++;
+                return;
             }
+            balas.eliminar(balas.indiceMasAntigua());
+            balasRecicladas++;
+        }
+        balas.crear(xInicial, yInicial, xObjetivo, yObjetivo);
+    }
+
+    /** Avanza la bala i un tick con un rayo por la rejilla de colisiones: se queda en el punto
+     *  exacto donde entra en el primer obstáculo (no atraviesa paredes finas). */
+    private void mover(int i, MapaColisiones colisiones) {
+        double x = balas.x[i], y = balas.y[i];
+        balas.xPrevio[i] = x;
+        balas.yPrevio[i] = y;
+
+        double xFinal = x + balas.vx[i];
+        double yFinal = y + balas.vy[i];
+
+        if (colisiones.trazarRayo(x, y, xFinal, yFinal, impacto)) {
+            balas.x[i] = impacto.getX();
+            balas.y[i] = impacto.getY();
+            balas.activa[i] = false; // Desactivar la bala si colisiona
+        } else {
+            balas.x[i] = xFinal;
+            balas.y[i] = yFinal;
         }
     }
 
     /**
-     * Retorna una referencia a la lista de balas activas.
+     * Devuelve la última instantánea publicada, marcada como en uso hasta que se llame a
+     * {@link InstantaneaBalas#soltar()}. Se puede llamar desde cualquier hilo.
+     */
+    public InstantaneaBalas tomarInstantanea() {
+        return instantaneas.tomar();
+    }
+
+    /**
+     * Retorna el almacén de balas. Solo para el hilo del bucle.
      *
-     * @return Lista de balas activas.
+     * @return Almacén de balas activas.
      */
-    public List<Bala> getBalas() {
+    public AlmacenBalas getAlmacen() {
         return balas;
     }
-}
\ No newline at end of file
+
+    /** @return disparos perdidos: cola llena o pool lleno con la política "descartar". */
+    public long getDisparosDescartados() {
+        return disparosDescartados + disparosPendientes.getDescartados();
+    }
+
+    /** @return balas sustituidas por otras nuevas con el pool lleno (política "reciclar"). */
+    public long getBalasRecicladas() {
+        return balasRecicladas;
+    }
+}
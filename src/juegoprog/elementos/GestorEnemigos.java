@@ -1,17 +1,56 @@
 package juegoprog.elementos;
 
-import juegoprog.audio.GestorSonidos;
-import juegoprog.escenarios.ColisionesPanel;
-import juegoprog.graficos.Pantalla;
+import juegoprog.escenarios.MapaColisiones;
+import juegoprog.jugador.Personaje;
+import juegoprog.simulacion.SalidaSonido;
+import juegoprog.sistema.Azar;
 
-import java.awt.*;
-import java.util.Random;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.random.RandomGenerator;
 
 public class GestorEnemigos {
-    private static final CopyOnWriteArrayList<Enemigo> enemigos = new CopyOnWriteArrayList<>(); // Ya es threadsafe
-    private static final int MAX_ENEMIGOS = 15; // Máximo número de enemigos simultáneos
-    private final Random random = new Random();
+    // Máximo número de enemigos simultáneos por defecto (-Dnoir.enemigos=N para cambiarlo; admite
+    // miles para pruebas de carga)
+    private static final int MAX_ENEMIGOS = Integer.getInteger("noir.enemigos", 15);
+
+    // Hilos para mover a los enemigos (-Dnoir.enemigos.hilos=N; 1 = todo en el hilo del bucle).
+    // Solo se reparte el trabajo si hay al menos dos trozos de TAM_TROZO enemigos
+    private static final int HILOS = Math.max(1,
+            Integer.getInteger("noir.enemigos.hilos", Runtime.getRuntime().availableProcessors()));
+    private static final int TAM_TROZO = 256;
+
+    // Pool compartido por todos los gestores; se crea la primera vez que hace falta
+    private static ForkJoinPool pool;
+
+    // Ticks entre dos golpes de un mismo enemigo mientras toca al jugador (1 s con la lógica a 60 Hz)
+    private static final int TICKS_ENTRE_GOLPES = 60;
+
+    // Sonidos de los golpes al jugador
+    private static final String[] SONIDOS_CUCHILLO = {"/audio/Noirknife1.wav", "/audio/Noirknife2.wav", "/audio/Noirknife3.wav"};
+    private static final String[] SONIDOS_HERIDA = {"/audio/NoirHerida1.wav", "/audio/NoirHerida2.wav", "/audio/NoirHerida3.wav", "/audio/NoirHerida4.wav", "/audio/NoirMuerte1.wav"};
+
+    // Distancia al jugador a la que un enemigo empieza a perseguirlo
+    private static final int DISTANCIA_PERSECUCION = 250;
+
+    // Ticks mínimos entre dos gritos de alerta (3 s), para no solaparlos
+    private static final int TICKS_ENTRE_GRITOS = 180;
+
+    // Nivel de detalle de la IA según la distancia (en cada eje) al jugador:
+    // - Dentro de la vista (1280x720, esté donde esté la cámara, más el tamaño del enemigo): cada tick.
+    // - Hasta DISTANCIA_LEJOS: cada PERIODO_MEDIO ticks, con pasos PERIODO_MEDIO veces más largos.
+    // - Más lejos: cada PERIODO_LEJOS ticks, de celda en celda por la rejilla transitable.
+    private static final int ALCANCE_VISTA_X = 1280 + AlmacenEnemigos.TAMANO;
+    private static final int ALCANCE_VISTA_Y = 720 + AlmacenEnemigos.TAMANO;
+    private static final int DISTANCIA_LEJOS = 2500;
+    private static final int PERIODO_MEDIO = 4;
+    private static final int PERIODO_LEJOS = 16;
+
+    // Azar de la lógica de enemigos (apariciones, semillas de cada enemigo, sonidos), del servicio
+    // central para que la partida se pueda repetir con la misma semilla. Solo desde el hilo del bucle
+    private final SplittableRandom random = Azar.flujo("enemigos");
 
     // Coordenadas de los puntos de respawn existentes
     private final int[][] puntosRespawn = {
@@ -20,18 +59,67 @@ public class GestorEnemigos {
             {3436, 3560}      // Esquina Inferior Derecha
     };
 
-    private final GestorSonidos gestorSonidos;
+    private final SalidaSonido gestorSonidos;
 
-    // NUEVO: Pantalla para comprobar si hay cinemática
-    private Pantalla pantalla;
+    // Máximo de enemigos simultáneos de este gestor (se rellena hasta él en cada tick)
+    private final int maxEnemigos;
 
-    public GestorEnemigos(GestorSonidos gestorSonidos) {
-        this.gestorSonidos = gestorSonidos;
+    // Datos de los enemigos en arrays paralelos, solo accesibles desde el hilo de la lógica.
+    // Se borran intercambiando con el último (swap-remove) y se identifican por handles estables.
+    private final AlmacenEnemigos almacen;
+
+    // Instantáneas para los lectores de otros hilos (render, minimapa): una publicada y otra
+    // que se rellena en el siguiente tick (doble búfer)
+    private final DobleBufer<InstantaneaEnemigos> instantaneas;
+
+    // Pausa pedida desde otros hilos (p. ej. al leer una pista); la aplica el propio tick
+    private volatile boolean pausado = false;
+    private boolean enemigosDetenidos = false;
+
+    // Ticks de movimiento desde el inicio (reparte las actualizaciones de los enemigos lejanos)
+    private int contadorTicks = 0;
+
+    // Golpes al jugador de este tick (se aplican todos juntos al final del contacto)
+    private final BuferEventos eventosCombate = new BuferEventos();
+
+    // Trozos de enemigos que se mueven por separado, cada uno con su azar y sus eventos
+    private TrozoEnemigos[] trozos = new TrozoEnemigos[0];
+
+    // Azar del enemigo que se está creando (en el hilo del bucle)
+    private final AzarEnemigo azarAlta;
+
+    // Rejilla espacial de los enemigos, reconstruida en cada tick (el id es el handle del enemigo)
+    private final RejillaEspacial rejilla;
+
+    // Celdas transitables del mapa, sus zonas conectadas y el campo de flujo hacia el jugador
+    // (compartido por los enemigos que lo persiguen). Se crean con el primer mapa de colisiones
+    // que llega a actualizar()
+    private RejillaTransitable celdas;
+    private RegionesTransitables regiones;
+    private CampoFlujo campoFlujo;
+
+    // Tick del último grito de alerta (de cualquier enemigo), para no solapar gritos
+    private int tickUltimoGrito = -TICKS_ENTRE_GRITOS;
+
+    /**
+     * @param gestorSonidos Dónde suenan gritos, golpes y muertes ({@link SalidaSonido#SILENCIO} sin audio).
+     */
+    public GestorEnemigos(SalidaSonido gestorSonidos) {
+        this(gestorSonidos, MAX_ENEMIGOS);
     }
 
-    // ------ Establecer pantalla ------
-    public void setPantalla(Pantalla pantalla) {
-        this.pantalla = pantalla;
+    /**
+     * @param gestorSonidos Dónde suenan gritos, golpes y muertes ({@link SalidaSonido#SILENCIO} sin audio).
+     * @param maxEnemigos   Enemigos simultáneos como máximo (p. ej. para pruebas de rendimiento con
+     *                      distintas cargas en la misma JVM).
+     */
+    public GestorEnemigos(SalidaSonido gestorSonidos, int maxEnemigos) {
+        this.gestorSonidos = gestorSonidos;
+        this.maxEnemigos = maxEnemigos;
+        this.almacen = new AlmacenEnemigos(maxEnemigos);
+        this.instantaneas = new DobleBufer<>(() -> new InstantaneaEnemigos(Math.max(maxEnemigos, almacen.getNum())));
+        this.azarAlta = new AzarEnemigo(almacen);
+        this.rejilla = new RejillaEspacial(4472, 4816, 64, maxEnemigos);
     }
 
     /**
@@ -40,103 +128,564 @@ public class GestorEnemigos {
      *
      * @param objetivoX       Coordenada X del personaje principal.
      * @param objetivoY       Coordenada Y del personaje principal.
-     * @param colisiones      Referencia al sistema de colisiones.
-     * @param desplazamientoX Desplazamiento actual en el eje X del mapa.
-     * @param desplazamientoY Desplazamiento actual en el eje Y del mapa.
+     * @param colisiones      Mapa de colisiones (coordenadas globales).
      */
-    public void actualizar(double objetivoX, double objetivoY, ColisionesPanel colisiones,
-                           int desplazamientoX, int desplazamientoY) {
-        if (pantalla != null && pantalla.isEnCinematica()) {
-            return;
+    public void actualizar(double objetivoX, double objetivoY, MapaColisiones colisiones) {
+        // Aplicar la pausa pedida (o su fin) a todos los enemigos
+        aplicarPausa();
+
+        prepararMapa(colisiones);
+
+        // Recalcular el campo de flujo si el jugador ha cambiado de celda y algún enemigo
+        // (según la rejilla del tick anterior, con margen) puede estar persiguiéndolo
+        if (rejilla.consultar(objetivoX, objetivoY, DISTANCIA_PERSECUCION + 8, false) > 0) {
+            campoFlujo.actualizar(objetivoX, objetivoY);
+        }
+
+        // Mover a enemigos activos (en paralelo si hay muchos) y aplicar lo que haya pasado
+        moverEnemigos(objetivoX, objetivoY, colisiones);
+
+        // Eliminar enemigos inactivos y reproducir sonido de muerte
+        eliminarInactivos(true);
+
+        // Generar nuevos enemigos si el total está por debajo del máximo permitido
+        while (almacen.getNum() < maxEnemigos) {
+            int[] respawn = puntosRespawn[random.nextInt(puntosRespawn.length)];
+            almacen.crear(respawn[0], respawn[1], respawn[0], respawn[1], random.nextLong());
+            int nuevo = almacen.getNum() - 1;
+            azarAlta.setIndice(nuevo);
+            elegirDestinoAleatorio(nuevo, azarAlta);
+            if (enemigosDetenidos) {
+                almacen.estado[nuevo] |= AlmacenEnemigos.DETENIDO;
+            }
         }
 
-        // Mover a enemigos activos
-        enemigos.forEach(enemigo -> {
-            if (enemigo.isActivo()) {
-                enemigo.moverHacia(objetivoX, objetivoY, colisiones, desplazamientoX, desplazamientoY);
+        reconstruirRejilla();
+    }
+
+    /** Crea las celdas, regiones y campo de flujo del mapa (solo la primera vez o si cambia). */
+    private void prepararMapa(MapaColisiones colisiones) {
+        if (celdas != null && celdas.getMapa() == colisiones) return;
+
+        celdas = new RejillaTransitable(colisiones);
+        regiones = new RegionesTransitables(celdas);
+        campoFlujo = new CampoFlujo(celdas);
+        validarPuntosRespawn(colisiones);
+    }
+
+    /** Comprueba que cada punto de respawn está libre y en la zona principal del mapa (la más
+     *  grande); si no, lo mueve al centro de la celda más cercana que sí lo esté. */
+    private void validarPuntosRespawn(MapaColisiones colisiones) {
+        int principal = regiones.getRegionPrincipal();
+        if (principal < 0) return;
+
+        for (int[] punto : puntosRespawn) {
+            if (!colisiones.hayColision(punto[0], punto[1]) && regiones.regionEn(punto[0], punto[1]) == principal) {
+                continue;
             }
-        });
+            int celda = regiones.celdaCercana(punto[0], punto[1], principal);
+            int x = (int) celdas.centroX(celda);
+            int y = (int) celdas.centroY(celda);
+            System.err.println("❌ Punto de respawn (" + punto[0] + ", " + punto[1] + ") no transitable o aislado; se usa (" + x + ", " + y + ")");
+            punto[0] = x;
+            punto[1] = y;
+        }
+    }
+
+    /** Vuelve a meter a los enemigos en la rejilla con sus posiciones de este tick. */
+    private void reconstruirRejilla() {
+        // Se guarda el handle: sigue valiendo aunque después se borre algún enemigo del almacén
+        rejilla.limpiar();
+        for (int i = 0; i < almacen.getNum(); i++) {
+            rejilla.insertar(almacen.handle(i), almacen.x[i], almacen.y[i]);
+        }
+    }
 
-        // Eliminar enemigos inactivos de forma segura y reproducir sonido de muerte
-        enemigos.removeIf(enemigo -> {
-            if (!enemigo.isActivo()) {
+    /** Quita a los enemigos inactivos con swap-remove (el orden de los demás puede cambiar). */
+    private void eliminarInactivos(boolean conSonido) {
+        int i = 0;
+        while (i < almacen.getNum()) {
+            if (almacen.isActivo(i)) {
+                i++;
+                continue;
+            }
+            if (conSonido) {
                 reproducirSonidoMuerte(); // Reproducir sonido cuando un enemigo se elimina
-                return true;
             }
-            return false;
-        });
+            almacen.eliminar(i);
+        }
+    }
 
-        // Generar nuevos enemigos si el total está por debajo del máximo permitido
-        while (enemigos.size() < MAX_ENEMIGOS) {
-            int[] respawn = puntosRespawn[random.nextInt(puntosRespawn.length)];
-            enemigos.add(new Enemigo(gestorSonidos, respawn[0], respawn[1]));
+    private void aplicarPausa() {
+        boolean pausar = pausado;
+        if (pausar == enemigosDetenidos) return;
+
+        byte[] estado = almacen.estado;
+        for (int i = 0; i < almacen.getNum(); i++) {
+            if (pausar) {
+                estado[i] |= AlmacenEnemigos.DETENIDO;
+            } else {
+                estado[i] &= ~AlmacenEnemigos.DETENIDO;
+            }
+        }
+        enemigosDetenidos = pausar;
+    }
+
+    /**
+     * Detiene (o reanuda) a todos los enemigos. Se puede llamar desde cualquier hilo:
+     * solo marca la petición y el siguiente tick la aplica.
+     */
+    public void setPausado(boolean pausado) {
+        this.pausado = pausado;
+    }
+
+    /**
+     * Publica el estado de este tick para los lectores de otros hilos. Se llama una vez por tick,
+     * cuando ya se han aplicado todos los cambios (movimiento, balas y contacto con el jugador).
+     */
+    public void publicarInstantanea() {
+        instantaneas.paraEscribir().copiar(almacen);
+        instantaneas.publicar();
+    }
+
+    /**
+     * Devuelve la última instantánea publicada, marcada como en uso hasta que se llame a
+     * {@link InstantaneaEnemigos#soltar()}. Se puede llamar desde cualquier hilo.
+     */
+    public InstantaneaEnemigos tomarInstantanea() {
+        return instantaneas.tomar();
+    }
+
+    // =========================================================================
+    // MOVIMIENTO EN TROZOS
+    // =========================================================================
+
+    /**
+     * Mueve a todos los enemigos. Se reparten en trozos de {@link #TAM_TROZO}; si hay más de uno
+     * y más de un hilo, los trozos se mueven en paralelo en el {@link ForkJoinPool}. Durante el
+     * movimiento solo se leen datos compartidos (mapa, campo de flujo, regiones) y cada enemigo usa
+     * su propio azar, así que el resultado no depende del reparto. Los eventos se aplican después,
+     * en el hilo del bucle y en orden de enemigo.
+     */
+    private void moverEnemigos(double jugadorX, double jugadorY, MapaColisiones colisiones) {
+        contadorTicks++;
+        int num = almacen.getNum();
+        int numTrozos = Math.max(1, (num + TAM_TROZO - 1) / TAM_TROZO);
+        if (trozos.length < numTrozos) {
+            int anteriores = trozos.length;
+            trozos = Arrays.copyOf(trozos, numTrozos);
+            for (int t = anteriores; t < numTrozos; t++) {
+                trozos[t] = new TrozoEnemigos(almacen);
+            }
+        }
+        for (int t = 0; t < numTrozos; t++) {
+            trozos[t].preparar(t * TAM_TROZO, Math.min(num, (t + 1) * TAM_TROZO));
+        }
+
+        if (numTrozos > 1 && HILOS > 1) {
+            getPool().invoke(new MoverTrozos(0, numTrozos, jugadorX, jugadorY, colisiones));
+        } else {
+            for (int t = 0; t < numTrozos; t++) {
+                moverTrozo(trozos[t], jugadorX, jugadorY, colisiones);
+            }
+        }
+
+        // Eventos de todos los trozos, en orden (al moverse no hay golpes: no hace falta el personaje)
+        for (int t = 0; t < numTrozos; t++) {
+            aplicarEventos(trozos[t].eventos, null);
+        }
+    }
+
+    /** Aplica los eventos anotados, en orden, desde el hilo del bucle. */
+    private void aplicarEventos(BuferEventos eventos, Personaje personaje) {
+        for (int e = 0; e < eventos.getNumEventos(); e++) {
+            switch (eventos.getTipo(e)) {
+                case BuferEventos.GRITO -> emitirGrito();
+                case BuferEventos.GOLPE -> causarDanio(personaje);
+                default -> { }
+            }
+        }
+    }
+
+    private void moverTrozo(TrozoEnemigos trozo, double jugadorX, double jugadorY, MapaColisiones colisiones) {
+        for (int i = trozo.desde; i < trozo.hasta; i++) {
+            trozo.azar.setIndice(i);
+            moverEnemigo(i, jugadorX, jugadorY, colisiones, trozo);
+        }
+    }
+
+    /** Divide los trozos [desde, hasta) en dos mitades hasta quedarse con uno (fork/join). */
+    private final class MoverTrozos extends RecursiveAction {
+        private final int desde, hasta;
+        private final double jugadorX, jugadorY;
+        private final MapaColisiones colisiones;
+
+        MoverTrozos(int desde, int hasta, double jugadorX, double jugadorY, MapaColisiones colisiones) {
+            this.desde = desde;
+            this.hasta = hasta;
+            this.jugadorX = jugadorX;
+            this.jugadorY = jugadorY;
+            this.colisiones = colisiones;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                moverTrozo(trozos[desde], jugadorX, jugadorY, colisiones);
+                return;
+            }
+            int mitad = (desde + hasta) >>> 1;
+            invokeAll(new MoverTrozos(desde, mitad, jugadorX, jugadorY, colisiones),
+                    new MoverTrozos(mitad, hasta, jugadorX, jugadorY, colisiones));
+        }
+    }
+
+    private static synchronized ForkJoinPool getPool() {
+        if (pool == null) {
+            pool = new ForkJoinPool(HILOS);
+        }
+        return pool;
+    }
+
+    // =========================================================================
+    // MOVIMIENTO DE CADA ENEMIGO
+    // =========================================================================
+
+    /** Determina cómo se mueve el enemigo i en este tick.
+     * Si el jugador está cerca, lo persigue. De lo contrario, vaga aleatoriamente.
+     * Fuera de la vista solo se mueve uno de cada PERIODO_MEDIO / PERIODO_LEJOS ticks (repartidos
+     * según su handle), así que el coste por tick depende sobre todo de los enemigos cercanos. */
+    private void moverEnemigo(int i, double jugadorX, double jugadorY, MapaColisiones colisiones, TrozoEnemigos trozo) {
+        AlmacenEnemigos a = almacen;
+        a.xPrevio[i] = a.x[i];
+        a.yPrevio[i] = a.y[i];
+        if ((a.estado[i] & AlmacenEnemigos.ACTIVO) == 0 || (a.estado[i] & AlmacenEnemigos.DETENIDO) != 0) {
+            return; // Si el enemigo está inactivo o detenido, no hace nada
+        }
+
+        double difX = Math.abs(jugadorX - a.x[i]);
+        double difY = Math.abs(jugadorY - a.y[i]);
+        if (difX > ALCANCE_VISTA_X || difY > ALCANCE_VISTA_Y) {
+            // Fuera de la vista no puede estar persiguiendo al jugador
+            a.estado[i] &= ~AlmacenEnemigos.PERSIGUIENDO;
+            boolean lejos = difX > DISTANCIA_LEJOS || difY > DISTANCIA_LEJOS;
+            int periodo = lejos ? PERIODO_LEJOS : PERIODO_MEDIO;
+            if (((contadorTicks + a.handle(i)) & (periodo - 1)) != 0) {
+                return;
+            }
+            if (lejos) {
+                pasearPorCeldas(i, trozo.azar, periodo);
+            } else {
+                moverAleatoriamente(i, colisiones, trozo.azar, periodo);
+            }
+            return;
+        }
+
+        double distanciaJugador = Math.hypot(difX, difY);
+
+        if (distanciaJugador < DISTANCIA_PERSECUCION) {
+            // Persecución: más rápido, y grito al empezar a perseguir
+            perseguir(i, jugadorX, jugadorY, colisiones, trozo.azar);
+            if ((a.estado[i] & AlmacenEnemigos.PERSIGUIENDO) == 0) {
+                trozo.eventos.anotar(BuferEventos.GRITO, a.handle(i));
+            }
+            a.estado[i] |= AlmacenEnemigos.PERSIGUIENDO;
+        } else {
+            moverAleatoriamente(i, colisiones, trozo.azar, 1);
+        }
+    }
+
+    /** Persigue al jugador siguiendo el campo de flujo: va al centro de la siguiente celda del
+     *  camino. En la celda del jugador (o fuera del alcance del campo) va en línea recta. */
+    private void perseguir(int i, double jugadorX, double jugadorY, MapaColisiones colisiones, RandomGenerator azar) {
+        int celda = campoFlujo.celdaSiguiente(almacen.x[i], almacen.y[i]);
+        if (celda < 0) {
+            moverHaciaDestino(i, jugadorX, jugadorY, 4, colisiones, azar);
+        } else {
+            moverHaciaDestino(i, celdas.centroX(celda), celdas.centroY(celda), 4, colisiones, azar);
+        }
+    }
+
+    /** Patrulla errática: cada cierto tiempo (o si se atasca) cambia de destino.
+     *  @param ticks ticks que representa esta actualización (el paso es igual de largo). */
+    private void moverAleatoriamente(int i, MapaColisiones colisiones, RandomGenerator azar, int ticks) {
+        AlmacenEnemigos a = almacen;
+        a.estado[i] &= ~AlmacenEnemigos.PERSIGUIENDO;
+
+        if (a.tiempoCambioDireccion[i] <= 0 || a.intentosMoverse[i] >= 5) {
+            elegirDestinoAleatorio(i, azar);
+            a.tiempoCambioDireccion[i] = 200;
+            a.intentosMoverse[i] = 0;
+        }
+
+        if (!moverHaciaDestino(i, a.objetivoX[i], a.objetivoY[i], ticks, colisiones, azar)) {
+            a.intentosMoverse[i]++;
+        }
+        a.tiempoCambioDireccion[i] -= ticks;
+    }
+
+    /** Patrulla barata para enemigos lejanos: salta al centro de la celda vecina transitable que
+     *  más le acerca a su destino, sin consultar píxeles de colisión. Si ninguna le acerca, cuenta
+     *  como intento fallido (y con varios, cambia de destino).
+     *  @param ticks ticks que representa esta actualización (un salto de celda ≈ TAM_CELDA ticks). */
+    private void pasearPorCeldas(int i, RandomGenerator azar, int ticks) {
+        AlmacenEnemigos a = almacen;
+        if (a.tiempoCambioDireccion[i] <= 0 || a.intentosMoverse[i] >= 5) {
+            elegirDestinoAleatorio(i, azar);
+            a.tiempoCambioDireccion[i] = 200;
+            a.intentosMoverse[i] = 0;
+        }
+        a.tiempoCambioDireccion[i] -= ticks;
+
+        int celda = celdas.celdaEn(a.x[i], a.y[i]);
+        if (celda < 0) {
+            a.intentosMoverse[i]++;
+            return;
+        }
+
+        int mejor = -1;
+        double mejorDistancia = distancia2(celdas.centroX(celda), celdas.centroY(celda), a.objetivoX[i], a.objetivoY[i]);
+        for (int v = 0; v < celdas.getNumVecinas(); v++) {
+            int vecina = celdas.vecina(celda, v);
+            if (vecina < 0) continue;
+            double distancia = distancia2(celdas.centroX(vecina), celdas.centroY(vecina), a.objetivoX[i], a.objetivoY[i]);
+            if (distancia < mejorDistancia) {
+                mejorDistancia = distancia;
+                mejor = vecina;
+            }
+        }
+        if (mejor < 0) {
+            a.intentosMoverse[i]++;
+            return;
+        }
+
+        a.angulo[i] = Math.atan2(celdas.centroY(mejor) - a.y[i], celdas.centroX(mejor) - a.x[i]);
+        a.x[i] = celdas.centroX(mejor);
+        a.y[i] = celdas.centroY(mejor);
+    }
+
+    private static double distancia2(double x0, double y0, double x1, double y1) {
+        return (x1 - x0) * (x1 - x0) + (y1 - y0) * (y1 - y0);
+    }
+
+    /** Elige como destino del paseo un punto transitable al azar de la misma zona conectada en
+     *  la que está el enemigo i, así que siempre hay camino hasta él. */
+    private void elegirDestinoAleatorio(int i, RandomGenerator azar) {
+        AlmacenEnemigos a = almacen;
+        int region = regiones.regionEn(a.x[i], a.y[i]);
+        if (region < 0) {
+            // Sin zona conocida (fuera del mapa o rodeado de paredes): cualquier punto del mapa
+            a.objetivoX[i] = azar.nextInt(celdas.getMapa().getAncho());
+            a.objetivoY[i] = azar.nextInt(celdas.getMapa().getAlto());
+            return;
+        }
+
+        int celda = regiones.celdaAleatoria(region, azar);
+        a.objetivoX[i] = celdas.getXCelda(celda) + azar.nextDouble() * RejillaTransitable.TAM_CELDA;
+        a.objetivoY[i] = celdas.getYCelda(celda) + azar.nextDouble() * RejillaTransitable.TAM_CELDA;
+    }
+
+    /** Intenta mover al enemigo i hacia un destino teniendo en cuenta colisiones.
+     * @return true si logró moverse, false si tuvo colisión y no pudo avanzar. */
+    private boolean moverHaciaDestino(int i, double destinoX, double destinoY, double velocidad,
+                                      MapaColisiones colisiones, RandomGenerator azar) {
+        AlmacenEnemigos a = almacen;
+        double deltaX = destinoX - a.x[i];
+        double deltaY = destinoY - a.y[i];
+        double distancia = Math.hypot(deltaX, deltaY);
+
+        // Si ya llegó al destino (cerca)
+        if (distancia < 2) {
+            return true;
+        }
+
+        // Vector de movimiento normalizado y ángulo hacia el que mira (sin pasarse del destino)
+        double factor = Math.min(velocidad, distancia) / distancia;
+        double nuevoX = a.x[i] + deltaX * factor;
+        double nuevoY = a.y[i] + deltaY * factor;
+        a.angulo[i] = Math.atan2(deltaY, deltaX);
+
+        if (!colisiones.hayColision((int) nuevoX, (int) nuevoY)) {
+            a.x[i] = nuevoX;
+            a.y[i] = nuevoY;
+            return true;
+        }
+
+        // Si colisiona, probar un ajuste mínimo aleatorio (para "esquivar")
+        nuevoX = a.x[i] + (azar.nextInt(3) - 1) * velocidad;
+        nuevoY = a.y[i] + (azar.nextInt(3) - 1) * velocidad;
+
+        if (!colisiones.hayColision((int) nuevoX, (int) nuevoY)) {
+            a.x[i] = nuevoX;
+            a.y[i] = nuevoY;
+            return true;
         }
+        return false;
     }
 
+    private void emitirGrito() {
+        // Asegurarnos de que no hay múltiples gritos a la vez (intervalo mínimo de 3 segundos).
+        // Se cuenta en ticks, no con el reloj: así el azar que se consume no depende de la velocidad del bucle
+        if (contadorTicks - tickUltimoGrito > TICKS_ENTRE_GRITOS) {
+            String sonidoAlerta = random.nextBoolean() ? "/audio/NoirAlertA.wav" : "/audio/NoirAlertB.wav";
+            gestorSonidos.reproducirEfecto(sonidoAlerta);
+            tickUltimoGrito = contadorTicks;
+        }
+    }
 
+    // =========================================================================
+    // BALAS Y CONTACTO CON EL JUGADOR
+    // =========================================================================
 
     /**
      * Verifica las colisiones entre los enemigos y las balas.
+     * Cada bala solo se compara con los enemigos de las celdas cercanas de la rejilla.
      *
      * @param gestorBalas Gestor de balas.
      */
     public void verificarColisiones(GestorBalas gestorBalas) {
-        enemigos.forEach(enemigo -> {
-            gestorBalas.getBalas().forEach(bala -> {
-                if (enemigo.colisionaCon(bala.getX(), bala.getY())) {
-                    enemigo.recibirDano();
-                    bala.desactivar();
-                }
-            });
-        });
+        // Radio que cubre el cuadrado del enemigo (la prueba exacta es la del cuadrado)
+        double radio = AlmacenEnemigos.TAMANO * 0.75;
+        double mitad = AlmacenEnemigos.TAMANO / 2.0;
+        AlmacenBalas balas = gestorBalas.getAlmacen();
+        AlmacenEnemigos a = almacen;
 
-        // Eliminar enemigos inactivos de forma segura y reproducir sonido de muerte
-        enemigos.removeIf(enemigo -> {
-            if (!enemigo.isActivo()) {
-                reproducirSonidoMuerte(); // Reproducir sonido cuando un enemigo se elimina
-                return true;
+        for (int b = 0; b < balas.getNum(); b++) {
+            double bx = balas.x[b], by = balas.y[b];
+            int candidatos = rejilla.consultar(bx, by, radio, false);
+            for (int k = 0; k < candidatos; k++) {
+                int i = a.indice(rejilla.getResultado(k));
+                if (i < 0) continue;
+                if (bx >= a.x[i] - mitad && bx <= a.x[i] + mitad && by >= a.y[i] - mitad && by <= a.y[i] + mitad) {
+                    recibirDano(i);
+                    balas.activa[b] = false;
+                }
             }
-            return false;
-        });
+        }
+
+        // Eliminar enemigos inactivos y reproducir sonido de muerte
+        eliminarInactivos(true);
     }
 
+    /** Reduce en 1 la vida del enemigo i. Si llega a 0, pasa a inactivo (muerto). */
+    private void recibirDano(int i) {
+        if (!almacen.isActivo(i)) return;
+
+        almacen.vida[i]--;
+        if (almacen.vida[i] <= 0) {
+            almacen.estado[i] &= ~(AlmacenEnemigos.ACTIVO | AlmacenEnemigos.CAUSANDO_DANIO);
+        }
+    }
 
     /**
-     * Dibuja a todos los enemigos activos en el contexto gráfico.
+     * Comprueba el contacto de los enemigos con el jugador y aplica el daño de este tick.
+     * <p>
+     * - Solo los enemigos cercanos (según la rejilla) pueden empezar un contacto; los que ya lo
+     *   tenían se vuelven a comprobar por si se han alejado.
+     * - Cada enemigo en contacto golpea al empezar el contacto y después cada
+     *   {@link #TICKS_ENTRE_GOLPES} ticks, con un contador propio que avanza con el tick.
+     * - Los golpes se anotan como eventos y se aplican al final en una sola pasada, en orden de
+     *   enemigo y en el hilo del bucle: nada más toca la vida del personaje.
      *
-     * @param g               Contexto gráfico.
-     * @param desplazamientoX Desplazamiento actual en el eje X del mapa.
-     * @param desplazamientoY Desplazamiento actual en el eje Y del mapa.
+     * @param personaje Personaje del jugador.
      */
-    public void dibujar(Graphics g, int desplazamientoX, int desplazamientoY) {
-            for (Enemigo enemigo : enemigos) {
-                enemigo.dibujar(g, desplazamientoX, desplazamientoY);
+    public void verificarContactoJugador(Personaje personaje) {
+        AlmacenEnemigos a = almacen;
+        byte[] estado = a.estado;
+
+        // Enemigos a distancia de contacto (con un píxel de margen por el redondeo de posiciones)
+        int cercanos = rejilla.consultar(personaje.getX(), personaje.getY(), AlmacenEnemigos.TAMANO + 2, false);
+        for (int k = 0; k < cercanos; k++) {
+            int i = a.indice(rejilla.getResultado(k));
+            if (i >= 0 && a.isActivo(i) && (estado[i] & AlmacenEnemigos.CAUSANDO_DANIO) == 0 && enContacto(i, personaje)) {
+                estado[i] |= AlmacenEnemigos.CAUSANDO_DANIO;
+                a.enfriamientoDanio[i] = 0; // Golpe inmediato al entrar en contacto
+            }
+        }
+
+        // Enfriamiento y golpes de los que están en contacto
+        eventosCombate.vaciar();
+        for (int i = 0; i < a.getNum(); i++) {
+            if ((estado[i] & AlmacenEnemigos.CAUSANDO_DANIO) == 0) continue;
+
+            if (!a.isActivo(i) || !enContacto(i, personaje)) {
+                estado[i] &= ~AlmacenEnemigos.CAUSANDO_DANIO;
+                continue;
+            }
+            if (a.enfriamientoDanio[i] <= 0) {
+                eventosCombate.anotar(BuferEventos.GOLPE, a.handle(i));
+                a.enfriamientoDanio[i] = TICKS_ENTRE_GOLPES;
+            }
+            a.enfriamientoDanio[i]--;
+        }
+        aplicarEventos(eventosCombate, personaje);
+
+        eliminarInactivos(false);
+    }
+
+    // true si el enemigo i toca al personaje
+    private boolean enContacto(int i, Personaje personaje) {
+        // Distancia al cuadrado entre enemigo y personaje (sin raíz: se compara con tamano²)
+        int difX = (int) almacen.x[i] - personaje.getX();
+        int difY = (int) almacen.y[i] - personaje.getY();
+        int contacto = AlmacenEnemigos.TAMANO + 1;
+        return difX * difX + difY * difY < contacto * contacto;
+    }
+
+    // Causa daño al personaje
+    private void causarDanio(Personaje personaje) {
+        personaje.setVida(personaje.getVida() - 1); // Reduce la vida del personaje
+        System.out.println("El personaje ha recibido daño. Vida restante: " + personaje.getVida());
+
+        // 🔹 Seleccionar aleatoriamente un sonido de apuñalamiento
+        gestorSonidos.reproducirEfecto(SONIDOS_CUCHILLO[random.nextInt(SONIDOS_CUCHILLO.length)]);
+
+        // 🔹 Si la vida es mayor a 0, reproducimos un grito de dolor
+        if (personaje.getVida() > 0) {
+            gestorSonidos.reproducirEfecto(SONIDOS_HERIDA[random.nextInt(SONIDOS_HERIDA.length)]);
         }
     }
 
     /**
-     * Devuelve si todos los enemigos están eliminados.
+     * Consulta los enemigos activos a una distancia ≤ radio de un punto (por ejemplo,
+     * enemigo contra enemigo). Usa la rejilla del último tick.
      *
-     * @return Verdadero si no queda ningún enemigo activo.
+     * @param handles array donde se escriben los handles encontrados.
+     * @return número de enemigos encontrados (como mucho handles.length).
      */
-    public boolean enemigosEliminados() {
-            return enemigos.stream().noneMatch(Enemigo::isActivo);
+    public int buscarCercanos(double x, double y, double radio, int[] handles) {
+        int n = rejilla.consultar(x, y, radio, true);
+        int encontrados = 0;
+        for (int k = 0; k < n && encontrados < handles.length; k++) {
+            int i = almacen.indice(rejilla.getResultado(k));
+            if (i >= 0 && almacen.isActivo(i)) {
+                handles[encontrados++] = rejilla.getResultado(k);
+            }
+        }
+        return encontrados;
     }
 
+    /** @return almacén con los datos de los enemigos (solo para el hilo de la lógica). */
+    public AlmacenEnemigos getAlmacen() {
+        return almacen;
+    }
 
     /**
-     * Devuelve una copia de la lista de enemigos activos.
+     * Devuelve si todos los enemigos están eliminados.
      *
-     * @return Lista de enemigos activos.
+     * @return Verdadero si no queda ningún enemigo activo.
      */
-    public static CopyOnWriteArrayList<Enemigo> getEnemigos() {
-        return enemigos;
+    public boolean enemigosEliminados() {
+        for (int i = 0; i < almacen.getNum(); i++) {
+            if (almacen.isActivo(i)) return false;
+        }
+        return true;
     }
 
     // ------ Metodo para reproducir un sonido de muerte aleatorio ------
     private void reproducirSonidoMuerte() {
         // Selección aleatoria entre 5 opciones (4 sonidos + silencio)
-        int opcion = new Random().nextInt(5);
+        int opcion = random.nextInt(5);
         String sonidoMuerte = switch (opcion) {
             case 0 -> "/audio/NoirDeathA.wav";
             case 1 -> "/audio/NoirDeathB.wav";
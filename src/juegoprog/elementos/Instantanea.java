@@ -0,0 +1,27 @@
+package juegoprog.elementos;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base de las copias de solo lectura que el hilo de la lógica publica para otros hilos
+ * (ver {@link DobleBufer}). Solo lleva la cuenta de los lectores que la están usando.
+ */
+public abstract class Instantanea {
+
+    // Lectores que la están usando ahora mismo
+    private final AtomicInteger lectores = new AtomicInteger();
+
+    /** Marca la instantánea como en uso (quien la adquiere tiene que comprobar después que sigue publicada). */
+    final void adquirir() {
+        lectores.incrementAndGet();
+    }
+
+    final boolean enLectura() {
+        return lectores.get() > 0;
+    }
+
+    /** Devuelve la instantánea: a partir de aquí el hilo de la lógica puede volver a escribirla. */
+    public final void soltar() {
+        lectores.decrementAndGet();
+    }
+}
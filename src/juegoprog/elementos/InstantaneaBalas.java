@@ -0,0 +1,48 @@
+package juegoprog.elementos;
+
+/**
+ * Posiciones de las balas al final de un tick, para dibujarlas desde otro hilo sin bloquear
+ * al bucle (ver {@link DobleBufer}). La escribe {@link GestorBalas}; los lectores la piden con
+ * {@link GestorBalas#tomarInstantanea()} y la devuelven con {@link #soltar()}.
+ */
+public final class InstantaneaBalas extends Instantanea {
+
+    int numBalas = 0;
+    final double[] xPrevio, yPrevio, x, y;
+
+    InstantaneaBalas(int capacidad) {
+        xPrevio = new double[capacidad];
+        yPrevio = new double[capacidad];
+        x = new double[capacidad];
+        y = new double[capacidad];
+    }
+
+    /** Copia las balas activas del almacén (su capacidad no crece: es la del pool). */
+    void copiar(AlmacenBalas balas) {
+        int i = 0;
+        for (int k = 0; k < balas.getNum(); k++) {
+            if (!balas.activa[k]) continue;
+            xPrevio[i] = balas.xPrevio[k];
+            yPrevio[i] = balas.yPrevio[k];
+            x[i] = balas.x[k];
+            y[i] = balas.y[k];
+            i++;
+        }
+        numBalas = i;
+    }
+
+    /** @return número de balas activas en la instantánea. */
+    public int getNumBalas() {
+        return numBalas;
+    }
+
+    /** Posición X interpolada entre el inicio y el final del tick (alpha en [0, 1]). */
+    public double getXInterpolada(int i, double alpha) {
+        return xPrevio[i] + (x[i] - xPrevio[i]) * alpha;
+    }
+
+    /** Posición Y interpolada entre el inicio y el final del tick (alpha en [0, 1]). */
+    public double getYInterpolada(int i, double alpha) {
+        return yPrevio[i] + (y[i] - yPrevio[i]) * alpha;
+    }
+}
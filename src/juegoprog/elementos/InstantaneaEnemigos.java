@@ -0,0 +1,95 @@
+package juegoprog.elementos;
+
+/**
+ * Copia de solo lectura del estado de los enemigos al final de un tick.
+ * <p>
+ * - La escribe {@link GestorEnemigos} desde el hilo de la lógica y la publica una vez por tick.
+ * - Los lectores de otros hilos (render, minimapa) la piden con {@link GestorEnemigos#tomarInstantanea()}
+ *   y la devuelven con {@link #soltar()}. Mientras la tienen, nadie la sobrescribe ({@link DobleBufer}).
+ */
+public final class InstantaneaEnemigos extends Instantanea {
+
+    // =========================================================================
+    // 1. DATOS
+    // =========================================================================
+
+    private int numEnemigos = 0;
+    private double[] xPrevio, yPrevio;   // Posición al inicio del tick (para interpolar)
+    private double[] x, y;               // Posición al final del tick
+    private double[] angulo;
+    private int[] vida;
+
+    InstantaneaEnemigos(int capacidad) {
+        reservar(Math.max(1, capacidad));
+    }
+
+    private void reservar(int capacidad) {
+        xPrevio = new double[capacidad];
+        yPrevio = new double[capacidad];
+        x = new double[capacidad];
+        y = new double[capacidad];
+        angulo = new double[capacidad];
+        vida = new int[capacidad];
+    }
+
+    // =========================================================================
+    // 2. ESCRITURA (solo desde GestorEnemigos, con la instantánea sin publicar)
+    // =========================================================================
+
+    /** Copia los enemigos activos del almacén. */
+    void copiar(AlmacenEnemigos almacen) {
+        int n = almacen.getNum();
+        if (x.length < n) {
+            reservar(Math.max(n, x.length * 2));
+        }
+
+        int i = 0;
+        for (int k = 0; k < n; k++) {
+            if ((almacen.estado[k] & AlmacenEnemigos.ACTIVO) == 0) continue;
+
+            xPrevio[i] = almacen.xPrevio[k];
+            yPrevio[i] = almacen.yPrevio[k];
+            x[i] = almacen.x[k];
+            y[i] = almacen.y[k];
+            angulo[i] = almacen.angulo[k];
+            vida[i] = almacen.vida[k];
+            i++;
+        }
+        numEnemigos = i;
+    }
+
+    // =========================================================================
+    // 3. LECTURA
+    // =========================================================================
+
+    /** @return número de enemigos activos en la instantánea. */
+    public int getNumEnemigos() {
+        return numEnemigos;
+    }
+
+    public double getX(int i) {
+        return x[i];
+    }
+
+    public double getY(int i) {
+        return y[i];
+    }
+
+    /** Posición X interpolada entre el inicio y el final del tick (alpha en [0, 1]). */
+    public double getXInterpolada(int i, double alpha) {
+        return xPrevio[i] + (x[i] - xPrevio[i]) * alpha;
+    }
+
+    /** Posición Y interpolada entre el inicio y el final del tick (alpha en [0, 1]). */
+    public double getYInterpolada(int i, double alpha) {
+        return yPrevio[i] + (y[i] - yPrevio[i]) * alpha;
+    }
+
+    public double getAngulo(int i) {
+        return angulo[i];
+    }
+
+    public int getVida(int i) {
+        return vida[i];
+    }
+}
@@ -0,0 +1,172 @@
+package juegoprog.elementos;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Zonas conectadas de la {@link RejillaTransitable}: dos celdas están en la misma región si se
+ * puede ir de una a otra andando por celdas transitables.
+ * <p>
+ * - Se calcula una vez (relleno por inundación) al crear el objeto.
+ * - Las celdas de cada región quedan seguidas en un solo array, así que elegir un punto al azar
+ *   de una región, con la misma probabilidad en toda su superficie, es O(1).
+ * - Sirve para que los destinos aleatorios de los enemigos sean alcanzables y para comprobar que
+ *   los puntos de aparición no caen dentro de una pared o en un hueco aislado.
+ * - No cambia después de crearse; se puede leer desde cualquier hilo.
+ */
+public final class RegionesTransitables {
+
+    // =========================================================================
+    // 1. DATOS
+    // =========================================================================
+
+    private final RejillaTransitable rejilla;
+
+    private final int[] regionDe;        // Región de cada celda (-1 = no transitable)
+    private final int[] celdas;          // Celdas transitables agrupadas por región
+    private final int[] inicio;          // Las celdas de la región r están en [inicio[r], inicio[r + 1])
+    private final int numRegiones;
+    private final int regionPrincipal;   // La región con más celdas
+
+    /**
+     * @param rejilla Celdas transitables del mapa.
+     */
+    public RegionesTransitables(RejillaTransitable rejilla) {
+        this.rejilla = rejilla;
+        int numCeldas = rejilla.getNumCeldas();
+        this.regionDe = new int[numCeldas];
+        Arrays.fill(regionDe, -1);
+
+        // Etiquetar cada zona conectada; 'cola' acaba con todas las celdas agrupadas por región
+        int[] cola = new int[numCeldas];
+        int[] inicios = new int[16];
+        int total = 0;
+        int regiones = 0;
+        for (int celda = 0; celda < numCeldas; celda++) {
+            if (!rejilla.isTransitable(celda) || regionDe[celda] >= 0) continue;
+
+            if (regiones + 1 >= inicios.length) {
+                inicios = Arrays.copyOf(inicios, inicios.length * 2);
+            }
+            inicios[regiones] = total;
+            regionDe[celda] = regiones;
+            cola[total++] = celda;
+            for (int k = inicios[regiones]; k < total; k++) {
+                // Con no cortar esquinas, las diagonales no unen nada que no unan las rectas
+                for (int v = 0; v < 4; v++) {
+                    int vecina = rejilla.vecina(cola[k], v);
+                    if (vecina >= 0 && regionDe[vecina] < 0) {
+                        regionDe[vecina] = regiones;
+                        cola[total++] = vecina;
+                    }
+                }
+            }
+            regiones++;
+        }
+        inicios[regiones] = total;
+
+        this.celdas = Arrays.copyOf(cola, total);
+        this.inicio = Arrays.copyOf(inicios, regiones + 1);
+        this.numRegiones = regiones;
+
+        // Tamaños desde el array local (sin llamar a métodos del objeto a medio construir)
+        int mayor = -1;
+        for (int r = 0; r < regiones; r++) {
+            if (mayor < 0 || inicios[r + 1] - inicios[r] > inicios[mayor + 1] - inicios[mayor]) {
+                mayor = r;
+            }
+        }
+        this.regionPrincipal = mayor;
+    }
+
+    // =========================================================================
+    // 2. CONSULTA
+    // =========================================================================
+
+    /**
+     * Región en la que está el punto. Si su celda no es transitable (por ejemplo, alguien pegado
+     * a una pared), se usa la de una celda vecina a la que pueda pasar.
+     *
+     * @return índice de la región, o -1 si no hay ninguna alrededor.
+     */
+    public int regionEn(double x, double y) {
+        int celda = rejilla.celdaEn(x, y);
+        if (celda < 0) return -1;
+        if (regionDe[celda] >= 0) return regionDe[celda];
+
+        for (int v = 0; v < rejilla.getNumVecinas(); v++) {
+            int vecina = rejilla.vecina(celda, v);
+            if (vecina >= 0) return regionDe[vecina];
+        }
+        return -1;
+    }
+
+    /** @return región de la celda (-1 si no es transitable). */
+    public int regionDeCelda(int celda) {
+        return regionDe[celda];
+    }
+
+    /**
+     * Elige una celda al azar de la región, todas con la misma probabilidad.
+     * Cualquier punto de su interior es transitable (ver {@link RejillaTransitable}).
+     */
+    public int celdaAleatoria(int region, RandomGenerator random) {
+        return celdas[inicio[region] + random.nextInt(getNumCeldas(region))];
+    }
+
+    /**
+     * Celda de la región más cercana (en línea recta) al punto. Recorre anillos de celdas cada
+     * vez más grandes, así que solo es para usos puntuales, como comprobar un punto al cargar.
+     *
+     * @return índice de la celda, o -1 si la región no existe.
+     */
+    public int celdaCercana(double x, double y, int region) {
+        if (region < 0 || region >= numRegiones) return -1;
+
+        int columnas = rejilla.getColumnas();
+        int filas = rejilla.getFilas();
+        int columna = Math.max(0, Math.min(columnas - 1, (int) x / RejillaTransitable.TAM_CELDA));
+        int fila = Math.max(0, Math.min(filas - 1, (int) y / RejillaTransitable.TAM_CELDA));
+
+        int mejor = -1;
+        double mejorDistancia = Double.MAX_VALUE;
+        for (int anillo = 0; anillo < Math.max(columnas, filas); anillo++) {
+            // Las celdas de un anillo más externo ya no pueden estar más cerca que la encontrada
+            if (mejor >= 0 && (anillo - 1) * RejillaTransitable.TAM_CELDA > Math.sqrt(mejorDistancia)) break;
+
+            for (int cy = fila - anillo; cy <= fila + anillo; cy++) {
+                if (cy < 0 || cy >= filas) continue;
+                boolean borde = cy == fila - anillo || cy == fila + anillo;
+                for (int cx = columna - anillo; cx <= columna + anillo; cx += borde ? 1 : 2 * anillo) {
+                    if (cx >= 0 && cx < columnas && regionDe[cy * columnas + cx] == region) {
+                        int celda = cy * columnas + cx;
+                        double distancia = Math.pow(rejilla.centroX(celda) - x, 2) + Math.pow(rejilla.centroY(celda) - y, 2);
+                        if (distancia < mejorDistancia) {
+                            mejorDistancia = distancia;
+                            mejor = celda;
+                        }
+                    }
+                    if (anillo == 0) break;
+                }
+            }
+        }
+        return mejor;
+    }
+
+    public int getNumCeldas(int region) {
+        return inicio[region + 1] - inicio[region];
+    }
+
+    public int getNumRegiones() {
+        return numRegiones;
+    }
+
+    /** @return la región más grande (-1 si no hay celdas transitables). */
+    public int getRegionPrincipal() {
+        return regionPrincipal;
+    }
+
+    public RejillaTransitable getRejilla() {
+        return rejilla;
+    }
+}
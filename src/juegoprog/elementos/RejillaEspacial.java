@@ -0,0 +1,166 @@
+package juegoprog.elementos;
+
+import java.util.Arrays;
+
+/**
+ * Rejilla uniforme para encontrar rápido qué entidades están cerca de un punto.
+ * <p>
+ * - El mapa se divide en celdas cuadradas. En cada tick se vacía y se insertan las entidades
+ *   (id + posición). Cada celda es una lista enlazada guardada en arrays, así que insertar es O(1)
+ *   y vaciar solo toca las celdas usadas: el coste por tick es O(n), sin depender del tamaño del mapa.
+ * - Una consulta solo mira las celdas que toca el círculo pedido, así que comprobar todas las balas
+ *   contra todos los enemigos cuesta más o menos O(balas + enemigos) en lugar de O(balas × enemigos).
+ * - La consulta devuelve candidatos: el llamador hace la prueba exacta (distancia o caja).
+ * - No crea objetos por tick; los arrays solo crecen si hay más entidades que nunca.
+ * - No es segura entre hilos: se construye y se consulta desde el hilo del bucle.
+ */
+public class RejillaEspacial {
+
+    // =========================================================================
+    // 1. CONFIGURACIÓN Y DATOS
+    // =========================================================================
+
+    private final int tamCelda;
+    private final int columnas;
+    private final int filas;
+
+    // Entidades insertadas en este tick (en orden de inserción)
+    private int numEntidades = 0;
+    private int[] ids;
+    private double[] xs, ys;
+    private int[] celdaDe;
+    private int[] siguiente;         // Siguiente entidad de la misma celda (-1 = fin)
+
+    // Primera entidad de cada celda (-1 = celda vacía)
+    private final int[] cabeza;
+
+    // Candidatos de la última consulta
+    private int[] resultados;
+    private int numResultados = 0;
+
+    /**
+     * @param anchoMundo Ancho del mapa en píxeles.
+     * @param altoMundo  Alto del mapa en píxeles.
+     * @param tamCelda   Lado de cada celda (del orden del tamaño de las entidades).
+     * @param capacidad  Número de entidades esperado (los arrays crecen si hace falta).
+     */
+    public RejillaEspacial(int anchoMundo, int altoMundo, int tamCelda, int capacidad) {
+        this.tamCelda = tamCelda;
+        this.columnas = Math.max(1, (anchoMundo + tamCelda - 1) / tamCelda);
+        this.filas = Math.max(1, (altoMundo + tamCelda - 1) / tamCelda);
+        this.cabeza = new int[columnas * filas];
+        Arrays.fill(cabeza, -1);
+        reservar(Math.max(1, capacidad));
+    }
+
+    private void reservar(int capacidad) {
+        if (ids == null) {
+            ids = new int[capacidad];
+            xs = new double[capacidad];
+            ys = new double[capacidad];
+            celdaDe = new int[capacidad];
+            siguiente = new int[capacidad];
+        } else {
+            ids = Arrays.copyOf(ids, capacidad);
+            xs = Arrays.copyOf(xs, capacidad);
+            ys = Arrays.copyOf(ys, capacidad);
+            celdaDe = Arrays.copyOf(celdaDe, capacidad);
+            siguiente = Arrays.copyOf(siguiente, capacidad);
+        }
+        resultados = new int[capacidad];
+    }
+
+    // =========================================================================
+    // 2. CONSTRUCCIÓN POR TICK
+    // =========================================================================
+
+    /** Vacía la rejilla para volver a insertar las entidades del tick (solo recorre las celdas usadas). */
+    public void limpiar() {
+        for (int i = 0; i < numEntidades; i++) {
+            cabeza[celdaDe[i]] = -1;
+        }
+        numEntidades = 0;
+        numResultados = 0;
+    }
+
+    /** Añade una entidad. Las posiciones fuera del mapa se asignan a la celda del borde. */
+    public void insertar(int id, double x, double y) {
+        if (numEntidades == ids.length) {
+            reservar(ids.length * 2);
+        }
+        int celda = celda(columna(x), fila(y));
+        ids[numEntidades] = id;
+        xs[numEntidades] = x;
+        ys[numEntidades] = y;
+        celdaDe[numEntidades] = celda;
+
+        // Se enlaza al principio de la lista de su celda
+        siguiente[numEntidades] = cabeza[celda];
+        cabeza[celda] = numEntidades;
+        numEntidades++;
+    }
+
+    // =========================================================================
+    // 3. CONSULTAS
+    // =========================================================================
+
+    /**
+     * Busca las entidades cuyas posiciones caen en las celdas que toca el círculo (x, y, radio).
+     * El resultado se lee con {@link #getNumResultados()} y {@link #getResultado(int)}
+     * y se sobrescribe en la siguiente consulta.
+     *
+     * @param exacto si es true, solo se devuelven las que están a distancia ≤ radio.
+     * @return número de entidades encontradas.
+     */
+    public int consultar(double x, double y, double radio, boolean exacto) {
+        numResultados = 0;
+        int c0 = columna(x - radio), c1 = columna(x + radio);
+        int f0 = fila(y - radio), f1 = fila(y + radio);
+        double radio2 = radio * radio;
+
+        for (int f = f0; f <= f1; f++) {
+            for (int c = c0; c <= c1; c++) {
+                for (int i = cabeza[celda(c, f)]; i != -1; i = siguiente[i]) {
+                    if (exacto) {
+                        double ddx = xs[i] - x;
+                        double ddy = ys[i] - y;
+                        if (ddx * ddx + ddy * ddy > radio2) continue;
+                    }
+                    resultados[numResultados++] = ids[i];
+                }
+            }
+        }
+        return numResultados;
+    }
+
+    public int getNumResultados() {
+        return numResultados;
+    }
+
+    /** @return id de la entidad i-ésima de la última consulta. */
+    public int getResultado(int i) {
+        return resultados[i];
+    }
+
+    public int getNumEntidades() {
+        return numEntidades;
+    }
+
+    // =========================================================================
+    // 4. UTILIDADES
+    // =========================================================================
+
+    private int columna(double x) {
+        int c = (int) Math.floor(x / tamCelda);
+        return c < 0 ? 0 : (c >= columnas ? columnas - 1 : c);
+    }
+
+    private int fila(double y) {
+        int f = (int) Math.floor(y / tamCelda);
+        return f < 0 ? 0 : (f >= filas ? filas - 1 : f);
+    }
+
+    private int celda(int columna, int fila) {
+        return fila * columnas + columna;
+    }
+}
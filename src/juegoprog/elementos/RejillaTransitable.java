@@ -0,0 +1,134 @@
+package juegoprog.elementos;
+
+import juegoprog.escenarios.MapaColisiones;
+
+/**
+ * Rejilla gruesa de celdas transitables sacada del mapa de colisiones.
+ * <p>
+ * - El mapa se divide una vez en celdas de {@link #TAM_CELDA} px. Una celda es transitable si no
+ *   tiene ningún píxel obstáculo, así que cualquier punto de su interior es válido.
+ * - Se mueve de una celda a otra en recto o en diagonal, pero una diagonal solo vale si las dos
+ *   celdas rectas que la rodean también son transitables (no se cortan esquinas).
+ * - La comparten el campo de flujo ({@link CampoFlujo}) y las regiones ({@link RegionesTransitables}).
+ * - No cambia después de crearse; se puede leer desde cualquier hilo.
+ */
+public final class RejillaTransitable {
+
+    // =========================================================================
+    // 1. CONFIGURACIÓN Y DATOS
+    // =========================================================================
+
+    /** Lado de cada celda (px). */
+    public static final int TAM_CELDA = 16;
+
+    // Vecinas: las 4 rectas primero y luego las diagonales
+    private static final int[] VECINA_X = {1, -1, 0, 0, 1, 1, -1, -1};
+    private static final int[] VECINA_Y = {0, 0, 1, -1, 1, -1, 1, -1};
+
+    private final MapaColisiones mapa;
+    private final int columnas;
+    private final int filas;
+    private final boolean[] transitable;
+
+    /**
+     * Construye la rejilla a partir del mapa de colisiones.
+     *
+     * @param mapa Mapa de colisiones (coordenadas globales).
+     */
+    public RejillaTransitable(MapaColisiones mapa) {
+        this.mapa = mapa;
+        this.columnas = Math.max(1, (mapa.getAncho() + TAM_CELDA - 1) / TAM_CELDA);
+        this.filas = Math.max(1, (mapa.getAlto() + TAM_CELDA - 1) / TAM_CELDA);
+        this.transitable = new boolean[columnas * filas];
+
+        for (int fila = 0; fila < filas; fila++) {
+            for (int columna = 0; columna < columnas; columna++) {
+                transitable[fila * columnas + columna] =
+                        !mapa.hayColisionEnRect(columna * TAM_CELDA, fila * TAM_CELDA, TAM_CELDA, TAM_CELDA);
+            }
+        }
+    }
+
+    // =========================================================================
+    // 2. CONSULTA
+    // =========================================================================
+
+    /** @return índice de la celda que contiene (x, y), o -1 si está fuera del mapa. */
+    public int celdaEn(double x, double y) {
+        if (x < 0 || y < 0) return -1;
+        int columna = (int) x / TAM_CELDA;
+        int fila = (int) y / TAM_CELDA;
+        if (columna >= columnas || fila >= filas) return -1;
+        return fila * columnas + columna;
+    }
+
+    /**
+     * Vecina v (0..7) de la celda, si se puede pasar a ella desde la celda.
+     *
+     * @return índice de la vecina, o -1 si está fuera del mapa, no es transitable o es una
+     *         diagonal que corta una esquina.
+     */
+    public int vecina(int celda, int v) {
+        int columna = celda % columnas;
+        int fila = celda / columnas;
+        int cx = columna + VECINA_X[v];
+        int cy = fila + VECINA_Y[v];
+        if (cx < 0 || cx >= columnas || cy < 0 || cy >= filas) return -1;
+
+        int vecina = cy * columnas + cx;
+        if (!transitable[vecina]) return -1;
+        if (v >= 4 && (!transitable[fila * columnas + cx] || !transitable[cy * columnas + columna])) return -1;
+        return vecina;
+    }
+
+    /** @return número de vecinas que prueba {@link #vecina(int, int)}. */
+    public int getNumVecinas() {
+        return VECINA_X.length;
+    }
+
+    /** @return true si la vecina v es diagonal. */
+    public boolean esDiagonal(int v) {
+        return v >= 4;
+    }
+
+    public boolean isTransitable(int celda) {
+        return transitable[celda];
+    }
+
+    /** @return coordenada X de la esquina izquierda de la celda. */
+    public int getXCelda(int celda) {
+        return (celda % columnas) * TAM_CELDA;
+    }
+
+    /** @return coordenada Y de la esquina superior de la celda. */
+    public int getYCelda(int celda) {
+        return (celda / columnas) * TAM_CELDA;
+    }
+
+    /** @return coordenada X del centro de la celda. */
+    public double centroX(int celda) {
+        return getXCelda(celda) + TAM_CELDA / 2.0;
+    }
+
+    /** @return coordenada Y del centro de la celda. */
+    public double centroY(int celda) {
+        return getYCelda(celda) + TAM_CELDA / 2.0;
+    }
+
+    public int getColumnas() {
+        return columnas;
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    public int getNumCeldas() {
+        return transitable.length;
+    }
+
+    /** @return mapa de colisiones del que se sacaron las celdas. */
+    public MapaColisiones getMapa() {
+        return mapa;
+    }
+}
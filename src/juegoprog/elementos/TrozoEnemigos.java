@@ -0,0 +1,27 @@
+package juegoprog.elementos;
+
+/**
+ * Un tramo [desde, hasta) de enemigos que mueve un solo hilo, con sus propios búferes.
+ * <p>
+ * Mientras se mueven los enemigos en paralelo nadie toca sonidos ni estado compartido: lo que
+ * haya que hacer fuera del enemigo (gritos, daño, muertes...) se anota en {@link #eventos}, y el
+ * hilo del bucle aplica los eventos de todos los trozos en orden de trozo. Como cada trozo recorre
+ * sus enemigos en orden, el resultado es el mismo que moviéndolos uno a uno.
+ */
+final class TrozoEnemigos {
+
+    int desde;
+    int hasta;
+    final AzarEnemigo azar;
+    final BuferEventos eventos = new BuferEventos();
+
+    TrozoEnemigos(AlmacenEnemigos almacen) {
+        this.azar = new AzarEnemigo(almacen);
+    }
+
+    void preparar(int desde, int hasta) {
+        this.desde = desde;
+        this.hasta = hasta;
+        eventos.vaciar();
+    }
+}
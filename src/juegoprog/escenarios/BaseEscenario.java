@@ -1,22 +1,18 @@
 package juegoprog.escenarios;
 
-import javax.swing.*;
 import java.awt.*;
 
-public abstract class BaseEscenario extends JPanel { // 🔹 Ahora hereda de JPanel
+public abstract class BaseEscenario { // 🔹 Ya no es un JPanel: lo dibuja el compositor como una capa más
     protected int ancho;
     protected int alto;
 
     public BaseEscenario(int ancho, int alto) {
         this.ancho = ancho;
         this.alto = alto;
-        setLayout(null); // 🔹 Permite posicionar elementos libremente en el panel
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {  // ✅ Metodo correcto para dibujar en JPanel
-        super.paintComponent(g);
-    }
+    /** Dibuja la parte del escenario visible desde la cámara. */
+    public abstract void dibujar(Graphics2D g, int camaraX, int camaraY, int anchoVista, int altoVista);
 
     public int getAncho() {
         return ancho;
@@ -0,0 +1,281 @@
+package juegoprog.escenarios;
+
+import juegoprog.graficos.MosaicoTeselas;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/** Capa de tejados del escenario, guardada de forma dispersa y por edificio.
+ *  - La imagen de tejados es casi toda transparente, así que solo se guardan las teselas con contenido.
+ *  - Cada edificio tiene su propio trozo de tejado y su estado (visible / oculto), y su tejado
+ *    se desvanece solo cuando el jugador entra en ese edificio.
+ *  - El tejado de un edificio son las manchas de píxeles opacos (componentes conexas, vecindad
+ *    de 8) que tocan su interior, con aleros incluidos: se calculan al cargar la imagen.
+ *  - Los tejados que no pertenecen a ningún edificio definido se dibujan siempre. */
+
+public class CapaTejados {
+
+    //---------------------------------------------------
+    //  🔹 CONSTANTES
+    //---------------------------------------------------
+
+    // Cuánto cambia la opacidad de un tejado en cada tick al mostrarse/ocultarse
+    private static final float PASO_FUNDIDO = 0.1f;
+
+    //---------------------------------------------------
+    //  🔹 EDIFICIO
+    //---------------------------------------------------
+
+    /** Un edificio con interior (donde se oculta su tejado) y el trozo de tejado que le corresponde. */
+    private static class Edificio {
+        final Rectangle interior;
+        Rectangle zonaTejado; // Caja de su tejado (se calcula al cargar la imagen)
+        MosaicoTeselas tejado;
+        boolean oculto = false;
+        float opacidad = 1f;
+
+        Edificio(Rectangle interior) {
+            this.interior = interior;
+            this.zonaTejado = new Rectangle(interior);
+        }
+    }
+
+    //---------------------------------------------------
+    //  🔹 ATRIBUTOS PRINCIPALES
+    //---------------------------------------------------
+
+    private final Edificio[] edificios;
+    private MosaicoTeselas resto; // Tejados que no pertenecen a ningún edificio
+
+    //---------------------------------------------------
+    //  🔹 CONSTRUCTOR
+    //---------------------------------------------------
+
+    /** Carga la imagen de tejados y la reparte entre los edificios indicados.
+     *
+     *  @param ruta       Ruta del PNG de tejados.
+     *  @param interiores Interior de cada edificio: si el jugador está dentro, se oculta su tejado. */
+
+    public CapaTejados(String ruta, Rectangle... interiores) {
+        edificios = new Edificio[interiores.length];
+        for (int i = 0; i < interiores.length; i++) {
+            edificios[i] = new Edificio(interiores[i]);
+        }
+        cargarImagen(ruta);
+    }
+
+    /** Trocea la imagen: primero el tejado de cada edificio (sus manchas opacas, que se borran
+     *  de la imagen al asignarlas); lo que queda forma la capa de "resto". Solo se guardan las
+     *  teselas no vacías. */
+
+    private void cargarImagen(String ruta) {
+        try {
+            URL url = getClass().getResource(ruta);
+            if (url == null) {
+                System.err.println("❌ Imagen de tejados no encontrada: " + ruta);
+                return;
+            }
+            BufferedImage imagen = ImageIO.read(url);
+            int ancho = imagen.getWidth();
+            int alto = imagen.getHeight();
+
+            // Un bit por píxel opaco (alfa > 0) y otro por píxel ya asignado a un edificio
+            BitSet opacos = leerOpacos(imagen);
+            BitSet asignados = new BitSet(ancho * alto);
+
+            for (Edificio edificio : edificios) {
+                BitSet tejado = new BitSet(ancho * alto);
+                Rectangle caja = marcarManchas(opacos, asignados, tejado, ancho, alto, edificio.interior);
+                if (caja == null) {
+                    System.err.println("❌ El edificio " + edificio.interior + " no tiene tejado en " + ruta);
+                    edificio.tejado = MosaicoTeselas.desdeTrozo(null, 0, 0, ancho, alto, MosaicoTeselas.TAM_TESELA, true);
+                    continue;
+                }
+                edificio.zonaTejado = caja;
+                edificio.tejado = MosaicoTeselas.desdeTrozo(extraer(imagen, tejado, caja), caja.x, caja.y,
+                        ancho, alto, MosaicoTeselas.TAM_TESELA, true);
+            }
+
+            comprobarInteriores(imagen, ruta);
+            resto = MosaicoTeselas.desdeImagen(imagen, MosaicoTeselas.TAM_TESELA, true);
+        } catch (IOException e) {
+            System.err.println("❌ Error al cargar la imagen de tejados: " + e.getMessage());
+        }
+    }
+
+    /** Bit (y * ancho + x) a 1 para cada píxel con alfa mayor que 0. */
+    private static BitSet leerOpacos(BufferedImage imagen) {
+        int ancho = imagen.getWidth();
+        BitSet opacos = new BitSet(ancho * imagen.getHeight());
+        WritableRaster alfa = imagen.getAlphaRaster();
+        int[] fila = new int[ancho];
+        for (int y = 0; y < imagen.getHeight(); y++) {
+            // El canal alfa directamente (sin convertir cada píxel a ARGB) si la imagen lo tiene
+            if (alfa != null) {
+                alfa.getSamples(0, y, ancho, 1, 0, fila);
+            } else {
+                imagen.getRGB(0, y, ancho, 1, fila, 0, ancho);
+            }
+            for (int x = 0; x < ancho; x++) {
+                if (alfa != null ? fila[x] != 0 : (fila[x] >>> 24) != 0) opacos.set(y * ancho + x);
+            }
+        }
+        return opacos;
+    }
+
+    /** Marca en `tejado` (y en `asignados`) todas las manchas opacas, aún sin dueño, que tienen
+     *  algún píxel dentro del interior: relleno por inundación con pila propia, vecindad de 8.
+     *  @return caja que contiene las manchas, o null si no hay ninguna. */
+    private static Rectangle marcarManchas(BitSet opacos, BitSet asignados, BitSet tejado,
+                                           int ancho, int alto, Rectangle interior) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = -1, maxY = -1;
+        int[] pila = new int[1024];
+
+        int x0 = Math.max(0, interior.x), x1 = Math.min(ancho, interior.x + interior.width);
+        int y0 = Math.max(0, interior.y), y1 = Math.min(alto, interior.y + interior.height);
+        for (int y = y0; y < y1; y++) {
+            for (int x = x0; x < x1; x++) {
+                int semilla = y * ancho + x;
+                if (!opacos.get(semilla) || asignados.get(semilla)) continue;
+
+                int tam = 0;
+                pila[tam++] = semilla;
+                asignados.set(semilla);
+                while (tam > 0) {
+                    int p = pila[--tam];
+                    int px = p % ancho, py = p / ancho;
+                    tejado.set(p);
+                    minX = Math.min(minX, px);
+                    maxX = Math.max(maxX, px);
+                    minY = Math.min(minY, py);
+                    maxY = Math.max(maxY, py);
+
+                    for (int dy = -1; dy <= 1; dy++) {
+                        int ny = py + dy;
+                        if (ny < 0 || ny >= alto) continue;
+                        for (int dx = -1; dx <= 1; dx++) {
+                            int nx = px + dx;
+                            if (nx < 0 || nx >= ancho) continue;
+                            int vecino = ny * ancho + nx;
+                            if (!opacos.get(vecino) || asignados.get(vecino)) continue;
+                            asignados.set(vecino);
+                            if (tam == pila.length) pila = Arrays.copyOf(pila, tam * 2);
+                            pila[tam++] = vecino;
+                        }
+                    }
+                }
+            }
+        }
+        return maxX < 0 ? null : new Rectangle(minX, minY, maxX - minX + 1, maxY - minY + 1);
+    }
+
+    /** Copia a una imagen del tamaño de la caja solo los píxeles marcados y los borra de la
+     *  imagen original (así no se dibujan dos veces: ni en otro edificio ni en el resto). */
+    private static BufferedImage extraer(BufferedImage imagen, BitSet tejado, Rectangle caja) {
+        int ancho = imagen.getWidth();
+        BufferedImage trozo = new BufferedImage(caja.width, caja.height, BufferedImage.TYPE_INT_ARGB);
+        int[] origen = new int[caja.width];
+        int[] destino = new int[caja.width];
+        for (int j = 0; j < caja.height; j++) {
+            int y = caja.y + j;
+            imagen.getRGB(caja.x, y, caja.width, 1, origen, 0, caja.width);
+            for (int i = 0; i < caja.width; i++) {
+                if (tejado.get(y * ancho + caja.x + i)) {
+                    destino[i] = origen[i];
+                    origen[i] = 0;
+                } else {
+                    destino[i] = 0;
+                }
+            }
+            trozo.setRGB(0, j, caja.width, 1, destino, 0, caja.width);
+            imagen.setRGB(caja.x, y, caja.width, 1, origen, 0, caja.width);
+        }
+        return trozo;
+    }
+
+    /** Comprobación de carga: dentro de los interiores (y su borde de 1 px) no debe quedar ningún
+     *  píxel opaco en la imagen del resto, porque se dibujaría encima del jugador al entrar. */
+    private void comprobarInteriores(BufferedImage imagen, String ruta) {
+        for (Edificio edificio : edificios) {
+            Rectangle r = edificio.interior.intersection(new Rectangle(0, 0, imagen.getWidth(), imagen.getHeight()));
+            r = new Rectangle(r.x - 1, r.y - 1, r.width + 2, r.height + 2)
+                    .intersection(new Rectangle(0, 0, imagen.getWidth(), imagen.getHeight()));
+            if (r.isEmpty()) continue;
+
+            int sueltos = 0;
+            int[] fila = new int[r.width];
+            for (int y = r.y; y < r.y + r.height; y++) {
+                imagen.getRGB(r.x, y, r.width, 1, fila, 0, r.width);
+                for (int argb : fila) {
+                    if ((argb >>> 24) != 0) sueltos++;
+                }
+            }
+            if (sueltos > 0) {
+                System.err.println("❌ " + sueltos + " píxeles de tejado sobre el interior " + edificio.interior
+                        + " se quedan en la capa general de " + ruta);
+            }
+        }
+    }
+
+    //---------------------------------------------------
+    //  🔹 ACTUALIZACIÓN POR TICK
+    //---------------------------------------------------
+
+    /** Oculta el tejado del edificio en el que está el jugador y muestra los demás,
+     *  avanzando el fundido de cada uno. No crea objetos. */
+
+    public void actualizar(int jugadorX, int jugadorY) {
+        for (Edificio edificio : edificios) {
+            edificio.oculto = edificio.interior.contains(jugadorX, jugadorY);
+
+            if (edificio.oculto) {
+                edificio.opacidad = Math.max(0f, edificio.opacidad - PASO_FUNDIDO);
+            } else {
+                edificio.opacidad = Math.min(1f, edificio.opacidad + PASO_FUNDIDO);
+            }
+        }
+    }
+
+    //---------------------------------------------------
+    //  🔹 DIBUJADO
+    //---------------------------------------------------
+
+    /** Dibuja solo las teselas visibles de los tejados que no están totalmente ocultos. */
+
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int anchoVista, int altoVista) {
+        if (resto != null) {
+            resto.dibujar(g, camaraX, camaraY, anchoVista, altoVista);
+        }
+
+        Composite original = g.getComposite();
+        for (Edificio edificio : edificios) {
+            if (edificio.tejado == null || edificio.opacidad <= 0f) continue;
+            if (!edificio.zonaTejado.intersects(camaraX, camaraY, anchoVista, altoVista)) continue;
+
+            if (edificio.opacidad < 1f) {
+                g.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, edificio.opacidad));
+            }
+            edificio.tejado.dibujar(g, camaraX, camaraY, anchoVista, altoVista);
+            g.setComposite(original);
+        }
+    }
+
+    //---------------------------------------------------
+    //  🔹 MÉTODOS GETTERS
+    //---------------------------------------------------
+
+    /** Indica si el tejado del edificio i está oculto (el jugador está dentro). */
+    public boolean isOculto(int indiceEdificio) {
+        return edificios[indiceEdificio].oculto;
+    }
+
+    public int getNumEdificios() {
+        return edificios.length;
+    }
+}
@@ -1,119 +1,83 @@
 package juegoprog.escenarios;
 
-import javax.imageio.ImageIO;
-import javax.swing.*;
+import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.io.IOException;
-import java.net.URL;
-import java.awt.Graphics;
+import java.awt.image.DataBufferInt;
 
 
-/** Gestiona las colisiones en el juego mediante una imagen.
- *  Las áreas opacas representan obstáculos en el mapa.
- *  Usa detección de colisiones basada en imágenes, común en juegos 2D. */
+/** Vista de depuración del mapa de colisiones.
+ *  Las colisiones en sí viven en {@link MapaColisiones} (sin Swing y en coordenadas globales);
+ *  esta capa solo las dibuja encima del escenario para comprobar que coinciden con el fondo.
+ *  Es opcional: se activa con `-Dnoir.debug.colisiones=true` y solo pinta la parte visible del mapa. */
 
 
-public class ColisionesPanel extends JPanel {
+public class ColisionesPanel {
 
     //---------------------------------------------------
     //  🔹 ATRIBUTOS PRINCIPALES
     //---------------------------------------------------
 
-    // Imagen en PNG que define las áreas de colisión
-    private BufferedImage colisionesImg;
+    /** Indica si la vista de depuración está activada al arrancar. */
+    public static final boolean DEBUG_ACTIVO = Boolean.getBoolean("noir.debug.colisiones");
 
-    // Desplazamiento del mapa de colisiones para poder sincronizarlo con el escenario
-    private int desplazamientoX = 0;
-    private int desplazamientoY = 0;
+    // Color con el que se marcan los obstáculos (rojo semitransparente)
+    private static final int COLOR_OBSTACULO = 0x80FF0000;
 
+    private final MapaColisiones mapa;
 
-    //---------------------------------------------------
-    //  🔹 CONSTRUCTOR
-    //---------------------------------------------------
+    // Imagen del tamaño de la pantalla que se regenera solo cuando cambia la cámara
+    private BufferedImage vista;
+    private int vistaX = Integer.MIN_VALUE;
+    private int vistaY = Integer.MIN_VALUE;
 
-    /** Inicializamos el panel de colisiones y cargamos la imagen de colisión.
-     *  El panel es transparente para que no cubra el escenario. */
-
-    public ColisionesPanel() {
-
-        setOpaque(false);
-        cargarImagenCollision();
-    }
 
     //---------------------------------------------------
-    //  🔹 METODO PARA CARGAR LA IMAGEN DE COLISIÓN
+    //  🔹 CONSTRUCTOR
     //---------------------------------------------------
 
-    /** Carga la imagen de colisión desde los recursos y la almacena como `BufferedImage`.
-     *  Usa `ImageIO.read()` (compatible con PNG) para leer la imagen directamente sin necesidad de conversión extra.
-     *  Si la imagen no se encuentra, muestra un error en la consola.  */
+    /** La capa es transparente salvo en los obstáculos; el compositor la deja desactivada
+     *  salvo que se haya activado la depuración. */
 
-    private void cargarImagenCollision() {
-        try {
-            URL url = getClass().getResource("/escenarios/colision_distrito_sombrio2.png");
-            if (url == null) {
-                System.err.println("❌ Imagen de colisión no encontrada.");
-                return;
-            }
-            colisionesImg = ImageIO.read(url);
-        } catch (IOException e) {
-            System.err.println("❌ Error al cargar la imagen de colisión: " + e.getMessage());
-        }
+    public ColisionesPanel(MapaColisiones mapa) {
+        this.mapa = mapa;
     }
 
     //---------------------------------------------------
-    //  🔹 METODO PARA VERIFICAR COLISIÓN EN UNA POSICIÓN DADA
+    //  🔹 METODO PARA DIBUJAR LA CAPA DE COLISIONES (DEBUG)
     //---------------------------------------------------
 
-    /** Verificamos si una posición del mapa tiene colisión o es transitable.
-     *  Se basa en la transparencia (canal alfa) de la imagen de colisión.
-     *  x Coordenada X en el mapa
-     *  y Coordenada Y en el mapa
-     *  Return: `true` si hay colisión (píxel no transparente), `false` si es transitable. */
-
-    public boolean hayColision(int x, int y) {
-        if (colisionesImg == null) return false;
+    /** Dibuja los obstáculos de la zona visible. La imagen de la vista solo se
+     *  reconstruye a partir de la máscara cuando la cámara se ha movido. */
 
-        int colisionX = x + desplazamientoX;
-        int colisionY = y + desplazamientoY;
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
+        if (ancho <= 0 || alto <= 0) return;
 
-        // Verificar si está dentro de los límites
-        if (colisionX < 0 || colisionX >= colisionesImg.getWidth() ||
-                colisionY < 0 || colisionY >= colisionesImg.getHeight()) {
-            return false;
+        if (vista == null || vista.getWidth() != ancho || vista.getHeight() != alto) {
+            vista = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+            vistaX = Integer.MIN_VALUE;
         }
 
-        // Obtener la transparencia del píxel
-        int alpha = (colisionesImg.getRGB(colisionX, colisionY) >> 24) & 0xff;
-
-        return alpha > 0;
-    }
-
-    //---------------------------------------------------
-    //  🔹 METODO PARA DIBUJAR LA CAPA DE COLISIONES (DEBUG)
-    //---------------------------------------------------
-    /** Dibuja la imagen de colisión en el panel, desplazándola según el
-     * movimiento del fondo. Esto nos asegura que el mapa de colisiones
-     * siempre coincida con el escenario. */
-
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        if (colisionesImg != null) {
-            g.drawImage(colisionesImg, -desplazamientoX, -desplazamientoY, this);
+        if (vistaX != camaraX || vistaY != camaraY) {
+            reconstruirVista(camaraX, camaraY, ancho, alto);
+            vistaX = camaraX;
+            vistaY = camaraY;
         }
-    }
 
-    //---------------------------------------------------
-    //  🔹 METODO PARA ACTUALIZAR LA POSICIÓN DE LA CAPA DE COLISIONES
-    //---------------------------------------------------
+        g.drawImage(vista, 0, 0, null);
+    }
 
-    /** Actualiza el desplazamiento del mapa de colisiones para que coincida
-     *  con el escenario. */
+    /** Vuelca en la imagen de la vista los bits de la máscara que caen dentro de la pantalla. */
+    private void reconstruirVista(int camaraX, int camaraY, int ancho, int alto) {
+        int[] pixeles = ((DataBufferInt) vista.getRaster().getDataBuffer()).getData();
+        MascaraColision mascara = mapa.getMascara();
 
-    public void actualizarOffset(int offsetX, int offsetY) {
-        this.desplazamientoX = offsetX;
-        this.desplazamientoY = offsetY;
+        for (int y = 0; y < alto; y++) {
+            int mundoY = y + camaraY;
+            int base = y * ancho;
+            for (int x = 0; x < ancho; x++) {
+                pixeles[base + x] = mascara.hayColision(x + camaraX, mundoY) ? COLOR_OBSTACULO : 0;
+            }
+        }
     }
 
 }
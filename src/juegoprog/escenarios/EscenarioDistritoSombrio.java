@@ -1,5 +1,7 @@
 package juegoprog.escenarios;
 
+import juegoprog.graficos.MosaicoTeselas;
+
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
@@ -22,8 +24,7 @@ import java.net.URL;
     //  🔹 ATRIBUTOS PRINCIPALES
     //---------------------------------------------------
 
-    private BufferedImage imagenFondo; // 🔹 Imagen del escenario
-    private int desplazamientoX = 0, desplazamientoY = 0; // 🔹 Control del desplazamiento
+    private MosaicoTeselas fondo; // 🔹 Imagen del escenario troceada en teselas
 
     //----------------------------------------------------------------
     //  🔹 CONSTRUCTOR - CONFIGURA TAMAÑO DEL ESCENARIO Y CARGA IMAGEN
@@ -31,10 +32,6 @@ import java.net.URL;
 
     public EscenarioDistritoSombrio() {
         super(4472, 4816);
-        setSize(ANCHO, ALTO);
-        setPreferredSize(new Dimension(ANCHO, ALTO));
-        setVisible(true);
-
         cargarImagen();
     }
 
@@ -43,14 +40,13 @@ import java.net.URL;
     //---------------------------------------------------
 
     /** Dibuja el fondo del escenario en la pantalla, aplicando el
-     *  desplazamiento según la posición del jugador. */
+     *  desplazamiento de la cámara (posición del jugador).
+     *  Solo se dibujan las teselas que se solapan con la pantalla. */
 
     @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-
-        if (imagenFondo != null) {
-            g.drawImage(imagenFondo, -desplazamientoX, -desplazamientoY, null);
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int anchoVista, int altoVista) {
+        if (fondo != null) {
+            fondo.dibujar(g, camaraX, camaraY, anchoVista, altoVista);
         }
     }
 
@@ -58,8 +54,9 @@ import java.net.URL;
     //  🔹 METODO PARA CARGAR LA IMAGEN DEL ESCENARIO
     //---------------------------------------------------
 
-    /** Carga la imagen del escenario desde los recursos del proyecto.
-    *   Se utiliza `getResource()` porque funciona bien con archivos dentro del JAR. */
+    /** Carga la imagen del escenario desde los recursos del proyecto y la trocea en teselas.
+    *   Se utiliza `getResource()` porque funciona bien con archivos dentro del JAR.
+    *   La imagen completa se descarta después de trocearla. */
 
     private void cargarImagen() {
         try {
@@ -68,23 +65,13 @@ import java.net.URL;
                 System.err.println("❌ Imagen del escenario no encontrada.");
                 return;
             }
-            imagenFondo = ImageIO.read(url);
+            BufferedImage imagenFondo = ImageIO.read(url);
+            fondo = MosaicoTeselas.desdeImagen(imagenFondo, MosaicoTeselas.TAM_TESELA, false);
         } catch (IOException e) {
             System.err.println("❌ Error al cargar la imagen del escenario: " + e.getMessage());
         }
     }
 
-    //---------------------------------------------------
-    //  🔹 METODO PARA CARGAR LA IMAGEN DEL ESCENARIO
-    //---------------------------------------------------
-
-    /** Actualiza el desplazamiento del escenario según la posición del personaje. */
-
-    public void actualizarDesplazamiento(int x, int y) {
-        this.desplazamientoX = x;
-        this.desplazamientoY = y;
-    }
-
     //---------------------------------------------------
     //  🔹 MÉTODOS GETTERS
     //---------------------------------------------------
@@ -0,0 +1,45 @@
+package juegoprog.escenarios;
+
+/** Resultado de {@link MapaColisiones#trazarRayo}: primer píxel obstáculo que toca un segmento.
+ *  Es un objeto reutilizable (cada sistema guarda el suyo), así que trazar rayos no crea basura. */
+
+public final class ImpactoRayo {
+
+    private int celdaX, celdaY;      // Píxel obstáculo alcanzado
+    private double fraccion;         // Parte del segmento recorrida hasta entrar en él, en [0, 1]
+    private double x, y;             // Punto de entrada en ese píxel
+    private double distancia;        // Distancia desde el origen hasta (x, y)
+
+    void fijar(int celdaX, int celdaY, double fraccion, double x, double y, double distancia) {
+        this.celdaX = celdaX;
+        this.celdaY = celdaY;
+        this.fraccion = fraccion;
+        this.x = x;
+        this.y = y;
+        this.distancia = distancia;
+    }
+
+    public int getCeldaX() {
+        return celdaX;
+    }
+
+    public int getCeldaY() {
+        return celdaY;
+    }
+
+    public double getFraccion() {
+        return fraccion;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public double getDistancia() {
+        return distancia;
+    }
+}
@@ -0,0 +1,119 @@
+package juegoprog.escenarios;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+
+/** Servicio de colisiones del escenario en coordenadas globales del mapa.
+ *  No depende de Swing ni de la cámara: jugador, enemigos y balas consultan siempre
+ *  con su posición en el mundo, sin sumar ni restar desplazamientos.
+ *  Se carga una vez y se comparte entre todos los que necesitan colisiones. */
+
+public class MapaColisiones {
+
+    //---------------------------------------------------
+    //  🔹 ATRIBUTOS PRINCIPALES
+    //---------------------------------------------------
+
+    private final MascaraColision mascara;
+
+    //---------------------------------------------------
+    //  🔹 CONSTRUCTOR Y CARGA
+    //---------------------------------------------------
+
+    public MapaColisiones(MascaraColision mascara) {
+        this.mascara = mascara;
+    }
+
+    /** Carga el mapa de colisiones desde una imagen de los recursos: los píxeles con alfa
+     *  mayor que 0 son obstáculos. La imagen solo se usa durante la carga; después se descarta
+     *  y queda únicamente la máscara de bits.
+     *  Si la imagen no existe, devuelve un mapa vacío (todo transitable) del tamaño indicado.
+     *
+     *  @param ruta           Ruta del recurso PNG.
+     *  @param anchoPorDefecto Ancho del mapa vacío si no se encuentra la imagen.
+     *  @param altoPorDefecto  Alto del mapa vacío si no se encuentra la imagen. */
+    public static MapaColisiones cargar(String ruta, int anchoPorDefecto, int altoPorDefecto) {
+        try {
+            URL url = MapaColisiones.class.getResource(ruta);
+            if (url == null) {
+                System.err.println("❌ Imagen de colisión no encontrada: " + ruta);
+                return new MapaColisiones(new MascaraColision(anchoPorDefecto, altoPorDefecto));
+            }
+
+            BufferedImage imagen = ImageIO.read(url);
+            int ancho = imagen.getWidth();
+            int alto = imagen.getHeight();
+            MascaraColision mascara = new MascaraColision(ancho, alto);
+
+            int[] fila = new int[ancho];
+            for (int y = 0; y < alto; y++) {
+                imagen.getRGB(0, y, ancho, 1, fila, 0, ancho);
+                mascara.cargarFilaArgb(y, fila);
+            }
+            return new MapaColisiones(mascara);
+        } catch (IOException e) {
+            System.err.println("❌ Error al cargar la imagen de colisión: " + e.getMessage());
+            return new MapaColisiones(new MascaraColision(anchoPorDefecto, altoPorDefecto));
+        }
+    }
+
+    //---------------------------------------------------
+    //  🔹 CONSULTAS (COORDENADAS GLOBALES)
+    //---------------------------------------------------
+
+    /** `true` si hay obstáculo en (x, y). Fuera del mapa se considera transitable. */
+    public boolean hayColision(int x, int y) {
+        return mascara.hayColision(x, y);
+    }
+
+    /** `true` si algún píxel del rectángulo es obstáculo. */
+    public boolean hayColisionEnRect(int x, int y, int ancho, int alto) {
+        return mascara.hayColisionEnRect(x, y, ancho, alto);
+    }
+
+    /** Primer obstáculo en el segmento (x0, y0) → (x1, y1), recorriendo la rejilla de píxeles
+     *  en orden (sirve para balas, disparos instantáneos y líneas de visión).
+     *  @param impacto se rellena con el píxel alcanzado y la distancia (puede ser null).
+     *  @return true si el segmento choca con algo. */
+    public boolean trazarRayo(double x0, double y0, double x1, double y1, ImpactoRayo impacto) {
+        return mascara.trazarRayo(x0, y0, x1, y1, impacto);
+    }
+
+    /** `true` si no hay ningún obstáculo entre los dos puntos. */
+    public boolean hayLineaDeVision(double x0, double y0, double x1, double y1) {
+        return !mascara.trazarRayo(x0, y0, x1, y1, null);
+    }
+
+    /** Consulta n puntos de una vez; el resultado de cada punto queda en `resultado`. */
+    public void consultar(int[] xs, int[] ys, int n, boolean[] resultado) {
+        mascara.consultar(xs, ys, n, resultado);
+    }
+
+    /** Índice del primer punto con colisión, o -1 si ninguno la tiene. */
+    public int primeraColision(int[] xs, int[] ys, int n) {
+        return mascara.primeraColision(xs, ys, n);
+    }
+
+    /** Cuántos de los n puntos tienen colisión. */
+    public int contarColisiones(int[] xs, int[] ys, int n) {
+        return mascara.contarColisiones(xs, ys, n);
+    }
+
+    //---------------------------------------------------
+    //  🔹 MÉTODOS GETTERS
+    //---------------------------------------------------
+
+    public MascaraColision getMascara() {
+        return mascara;
+    }
+
+    public int getAncho() {
+        return mascara.getAncho();
+    }
+
+    public int getAlto() {
+        return mascara.getAlto();
+    }
+}
@@ -0,0 +1,373 @@
+package juegoprog.escenarios;
+
+/** Máscara de colisión de 1 bit por píxel.
+ *  Guarda el canal alfa de la imagen de colisión empaquetado en un {@code long[]}:
+ *  cada fila ocupa {@code palabrasPorFila} longs y cada bit indica si ese píxel es un obstáculo.
+ *  Para el mapa de 4472x4816 son ~2,7 MB frente a los ~86 MB de la imagen ARGB, y cada
+ *  consulta es un desplazamiento y una máscara, sin pasar por el modelo de color.
+ *  Además guarda una copia por bloques de 8x8 píxeles (un long por bloque) que usa
+ *  {@link #trazarRayo}, y un bit por bloque que dice si está ocupado: una zona de 64x64 vacía
+ *  se cruza de un salto y dentro de un bloque ocupado los píxeles se miran en el propio long. */
+
+public class MascaraColision {
+
+    //---------------------------------------------------
+    //  🔹 ATRIBUTOS PRINCIPALES
+    //---------------------------------------------------
+
+    private final int ancho;
+    private final int alto;
+    private final int palabrasPorFila;
+    private final long[] bits;
+
+    // Los mismos bits agrupados en bloques de 8x8 píxeles: bit (y % 8) * 8 + (x % 8) del bloque
+    private static final int BITS_BLOQUE = 3;
+    private static final int LADO_BLOQUE = 1 << BITS_BLOQUE;
+    private final int bloquesAncho;
+    private final int bloquesAlto;
+    private final long[] bloques;
+
+    // Ocupación de los bloques agrupada de 8x8 en 8x8 (zonas de 64x64 píxeles): el bit
+    // (by % 8) * 8 + (bx % 8) indica si el bloque (bx, by) tiene algún obstáculo.
+    // Son ~42 KB para todo el mapa, así que el rayo lo consulta sin salir de la caché.
+    private final int zonasAncho;
+    private final int zonasAlto;
+    private final long[] ocupacion;
+
+    // Rayos con los dos lados (en X y en Y) de hasta este tamaño miran antes la ocupación de los
+    // bloques de su caja (una bala avanza 30 px por tick: como mucho 5x5 bloques, 1-4 zonas)
+    private static final int RAYO_CORTO = 32;
+
+    //---------------------------------------------------
+    //  🔹 CONSTRUCTOR Y CARGA
+    //---------------------------------------------------
+
+    /** Crea una máscara vacía (todo transitable) del tamaño indicado. */
+    public MascaraColision(int ancho, int alto) {
+        this.ancho = ancho;
+        this.alto = alto;
+        this.palabrasPorFila = (ancho + 63) >>> 6;
+        this.bits = new long[palabrasPorFila * alto];
+
+        this.bloquesAncho = (ancho + LADO_BLOQUE - 1) >>> BITS_BLOQUE;
+        this.bloquesAlto = (alto + LADO_BLOQUE - 1) >>> BITS_BLOQUE;
+        this.bloques = new long[bloquesAncho * bloquesAlto];
+
+        this.zonasAncho = (bloquesAncho + LADO_BLOQUE - 1) >>> BITS_BLOQUE;
+        this.zonasAlto = (bloquesAlto + LADO_BLOQUE - 1) >>> BITS_BLOQUE;
+        this.ocupacion = new long[zonasAncho * zonasAlto];
+    }
+
+    /** Carga una fila a partir de sus píxeles ARGB: los píxeles con alfa mayor que 0 son obstáculo.
+     *  Se usa solo al cargar el mapa (lectura de la imagen fila a fila). */
+    public void cargarFilaArgb(int y, int[] argb) {
+        int base = y * palabrasPorFila;
+        for (int x = 0; x < ancho; x++) {
+            if ((argb[x] >>> 24) != 0) {
+                bits[base + (x >>> 6)] |= 1L << (x & 63);
+                bloques[indiceBloque(x, y)] |= bitEnBloque(x, y);
+                ocupacion[indiceZona(x, y)] |= bitEnZona(x, y);
+            }
+        }
+    }
+
+    /** Marca o desmarca un píxel como obstáculo. */
+    public void setColision(int x, int y, boolean colision) {
+        if (x < 0 || x >= ancho || y < 0 || y >= alto) return;
+        int indice = y * palabrasPorFila + (x >>> 6);
+        if (colision) {
+            bits[indice] |= 1L << (x & 63);
+            bloques[indiceBloque(x, y)] |= bitEnBloque(x, y);
+            ocupacion[indiceZona(x, y)] |= bitEnZona(x, y);
+        } else {
+            bits[indice] &= ~(1L << (x & 63));
+            int bloque = indiceBloque(x, y);
+            bloques[bloque] &= ~bitEnBloque(x, y);
+            if (bloques[bloque] == 0) {
+                ocupacion[indiceZona(x, y)] &= ~bitEnZona(x, y);
+            }
+        }
+    }
+
+    private int indiceBloque(int x, int y) {
+        return (y >>> BITS_BLOQUE) * bloquesAncho + (x >>> BITS_BLOQUE);
+    }
+
+    private static long bitEnBloque(int x, int y) {
+        return 1L << (((y & (LADO_BLOQUE - 1)) << BITS_BLOQUE) | (x & (LADO_BLOQUE - 1)));
+    }
+
+    private int indiceZona(int x, int y) {
+        return (y >>> (2 * BITS_BLOQUE)) * zonasAncho + (x >>> (2 * BITS_BLOQUE));
+    }
+
+    private static long bitEnZona(int x, int y) {
+        return bitEnBloque(x >>> BITS_BLOQUE, y >>> BITS_BLOQUE);
+    }
+
+    /** Ocupación de los bloques de la zona (zx, zy); fuera del mapa, 0 (transitable). */
+    private long zona(int zx, int zy) {
+        if (zx < 0 || zx >= zonasAncho || zy < 0 || zy >= zonasAlto) {
+            return 0;
+        }
+        return ocupacion[zy * zonasAncho + zx];
+    }
+
+    //---------------------------------------------------
+    //  🔹 CONSULTAS INDIVIDUALES
+    //---------------------------------------------------
+
+    /** Devuelve true si el píxel (x, y) es un obstáculo.
+     *  Fuera de los límites del mapa se considera transitable (igual que la versión con imagen). */
+    public boolean hayColision(int x, int y) {
+        if (x < 0 || x >= ancho || y < 0 || y >= alto) {
+            return false;
+        }
+        return (bits[y * palabrasPorFila + (x >>> 6)] & (1L << (x & 63))) != 0;
+    }
+
+    /** Devuelve true si algún píxel del tramo horizontal [x0, x1] de la fila y es un obstáculo.
+     *  Comprueba 64 píxeles por operación. */
+    public boolean hayColisionEnFila(int y, int x0, int x1) {
+        if (y < 0 || y >= alto) return false;
+        x0 = Math.max(x0, 0);
+        x1 = Math.min(x1, ancho - 1);
+        if (x0 > x1) return false;
+
+        int base = y * palabrasPorFila;
+        int palabraIni = x0 >>> 6;
+        int palabraFin = x1 >>> 6;
+        long mascaraIni = -1L << (x0 & 63);
+        long mascaraFin = -1L >>> (63 - (x1 & 63));
+
+        if (palabraIni == palabraFin) {
+            return (bits[base + palabraIni] & mascaraIni & mascaraFin) != 0;
+        }
+        if ((bits[base + palabraIni] & mascaraIni) != 0) return true;
+        for (int p = palabraIni + 1; p < palabraFin; p++) {
+            if (bits[base + p] != 0) return true;
+        }
+        return (bits[base + palabraFin] & mascaraFin) != 0;
+    }
+
+    /** Devuelve true si algún píxel del rectángulo indicado es un obstáculo. */
+    public boolean hayColisionEnRect(int x, int y, int w, int h) {
+        int yFin = Math.min(y + h - 1, alto - 1);
+        for (int fila = Math.max(y, 0); fila <= yFin; fila++) {
+            if (hayColisionEnFila(fila, x, x + w - 1)) return true;
+        }
+        return false;
+    }
+
+    //---------------------------------------------------
+    //  🔹 RAYOS (DDA SOBRE LA REJILLA DE PÍXELES)
+    //---------------------------------------------------
+
+    /** Recorre el segmento (x0, y0) → (x1, y1) celda a celda (DDA de Amanatides-Woo), en orden,
+     *  y se para en el primer píxel obstáculo. Incluye los píxeles del origen y del final.
+     *  Avanza por zonas de 64x64 mientras estén vacías y por bloques de 8x8 dentro de las demás:
+     *  un bloque sin obstáculos se salta entero y, dentro de uno ocupado, los píxeles que cruza el segmento se comprueban en los bits del bloque.
+     *  Así no se salta paredes finas (como el muestreo a pasos fijos) y lee memoria una vez por
+     *  bloque en lugar de una vez por punto.
+     *  Un rayo corto (el paso de una bala) sin ningún bloque ocupado en su caja se descarta antes,
+     *  con las zonas que toca y sin preparar el DDA.
+     *
+     *  @param impacto si no es null y hay choque, se rellena con el píxel, la fracción y la distancia.
+     *  @return true si el segmento toca algún obstáculo. */
+    public boolean trazarRayo(double x0, double y0, double x1, double y1, ImpactoRayo impacto) {
+        double dx = x1 - x0;
+        double dy = y1 - y0;
+        if (Math.abs(dx) <= RAYO_CORTO && Math.abs(dy) <= RAYO_CORTO && cajaLibre(x0, y0, x1, y1)) {
+            return false;
+        }
+        int sx = dx > 0 ? 1 : (dx < 0 ? -1 : 0);
+        int sy = dy > 0 ? 1 : (dy < 0 ? -1 : 0);
+
+        int bx = Math.floorDiv((int) Math.floor(x0), LADO_BLOQUE);
+        int by = Math.floorDiv((int) Math.floor(y0), LADO_BLOQUE);
+
+        // Fracción del segmento en la que se cruza el siguiente borde de bloque en X / en Y
+        double invX = sx != 0 ? 1.0 / Math.abs(dx) : Double.POSITIVE_INFINITY;
+        double invY = sy != 0 ? 1.0 / Math.abs(dy) : Double.POSITIVE_INFINITY;
+        double tDeltaX = LADO_BLOQUE * invX;
+        double tDeltaY = LADO_BLOQUE * invY;
+        double tMaxX = sx != 0 ? ((bx + (sx > 0 ? 1 : 0)) * (double) LADO_BLOQUE - x0) * sx * invX : Double.POSITIVE_INFINITY;
+        double tMaxY = sy != 0 ? ((by + (sy > 0 ? 1 : 0)) * (double) LADO_BLOQUE - y0) * sy * invY : Double.POSITIVE_INFINITY;
+        double tEntrada = 0;
+
+        // La ocupación de la zona actual se guarda y solo se vuelve a leer al cambiar de zona
+        int zx = bx >> BITS_BLOQUE;
+        int zy = by >> BITS_BLOQUE;
+        long ocupada = zona(zx, zy);
+
+        while (true) {
+            if ((bx >> BITS_BLOQUE) != zx || (by >> BITS_BLOQUE) != zy) {
+                zx = bx >> BITS_BLOQUE;
+                zy = by >> BITS_BLOQUE;
+                ocupada = zona(zx, zy);
+            }
+
+            if (ocupada == 0) {
+                // Zona vacía: se salta entera hasta su borde (DDA sobre zonas de 64x64)
+                double tZonaX = sx != 0 ? (((zx + (sx > 0 ? 1 : 0)) << (2 * BITS_BLOQUE)) - x0) * sx * invX : Double.POSITIVE_INFINITY;
+                double tZonaY = sy != 0 ? (((zy + (sy > 0 ? 1 : 0)) << (2 * BITS_BLOQUE)) - y0) * sy * invY : Double.POSITIVE_INFINITY;
+                if (Math.min(tZonaX, tZonaY) > 1.0) {
+                    return false;
+                }
+                int primerBx = zx << BITS_BLOQUE;
+                int primerBy = zy << BITS_BLOQUE;
+                if (tZonaX < tZonaY) {
+                    tEntrada = tZonaX;
+                    bx = sx > 0 ? primerBx + LADO_BLOQUE : primerBx - 1;
+                    by = limitar(Math.floorDiv((int) Math.floor(y0 + dy * tEntrada), LADO_BLOQUE), primerBy, primerBy + LADO_BLOQUE - 1);
+                } else {
+                    tEntrada = tZonaY;
+                    by = sy > 0 ? primerBy + LADO_BLOQUE : primerBy - 1;
+                    bx = limitar(Math.floorDiv((int) Math.floor(x0 + dx * tEntrada), LADO_BLOQUE), primerBx, primerBx + LADO_BLOQUE - 1);
+                }
+                tMaxX = sx != 0 ? ((bx + (sx > 0 ? 1 : 0)) * (double) LADO_BLOQUE - x0) * sx * invX : Double.POSITIVE_INFINITY;
+                tMaxY = sy != 0 ? ((by + (sy > 0 ? 1 : 0)) * (double) LADO_BLOQUE - y0) * sy * invY : Double.POSITIVE_INFINITY;
+                continue;
+            }
+
+            if ((ocupada & bitEnBloque(bx, by)) != 0) {
+                double tSalida = Math.min(Math.min(tMaxX, tMaxY), 1.0);
+                long bloque = bloques[by * bloquesAncho + bx];
+                if (trazarEnBloque(bloque, bx, by, x0, y0, dx, dy, sx, sy, invX, invY, tEntrada, tSalida, impacto)) {
+                    return true;
+                }
+            }
+            if (Math.min(tMaxX, tMaxY) > 1.0) {
+                return false;
+            }
+            if (tMaxX < tMaxY) {
+                bx += sx;
+                tEntrada = tMaxX;
+                tMaxX += tDeltaX;
+            } else {
+                by += sy;
+                tEntrada = tMaxY;
+                tMaxY += tDeltaY;
+            }
+        }
+    }
+
+    /** True si ningún bloque de la caja del segmento tiene obstáculos. Solo mira los bits de
+     *  ocupación de las zonas (una máscara de filas y columnas de bloques por zona), no los bloques. */
+    private boolean cajaLibre(double x0, double y0, double x1, double y1) {
+        // Por abajo, ceil - 1: si el extremo cae justo en un borde, el DDA también pisa el píxel de antes
+        int bx0 = Math.max(0, ((int) Math.ceil(Math.min(x0, x1)) - 1) >> BITS_BLOQUE);
+        int bx1 = Math.min(bloquesAncho - 1, (int) Math.floor(Math.max(x0, x1)) >> BITS_BLOQUE);
+        int by0 = Math.max(0, ((int) Math.ceil(Math.min(y0, y1)) - 1) >> BITS_BLOQUE);
+        int by1 = Math.min(bloquesAlto - 1, (int) Math.floor(Math.max(y0, y1)) >> BITS_BLOQUE);
+        if (bx0 > bx1 || by0 > by1) {
+            return true;
+        }
+        for (int zy = by0 >> BITS_BLOQUE; zy <= by1 >> BITS_BLOQUE; zy++) {
+            int fa = Math.max(by0, zy << BITS_BLOQUE) & (LADO_BLOQUE - 1);
+            int fb = Math.min(by1, (zy << BITS_BLOQUE) + LADO_BLOQUE - 1) & (LADO_BLOQUE - 1);
+            long filas = (-1L << (fa << BITS_BLOQUE)) & (-1L >>> ((LADO_BLOQUE - 1 - fb) << BITS_BLOQUE));
+            for (int zx = bx0 >> BITS_BLOQUE; zx <= bx1 >> BITS_BLOQUE; zx++) {
+                int ca = Math.max(bx0, zx << BITS_BLOQUE) & (LADO_BLOQUE - 1);
+                int cb = Math.min(bx1, (zx << BITS_BLOQUE) + LADO_BLOQUE - 1) & (LADO_BLOQUE - 1);
+                // Columnas ca..cb repetidas en las 8 filas de bloques de la zona
+                long columnas = ((2L << cb) - (1L << ca)) * 0x0101010101010101L;
+                if ((ocupacion[zy * zonasAncho + zx] & filas & columnas) != 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int limitar(int valor, int min, int max) {
+        return Math.max(min, Math.min(max, valor));
+    }
+
+    /** DDA píxel a píxel del tramo [tIni, tFin] del segmento, que está dentro del bloque (bx, by)
+     *  cuyos bits son 'bloque'. Trabaja con coordenadas locales (0..7) dentro del bloque. */
+    private static boolean trazarEnBloque(long bloque, int bx, int by, double x0, double y0, double dx, double dy,
+                                          int sx, int sy, double tDeltaX, double tDeltaY,
+                                          double tIni, double tFin, ImpactoRayo impacto) {
+        int minX = bx << BITS_BLOQUE;
+        int minY = by << BITS_BLOQUE;
+
+        // Píxel de entrada (ajustado al bloque por si el redondeo lo deja justo fuera)
+        int cx = Math.max(0, Math.min(LADO_BLOQUE - 1, (int) Math.floor(x0 + dx * tIni) - minX));
+        int cy = Math.max(0, Math.min(LADO_BLOQUE - 1, (int) Math.floor(y0 + dy * tIni) - minY));
+
+        // Sin divisiones: 1 / dx = sx * tDeltaX
+        double tMaxX = sx != 0 ? (minX + cx + (sx > 0 ? 1 : 0) - x0) * sx * tDeltaX : Double.POSITIVE_INFINITY;
+        double tMaxY = sy != 0 ? (minY + cy + (sy > 0 ? 1 : 0) - y0) * sy * tDeltaY : Double.POSITIVE_INFINITY;
+        double t = tIni;
+
+        while (true) {
+            if ((bloque & (1L << ((cy << BITS_BLOQUE) | cx))) != 0) {
+                if (impacto != null) {
+                    impacto.fijar(minX + cx, minY + cy, t, x0 + dx * t, y0 + dy * t, t * Math.sqrt(dx * dx + dy * dy));
+                }
+                return true;
+            }
+            if (Math.min(tMaxX, tMaxY) > tFin) {
+                return false;
+            }
+            if (tMaxX < tMaxY) {
+                cx += sx;
+                t = tMaxX;
+                tMaxX += tDeltaX;
+            } else {
+                cy += sy;
+                t = tMaxY;
+                tMaxY += tDeltaY;
+            }
+            if (cx < 0 || cx >= LADO_BLOQUE || cy < 0 || cy >= LADO_BLOQUE) {
+                return false;
+            }
+        }
+    }
+
+    //---------------------------------------------------
+    //  🔹 CONSULTAS EN LOTE
+    //---------------------------------------------------
+
+    /** Consulta {@code n} puntos de una vez y deja el resultado de cada uno en {@code resultado}. */
+    public void consultar(int[] xs, int[] ys, int n, boolean[] resultado) {
+        for (int i = 0; i < n; i++) {
+            resultado[i] = hayColision(xs[i], ys[i]);
+        }
+    }
+
+    /** Devuelve el índice del primer punto (en orden) que es un obstáculo, o -1 si ninguno lo es. */
+    public int primeraColision(int[] xs, int[] ys, int n) {
+        for (int i = 0; i < n; i++) {
+            if (hayColision(xs[i], ys[i])) return i;
+        }
+        return -1;
+    }
+
+    /** Devuelve cuántos de los {@code n} puntos son obstáculo. */
+    public int contarColisiones(int[] xs, int[] ys, int n) {
+        int total = 0;
+        for (int i = 0; i < n; i++) {
+            if (hayColision(xs[i], ys[i])) total++;
+        }
+        return total;
+    }
+
+    //---------------------------------------------------
+    //  🔹 MÉTODOS GETTERS
+    //---------------------------------------------------
+
+    public int getAncho() {
+        return ancho;
+    }
+
+    public int getAlto() {
+        return alto;
+    }
+
+    /** Memoria ocupada por los bits de la máscara, en bytes. */
+    public long getMemoriaBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+}
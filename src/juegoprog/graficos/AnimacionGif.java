@@ -0,0 +1,205 @@
+package juegoprog.graficos;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.metadata.IIOMetadata;
+import javax.imageio.metadata.IIOMetadataNode;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * GIF animado expandido una sola vez en un array de frames completos.
+ * <p>
+ * - Cada frame se compone sobre el lienzo lógico del GIF respetando su posición y el método de
+ *   eliminación del frame anterior (mantener, borrar al fondo o restaurar el anterior).
+ * - Los frames se guardan como imágenes compatibles con la pantalla, junto con su duración.
+ * - No hay hilos de animación de AWT ni ImageObserver: el frame se elige a partir del reloj del
+ *   juego ({@link RelojAnimacion}), así que la animación avanza con la lógica y no pide repaints.
+ */
+public class AnimacionGif {
+
+    // =========================================================================
+    // 1. DATOS
+    // =========================================================================
+
+    private final BufferedImage[] frames;
+    private final int[] duracionesMs;
+    private final int[] finFrameMs;   // Instante (ms) en el que termina cada frame dentro del ciclo
+    private final int duracionCicloMs;
+
+    private AnimacionGif(BufferedImage[] frames, int[] duracionesMs) {
+        this.frames = frames;
+        this.duracionesMs = duracionesMs;
+        this.finFrameMs = new int[frames.length];
+
+        int acumulado = 0;
+        for (int i = 0; i < frames.length; i++) {
+            acumulado += duracionesMs[i];
+            finFrameMs[i] = acumulado;
+        }
+        this.duracionCicloMs = Math.max(1, acumulado);
+    }
+
+    // =========================================================================
+    // 2. DECODIFICACIÓN
+    // =========================================================================
+
+    /**
+     * Decodifica un GIF de los recursos.
+     *
+     * @return la animación, o null si no se encuentra o no se puede leer.
+     */
+    public static AnimacionGif cargar(String ruta) {
+        URL url = AnimacionGif.class.getResource(ruta);
+        if (url == null) {
+            System.err.println("❌ GIF no encontrado: " + ruta);
+            return null;
+        }
+        return cargar(url);
+    }
+
+    /** Decodifica un GIF desde una URL (null si no se puede leer). */
+    public static AnimacionGif cargar(URL url) {
+        ImageReader lector = ImageIO.getImageReadersByFormatName("gif").next();
+        try (ImageInputStream entrada = ImageIO.createImageInputStream(url.openStream())) {
+            lector.setInput(entrada);
+            return decodificar(lector);
+        } catch (IOException e) {
+            System.err.println("❌ Error al decodificar el GIF " + url + ": " + e.getMessage());
+            return null;
+        } finally {
+            lector.dispose();
+        }
+    }
+
+    private static AnimacionGif decodificar(ImageReader lector) throws IOException {
+        int numFrames = lector.getNumImages(true);
+
+        // Tamaño del lienzo lógico (si falta, el del primer frame)
+        int ancho = lector.getWidth(0);
+        int alto = lector.getHeight(0);
+        IIOMetadata metadatosStream = lector.getStreamMetadata();
+        if (metadatosStream != null) {
+            IIOMetadataNode raiz = (IIOMetadataNode) metadatosStream.getAsTree("javax_imageio_gif_stream_1.0");
+            IIOMetadataNode pantalla = hijo(raiz, "LogicalScreenDescriptor");
+            if (pantalla != null) {
+                ancho = Math.max(ancho, atributoEntero(pantalla, "logicalScreenWidth", ancho));
+                alto = Math.max(alto, atributoEntero(pantalla, "logicalScreenHeight", alto));
+            }
+        }
+
+        // Lienzo donde se van componiendo los frames
+        BufferedImage lienzo = new BufferedImage(ancho, alto, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = lienzo.createGraphics();
+
+        List<BufferedImage> frames = new ArrayList<>();
+        int[] duraciones = new int[numFrames];
+
+        for (int i = 0; i < numFrames; i++) {
+            IIOMetadataNode raiz = (IIOMetadataNode) lector.getImageMetadata(i).getAsTree("javax_imageio_gif_image_1.0");
+            IIOMetadataNode descriptor = hijo(raiz, "ImageDescriptor");
+            IIOMetadataNode control = hijo(raiz, "GraphicControlExtension");
+
+            int fx = descriptor != null ? atributoEntero(descriptor, "imageLeftPosition", 0) : 0;
+            int fy = descriptor != null ? atributoEntero(descriptor, "imageTopPosition", 0) : 0;
+            String eliminacion = control != null ? control.getAttribute("disposalMethod") : "none";
+            int centesimas = control != null ? atributoEntero(control, "delayTime", 10) : 10;
+
+            // Igual que los navegadores: retardos casi nulos se tratan como 100 ms
+            duraciones[i] = centesimas <= 1 ? 100 : centesimas * 10;
+
+            // Copia previa por si este frame pide restaurar el estado anterior
+            BufferedImage anterior = "restoreToPrevious".equals(eliminacion) ? copiar(lienzo) : null;
+
+            BufferedImage parcial = lector.read(i);
+            g.setComposite(AlphaComposite.SrcOver);
+            g.drawImage(parcial, fx, fy, null);
+
+            frames.add(copiarCompatible(lienzo));
+
+            // Eliminación antes del siguiente frame
+            if ("restoreToBackgroundColor".equals(eliminacion)) {
+                g.setComposite(AlphaComposite.Clear);
+                g.fillRect(fx, fy, parcial.getWidth(), parcial.getHeight());
+            } else if (anterior != null) {
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(anterior, 0, 0, null);
+            }
+        }
+        g.dispose();
+
+        return new AnimacionGif(frames.toArray(new BufferedImage[0]), duraciones);
+    }
+
+    private static IIOMetadataNode hijo(IIOMetadataNode raiz, String nombre) {
+        return (IIOMetadataNode) raiz.getElementsByTagName(nombre).item(0);
+    }
+
+    private static int atributoEntero(IIOMetadataNode nodo, String atributo, int porDefecto) {
+        try {
+            return Integer.parseInt(nodo.getAttribute(atributo));
+        } catch (NumberFormatException e) {
+            return porDefecto;
+        }
+    }
+
+    private static BufferedImage copiar(BufferedImage origen) {
+        BufferedImage copia = new BufferedImage(origen.getWidth(), origen.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = copia.createGraphics();
+        g.drawImage(origen, 0, 0, null);
+        g.dispose();
+        return copia;
+    }
+
+    private static BufferedImage copiarCompatible(BufferedImage origen) {
+        BufferedImage copia = MosaicoTeselas.crearImagenCompatible(origen.getWidth(), origen.getHeight(), Transparency.TRANSLUCENT);
+        Graphics2D g = copia.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(origen, 0, 0, null);
+        g.dispose();
+        return copia;
+    }
+
+    // =========================================================================
+    // 3. CONSULTA
+    // =========================================================================
+
+    /** Índice del frame que toca en un instante dado (ms) del reloj de animación. */
+    public int indiceFrame(long milisegundos) {
+        int enCiclo = (int) Math.floorMod(milisegundos, (long) duracionCicloMs);
+        for (int i = 0; i < finFrameMs.length; i++) {
+            if (enCiclo < finFrameMs[i]) return i;
+        }
+        return finFrameMs.length - 1;
+    }
+
+    /** Frame que toca ahora según el reloj compartido de animación. */
+    public BufferedImage getFrameActual() {
+        return frames[indiceFrame(RelojAnimacion.getMilisegundos())];
+    }
+
+    public BufferedImage getFrame(int indice) {
+        return frames[indice];
+    }
+
+    public int getDuracionMs(int indice) {
+        return duracionesMs[indice];
+    }
+
+    public int getNumFrames() {
+        return frames.length;
+    }
+
+    public int getAncho() {
+        return frames[0].getWidth();
+    }
+
+    public int getAlto() {
+        return frames[0].getHeight();
+    }
+}
@@ -0,0 +1,205 @@
+package juegoprog.graficos;
+
+import juegoprog.elementos.AlmacenEnemigos;
+import juegoprog.elementos.GestorBalas;
+import juegoprog.elementos.GestorEnemigos;
+import juegoprog.elementos.InstantaneaBalas;
+import juegoprog.elementos.InstantaneaEnemigos;
+import juegoprog.jugador.Personaje;
+import juegoprog.sistema.RegistroRecursos;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Capa de entidades del compositor: personaje, balas y enemigos.
+ * <p>
+ * - Es la parte visible de la simulación: no cambia nada, solo lee el estado del personaje y las
+ *   instantáneas que publican los gestores al final de cada tick, así que se puede dibujar desde
+ *   cualquier hilo mientras el bucle actualiza.
+ * - Balas y enemigos se interpolan con la fracción de tick del frame ({@link #setAlphaRender}).
+ * - Los sprites se cargan aquí y no en la simulación, que funciona sin pantalla.
+ */
+public class CapaEntidades {
+
+    // =========================================================================
+    // 1. SPRITES
+    // =========================================================================
+
+    // Lado con el que se dibuja el sprite del enemigo
+    private static final int TAMANO_SPRITE = AlmacenEnemigos.TAMANO;
+
+    // Sprite del enemigo (GIF del registro de recursos) ya escalado y rotado en todas las direcciones,
+    // compartido por todos: crear un enemigo no carga ni decodifica nada
+    private static final SpritesRotados SPRITES = crearSprites("/resources/personaje/enemigo_cuchillo.gif");
+
+    // Etiquetas "Vida: n" ya dibujadas (índice = vida); se crean la primera vez que hacen falta
+    private static final BufferedImage[] ETIQUETAS_VIDA = new BufferedImage[8];
+    private static final Font FUENTE_VIDA = new Font("Dialog", Font.PLAIN, 12);
+    private static int ascensoEtiqueta;
+
+    // GIF del personaje andando y corriendo (se decodifican una vez; los anima el reloj del juego)
+    private final AnimacionGif gifNormal;
+    private final AnimacionGif gifCorrer;
+
+    // =========================================================================
+    // 2. ESTADO QUE SE DIBUJA
+    // =========================================================================
+
+    private final Personaje personaje;
+    private final GestorBalas gestorBalas;
+    private final GestorEnemigos gestorEnemigos;
+
+    // Fracción de tick del frame actual
+    private double alphaRender = 0;
+
+    public CapaEntidades(Personaje personaje, GestorBalas gestorBalas, GestorEnemigos gestorEnemigos) {
+        this.personaje = personaje;
+        this.gestorBalas = gestorBalas;
+        this.gestorEnemigos = gestorEnemigos;
+        this.gifNormal = cargarGif("/personaje/personaje_andando.gif", "normal");
+        this.gifCorrer = cargarGif("/personaje/personaje_corriendo.gif", "de correr");
+    }
+
+    /** Fracción de tick (0..1) transcurrida desde la última actualización; la fija el paso de render. */
+    public void setAlphaRender(double alpha) {
+        this.alphaRender = alpha;
+    }
+
+    // =========================================================================
+    // 3. DIBUJO
+    // =========================================================================
+
+    /** Dibuja personaje, balas y enemigos con la cámara del frame. */
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
+        dibujarPersonaje(g, ancho, alto);
+        dibujarBalas(g, camaraX, camaraY);
+        dibujarEnemigos(g, camaraX, camaraY, ancho, alto);
+    }
+
+    /** Renderiza la imagen del personaje en el centro de la vista, rotada hacia donde mira. */
+    private void dibujarPersonaje(Graphics2D g2d, int ancho, int alto) {
+        AnimacionGif gif = personaje.isCorriendo() ? gifCorrer : gifNormal;
+        Image imagenPersonaje = gif != null ? gif.getFrameActual() : null;
+        if (imagenPersonaje == null) {
+            return;
+        }
+
+        double angulo = personaje.getAngulo();
+
+        // Trasladar el Graphics2D al centro de la pantalla (la cámara va centrada en el personaje) y rotar
+        g2d.translate(ancho / 2, alto / 2);
+        g2d.rotate(angulo);
+
+        // Dibujar imagen en el centro
+        int anchoImagen = imagenPersonaje.getWidth(null);
+        int altoImagen = imagenPersonaje.getHeight(null);
+        if (anchoImagen > 0 && altoImagen > 0) {
+            g2d.drawImage(imagenPersonaje, -anchoImagen / 2, -altoImagen / 2, null);
+        }
+
+        // Deshacer la rotación y la traslación
+        g2d.rotate(-angulo);
+        g2d.translate(-ancho / 2, -alto / 2);
+    }
+
+    /** Dibuja las balas de la última instantánea publicada. */
+    private void dibujarBalas(Graphics g, int desplazamientoX, int desplazamientoY) {
+        int tamano = 5;
+        g.setColor(Color.YELLOW);
+
+        InstantaneaBalas instantanea = gestorBalas.tomarInstantanea();
+        try {
+            for (int i = 0; i < instantanea.getNumBalas(); i++) {
+                // Posición interpolada, ajustada al desplazamiento del mapa
+                int xVisible = (int) instantanea.getXInterpolada(i, alphaRender) - desplazamientoX;
+                int yVisible = (int) instantanea.getYInterpolada(i, alphaRender) - desplazamientoY;
+                g.fillOval(xVisible - tamano / 2, yVisible - tamano / 2, tamano, tamano);
+            }
+        } finally {
+            instantanea.soltar();
+        }
+    }
+
+    /**
+     * Dibuja a todos los enemigos activos en una sola pasada: cada enemigo es un drawImage
+     * del sprite ya rotado (sin copias de Graphics ni transformaciones) y otro de su etiqueta de vida.
+     * Los que quedan fuera de la vista se saltan.
+     */
+    private void dibujarEnemigos(Graphics g, int desplazamientoX, int desplazamientoY, int ancho, int alto) {
+        // Todos los enemigos comparten el mismo reloj de animación (el del juego)
+        int frame = SPRITES != null ? SPRITES.indiceFrame(RelojAnimacion.getMilisegundos()) : 0;
+        int mitad = SPRITES != null ? SPRITES.getMitadLado() : TAMANO_SPRITE / 2;
+
+        InstantaneaEnemigos instantanea = gestorEnemigos.tomarInstantanea();
+        try {
+            for (int i = 0; i < instantanea.getNumEnemigos(); i++) {
+                int xVisible = (int) instantanea.getXInterpolada(i, alphaRender) - desplazamientoX;
+                int yVisible = (int) instantanea.getYInterpolada(i, alphaRender) - desplazamientoY;
+
+                // Fuera de la vista (con margen para el sprite y la etiqueta)
+                if (xVisible < -mitad || xVisible > ancho + mitad || yVisible < -mitad - 20 || yVisible > alto + mitad) {
+                    continue;
+                }
+
+                if (SPRITES != null) {
+                    int direccion = SPRITES.indiceDireccion(instantanea.getAngulo(i));
+                    g.drawImage(SPRITES.getSprite(frame, direccion), xVisible - mitad, yVisible - mitad, null);
+                }
+
+                // Vida del enemigo encima del sprite (misma posición que el antiguo drawString)
+                BufferedImage etiqueta = getEtiquetaVida(instantanea.getVida(i));
+                g.drawImage(etiqueta, xVisible - 20, yVisible - AlmacenEnemigos.TAMANO / 2 - 5 - ascensoEtiqueta, null);
+            }
+        } finally {
+            instantanea.soltar();
+        }
+    }
+
+    // =========================================================================
+    // 4. CARGA DE RECURSOS
+    // =========================================================================
+
+    // Pide el GIF al registro de recursos (compartido; se usa toda la partida y no se libera)
+    private static AnimacionGif cargarGif(String ruta, String descripcion) {
+        RegistroRecursos.Recurso<AnimacionGif> recurso = RegistroRecursos.gif(ruta);
+        AnimacionGif gif = recurso != null ? recurso.get() : null;
+        if (gif == null) {
+            System.err.println("Error al cargar el GIF " + descripcion + ": " + ruta);
+        }
+        return gif;
+    }
+
+    private static SpritesRotados crearSprites(String ruta) {
+        RegistroRecursos.Recurso<AnimacionGif> gif = RegistroRecursos.gif(ruta);
+        if (gif == null) return null;
+
+        // Una vez rotados, los frames originales ya no hacen falta
+        SpritesRotados sprites = SpritesRotados.desdeAnimacion(gif.get(), TAMANO_SPRITE, TAMANO_SPRITE, SpritesRotados.DIRECCIONES);
+        gif.liberar();
+        return sprites;
+    }
+
+    /** Devuelve la imagen con el texto "Vida: n", dibujándola la primera vez que se pide. */
+    private static BufferedImage getEtiquetaVida(int vida) {
+        int indice = Math.max(0, Math.min(vida, ETIQUETAS_VIDA.length - 1));
+        if (ETIQUETAS_VIDA[indice] == null) {
+            BufferedImage medida = new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D gm = medida.createGraphics();
+            FontMetrics fm = gm.getFontMetrics(FUENTE_VIDA);
+            gm.dispose();
+
+            String texto = "Vida: " + indice;
+            ascensoEtiqueta = fm.getAscent();
+            BufferedImage etiqueta = MosaicoTeselas.crearImagenCompatible(
+                    fm.stringWidth(texto) + 1, fm.getHeight(), Transparency.TRANSLUCENT);
+            Graphics2D g = etiqueta.createGraphics();
+            g.setFont(FUENTE_VIDA);
+            g.setColor(Color.WHITE);
+            g.drawString(texto, 0, fm.getAscent());
+            g.dispose();
+            ETIQUETAS_VIDA[indice] = etiqueta;
+        }
+        return ETIQUETAS_VIDA[indice];
+    }
+}
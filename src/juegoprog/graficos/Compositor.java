@@ -0,0 +1,150 @@
+package juegoprog.graficos;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compositor de la escena de juego.
+ * <p>
+ * Sustituye al JLayeredPane de paneles del tamaño del mapa: hay una lista ordenada de capas
+ * (fondo, entidades, tejados, partículas, niebla, iluminación, HUD...) que se dibujan una tras otra
+ * sobre un único buffer, en una sola pasada y sin componentes Swing intermedios.
+ * Cada capa se puede activar o desactivar por nombre y se mide su tiempo de dibujado.
+ */
+public class Compositor {
+
+    // =========================================================================
+    // 1. CAPAS
+    // =========================================================================
+
+    /** Una capa de la escena. Recibe la cámara (esquina superior izquierda del mapa visible) y el tamaño de la vista. */
+    public interface Capa {
+        void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto);
+    }
+
+    /** Capa registrada con su nombre, estado y tiempos. */
+    private static class Entrada {
+        final String nombre;
+        final Capa capa;
+        volatile boolean activa = true;
+        long nanosVentana = 0;   // Tiempo acumulado en la ventana actual
+        double msMedia = 0;      // Media del último informe
+
+        Entrada(String nombre, Capa capa) {
+            this.nombre = nombre;
+            this.capa = capa;
+        }
+    }
+
+    private final List<Entrada> capas = new ArrayList<>();
+
+    // Tiempos totales del frame
+    private long nanosFramesVentana = 0;
+    private int framesVentana = 0;
+
+    // =========================================================================
+    // 2. CONFIGURACIÓN
+    // =========================================================================
+
+    /** Añade una capa por encima de las ya registradas. */
+    public void agregarCapa(String nombre, Capa capa) {
+        capas.add(new Entrada(nombre, capa));
+    }
+
+    /** Activa o desactiva una capa por nombre. */
+    public void setActiva(String nombre, boolean activa) {
+        for (Entrada entrada : capas) {
+            if (entrada.nombre.equals(nombre)) {
+                entrada.activa = activa;
+            }
+        }
+    }
+
+    public boolean isActiva(String nombre) {
+        for (Entrada entrada : capas) {
+            if (entrada.nombre.equals(nombre)) {
+                return entrada.activa;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Aplica las propiedades del sistema {@code noir.capas.off} y {@code noir.capas.on}
+     * (listas de nombres separadas por comas) para comparar el coste de cada capa.
+     */
+    public void configurarDesdePropiedades() {
+        for (String nombre : System.getProperty("noir.capas.off", "").split(",")) {
+            if (!nombre.isBlank()) setActiva(nombre.trim(), false);
+        }
+        for (String nombre : System.getProperty("noir.capas.on", "").split(",")) {
+            if (!nombre.isBlank()) setActiva(nombre.trim(), true);
+        }
+    }
+
+    // =========================================================================
+    // 3. DIBUJADO
+    // =========================================================================
+
+    /**
+     * Dibuja todas las capas activas, en orden, sobre el mismo Graphics.
+     * Cada capa recibe su propia copia del contexto para que no se arrastren
+     * transformaciones ni composiciones de una capa a la siguiente.
+     */
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
+        long inicioFrame = System.nanoTime();
+
+        for (Entrada entrada : capas) {
+            if (!entrada.activa) continue;
+
+            long inicio = System.nanoTime();
+            Graphics2D gCapa = (Graphics2D) g.create();
+            try {
+                entrada.capa.dibujar(gCapa, camaraX, camaraY, ancho, alto);
+            } finally {
+                gCapa.dispose();
+            }
+            entrada.nanosVentana += System.nanoTime() - inicio;
+        }
+
+        synchronized (this) {
+            nanosFramesVentana += System.nanoTime() - inicioFrame;
+            framesVentana++;
+        }
+    }
+
+    // =========================================================================
+    // 4. TIEMPOS
+    // =========================================================================
+
+    /**
+     * Cierra la ventana de medición: devuelve el tiempo medio de frame (ms) y
+     * calcula la media de cada capa para {@link #getInformeCapas()}.
+     */
+    public synchronized double cerrarVentanaTiempos() {
+        double msFrame = framesVentana > 0 ? nanosFramesVentana / 1e6 / framesVentana : 0;
+        for (Entrada entrada : capas) {
+            entrada.msMedia = framesVentana > 0 ? entrada.nanosVentana / 1e6 / framesVentana : 0;
+            entrada.nanosVentana = 0;
+        }
+        nanosFramesVentana = 0;
+        framesVentana = 0;
+        return msFrame;
+    }
+
+    /** Texto con el tiempo medio por frame de cada capa en la última ventana. */
+    public String getInformeCapas() {
+        StringBuilder sb = new StringBuilder();
+        for (Entrada entrada : capas) {
+            if (sb.length() > 0) sb.append(" | ");
+            sb.append(entrada.nombre).append(": ");
+            if (entrada.activa) {
+                sb.append(String.format("%.2f ms", entrada.msMedia));
+            } else {
+                sb.append("off");
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,70 @@
+package juegoprog.graficos;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * Lienzo para render activo: en lugar de pedir un {@code repaint()} y esperar a que Swing pinte
+ * cuando le venga bien en el EDT, el bucle del juego dibuja directamente en un {@link BufferStrategy}
+ * (doble o triple buffer) y lo presenta con {@code show()} + {@code Toolkit.sync()}.
+ */
+public class LienzoActivo extends Canvas {
+
+    /** Lo que se dibuja en cada frame sobre el buffer trasero. */
+    public interface Dibujo {
+        void dibujar(Graphics2D g);
+    }
+
+    private final int numBuffers;
+
+    /**
+     * @param ancho      Ancho del lienzo.
+     * @param alto       Alto del lienzo.
+     * @param numBuffers 2 para doble buffer, 3 para triple buffer.
+     */
+    public LienzoActivo(int ancho, int alto, int numBuffers) {
+        this.numBuffers = numBuffers;
+        setPreferredSize(new Dimension(ancho, alto));
+        setBackground(Color.BLACK);
+        setIgnoreRepaint(true); // El pintado lo controla el bucle, no el sistema
+        setFocusable(true);
+    }
+
+    /**
+     * Dibuja un frame en el buffer trasero y lo presenta.
+     * Si el lienzo aún no es visible (p. ej. estamos en el menú) no hace nada.
+     *
+     * @return true si se llegó a presentar el frame.
+     */
+    public boolean renderizar(Dibujo dibujo) {
+        if (!isShowing()) {
+            return false;
+        }
+
+        BufferStrategy estrategia = getBufferStrategy();
+        if (estrategia == null) {
+            createBufferStrategy(numBuffers);
+            return false;
+        }
+
+        // Bucle recomendado por BufferStrategy: repetir si el contenido se perdió o se restauró
+        do {
+            do {
+                Graphics2D g = (Graphics2D) estrategia.getDrawGraphics();
+                try {
+                    g.setColor(getBackground());
+                    g.fillRect(0, 0, getWidth(), getHeight());
+                    dibujo.dibujar(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (estrategia.contentsRestored());
+
+            estrategia.show();
+        } while (estrategia.contentsLost());
+
+        // En Linux (X11) evita que los frames se queden en cola y se note tirones
+        Toolkit.getDefaultToolkit().sync();
+        return true;
+    }
+}
@@ -1,41 +1,44 @@
 package juegoprog.graficos;
 
-import juegoprog.elementos.Enemigo;
-import juegoprog.jugador.Personaje;
 import juegoprog.elementos.GestorEnemigos;
+import juegoprog.elementos.InstantaneaEnemigos;
+import juegoprog.jugador.Personaje;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.List;
 import java.util.Objects;
 
-public class Minimapa extends JPanel {
+/** Minimapa de la esquina inferior derecha. Es una capa del HUD en el compositor. */
+public class Minimapa {
     private final Image fondoMiniMapa; // Imagen del fondo del minimapa
     private final Personaje personaje; // Referencia al personaje
+    private final GestorEnemigos gestorEnemigos; // De aquí sale la instantánea de enemigos de cada tick
     private final int mapaAncho; // Ancho real del mapa
     private final int mapaAlto;  // Alto real del mapa
 
     private final int miniMapaAncho = 200; // Ancho fijo del minimapa
     private final int miniMapaAlto = 215;  // Alto fijo del minimapa
 
-    public Minimapa(Personaje personaje, int mapaAncho, int mapaAlto) {
+    // Posición del minimapa en la pantalla (esquina superior izquierda)
+    private final int posX;
+    private final int posY;
+
+    public Minimapa(Personaje personaje, GestorEnemigos gestorEnemigos, int mapaAncho, int mapaAlto, int posX, int posY) {
         this.fondoMiniMapa = new ImageIcon(Objects.requireNonNull(getClass().getResource("/graficos/minimapaDS.png"))).getImage();
         this.personaje = personaje;
-        // Referencia directa al gestor de enemigos
+        this.gestorEnemigos = gestorEnemigos;
         this.mapaAncho = mapaAncho;  // Guardamos el ancho real del mapa
         this.mapaAlto = mapaAlto;    // Guardamos el alto real del mapa
-
-        // Tamaño del minimapa
-        setPreferredSize(new Dimension(miniMapaAncho, miniMapaAlto));
-        setOpaque(false); // Permite transparencia
+        this.posX = posX;
+        this.posY = posY;
     }
 
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
+        // Todo lo que sigue se dibuja relativo a la esquina del minimapa
+        g.translate(posX, posY);
 
         // Dibuja el fondo del minimapa
-        g.drawImage(fondoMiniMapa, 0, 0, this);
+        g.drawImage(fondoMiniMapa, 0, 0, null);
 
         // Calcula la posición del personaje en el minimapa con coordenadas escaladas
         int personajeX = (int) ((personaje.getX() / (double) mapaAncho) * miniMapaAncho);
@@ -45,18 +48,22 @@ public class Minimapa extends JPanel {
         g.setColor(Color.RED);
         g.fillOval(personajeX - 3, personajeY - 3, 6, 6);
 
-        // Dibuja los enemigos (puntos azules) obtenidos dinámicamente del gestor de enemigos
-        List<Enemigo> enemigos = GestorEnemigos.getEnemigos();
+        // Dibuja los enemigos (puntos verdes) a partir de la última instantánea publicada por el gestor
+        InstantaneaEnemigos enemigos = gestorEnemigos.tomarInstantanea();
         g.setColor(Color.GREEN); // Color de los enemigos
-        for (Enemigo enemigo : enemigos) {
-            if (enemigo.isActivo()) {
+        try {
+            for (int i = 0; i < enemigos.getNumEnemigos(); i++) {
                 // Calculamos la posición del enemigo en el minimapa
-                int enemigoX = (int) ((enemigo.getX() / (double) mapaAncho) * miniMapaAncho);
-                int enemigoY = (int) ((enemigo.getY() / (double) mapaAlto) * miniMapaAlto);
+                int enemigoX = (int) ((enemigos.getX(i) / (double) mapaAncho) * miniMapaAncho);
+                int enemigoY = (int) ((enemigos.getY(i) / (double) mapaAlto) * miniMapaAlto);
 
-                // Dibuja el enemigo como un punto azul
+                // Dibuja el enemigo como un punto
                 g.fillOval(enemigoX - 2, enemigoY - 2, 4, 4);
             }
+        } finally {
+            enemigos.soltar();
         }
+
+        g.translate(-posX, -posY);
     }
 }
\ No newline at end of file
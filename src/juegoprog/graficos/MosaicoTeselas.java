@@ -0,0 +1,255 @@
+package juegoprog.graficos;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+/**
+ * Imagen grande (un mapa completo) troceada en teselas cuadradas de tamaño fijo.
+ * <p>
+ * - Cada tesela se guarda como imagen compatible con la pantalla (se copia sin conversiones).
+ * - Opcionalmente se sube a una {@link VolatileImage} (memoria de vídeo). Si el sistema pierde su
+ *   contenido, se restaura desde la imagen compatible la próxima vez que se dibuja.
+ * - Al dibujar solo se recorren las teselas que se solapan con la vista, así que el coste por frame
+ *   depende del tamaño de la pantalla y no del tamaño del mapa.
+ * - Las teselas totalmente transparentes se pueden descartar al crearlas (capas dispersas).
+ */
+public class MosaicoTeselas {
+
+    // =========================================================================
+    // 1. CONFIGURACIÓN Y DATOS
+    // =========================================================================
+
+    /** Tamaño de tesela por defecto (en píxeles). */
+    public static final int TAM_TESELA = 256;
+
+    /** Si es true se usan VolatileImage; se puede desactivar con {@code -Dnoir.teselas.volatile=false}. */
+    private static final boolean USAR_VOLATILE =
+            Boolean.parseBoolean(System.getProperty("noir.teselas.volatile", "true"));
+
+    private final int ancho;
+    private final int alto;
+    private final int tamTesela;
+    private final int columnas;
+    private final int filas;
+    private final int transparencia;
+
+    private final BufferedImage[] teselas;    // null => tesela vacía (transparente)
+    private final VolatileImage[] aceleradas; // Copia en memoria de vídeo (se crea al dibujar)
+    private int teselasNoVacias;
+
+    // =========================================================================
+    // 2. CREACIÓN
+    // =========================================================================
+
+    private MosaicoTeselas(int ancho, int alto, int tamTesela, int transparencia) {
+        this.ancho = ancho;
+        this.alto = alto;
+        this.tamTesela = tamTesela;
+        this.columnas = (ancho + tamTesela - 1) / tamTesela;
+        this.filas = (alto + tamTesela - 1) / tamTesela;
+        this.transparencia = transparencia;
+        this.teselas = new BufferedImage[columnas * filas];
+        this.aceleradas = new VolatileImage[columnas * filas];
+    }
+
+    /**
+     * Trocea una imagen en teselas.
+     *
+     * @param imagen          Imagen completa (después se puede descartar).
+     * @param tamTesela       Lado de cada tesela en píxeles.
+     * @param descartarVacias Si es true, las teselas sin ningún píxel visible no se guardan.
+     */
+    public static MosaicoTeselas desdeImagen(BufferedImage imagen, int tamTesela, boolean descartarVacias) {
+        return desdeRegion(imagen, 0, 0, imagen.getWidth(), imagen.getHeight(), tamTesela, descartarVacias);
+    }
+
+    /**
+     * Trocea solo una región rectangular de la imagen. Las coordenadas de dibujo del mosaico
+     * resultante siguen siendo las de la imagen completa (la región conserva su posición).
+     */
+    public static MosaicoTeselas desdeRegion(BufferedImage imagen, int regionX, int regionY,
+                                             int regionAncho, int regionAlto,
+                                             int tamTesela, boolean descartarVacias) {
+        int x0 = Math.max(0, regionX);
+        int y0 = Math.max(0, regionY);
+        int x1 = Math.min(imagen.getWidth(), regionX + regionAncho);
+        int y1 = Math.min(imagen.getHeight(), regionY + regionAlto);
+        if (x0 >= x1 || y0 >= y1) {
+            return desdeTrozo(null, x0, y0, imagen.getWidth(), imagen.getHeight(), tamTesela, descartarVacias);
+        }
+        return desdeTrozo(imagen.getSubimage(x0, y0, x1 - x0, y1 - y0), x0, y0,
+                imagen.getWidth(), imagen.getHeight(), tamTesela, descartarVacias);
+    }
+
+    /**
+     * Trocea una imagen pequeña (un trozo) colocada en (origenX, origenY) de un mapa de
+     * anchoTotal x altoTotal: el mosaico se dibuja con las coordenadas del mapa, sin tener que
+     * crear una imagen del tamaño del mapa completo.
+     *
+     * @param trozo Imagen del trozo (null = mosaico vacío).
+     */
+    public static MosaicoTeselas desdeTrozo(BufferedImage trozo, int origenX, int origenY,
+                                            int anchoTotal, int altoTotal,
+                                            int tamTesela, boolean descartarVacias) {
+        int transparencia = trozo == null || trozo.getColorModel().hasAlpha() ? Transparency.TRANSLUCENT : Transparency.OPAQUE;
+        MosaicoTeselas mosaico = new MosaicoTeselas(anchoTotal, altoTotal, tamTesela, transparencia);
+        if (trozo == null) return mosaico;
+
+        int x0 = Math.max(0, origenX);
+        int y0 = Math.max(0, origenY);
+        int x1 = Math.min(anchoTotal, origenX + trozo.getWidth());
+        int y1 = Math.min(altoTotal, origenY + trozo.getHeight());
+
+        for (int fila = y0 / tamTesela; fila * tamTesela < y1; fila++) {
+            for (int col = x0 / tamTesela; col * tamTesela < x1; col++) {
+                // Parte de la tesela que cae dentro de la región
+                int tx0 = Math.max(col * tamTesela, x0);
+                int ty0 = Math.max(fila * tamTesela, y0);
+                int tx1 = Math.min((col + 1) * tamTesela, x1);
+                int ty1 = Math.min((fila + 1) * tamTesela, y1);
+                if (tx0 >= tx1 || ty0 >= ty1) continue;
+
+                if (descartarVacias && transparencia != Transparency.OPAQUE
+                        && esTransparente(trozo, tx0 - origenX, ty0 - origenY, tx1 - tx0, ty1 - ty0)) {
+                    continue;
+                }
+
+                int w = Math.min(tamTesela, mosaico.ancho - col * tamTesela);
+                int h = Math.min(tamTesela, mosaico.alto - fila * tamTesela);
+                BufferedImage tesela = crearImagenCompatible(w, h, transparencia);
+                Graphics2D g = tesela.createGraphics();
+                g.setComposite(AlphaComposite.Src);
+                g.drawImage(trozo,
+                        tx0 - col * tamTesela, ty0 - fila * tamTesela, tx1 - col * tamTesela, ty1 - fila * tamTesela,
+                        tx0 - origenX, ty0 - origenY, tx1 - origenX, ty1 - origenY, null);
+                g.dispose();
+
+                mosaico.teselas[fila * mosaico.columnas + col] = tesela;
+                mosaico.teselasNoVacias++;
+            }
+        }
+        return mosaico;
+    }
+
+    /** Comprueba si todos los píxeles de la zona tienen alfa 0. */
+    private static boolean esTransparente(BufferedImage imagen, int x, int y, int w, int h) {
+        int[] fila = new int[w];
+        for (int j = 0; j < h; j++) {
+            imagen.getRGB(x, y + j, w, 1, fila, 0, w);
+            for (int argb : fila) {
+                if ((argb >>> 24) != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Crea una imagen con el mismo formato que la pantalla (o un BufferedImage normal si no hay pantalla),
+     * para que dibujarla sea una copia directa.
+     */
+    public static BufferedImage crearImagenCompatible(int w, int h, int transparencia) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(w, h, transparencia);
+        }
+        int tipo = transparencia == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE;
+        return new BufferedImage(w, h, tipo);
+    }
+
+    // =========================================================================
+    // 3. DIBUJADO (SOLO LAS TESELAS VISIBLES)
+    // =========================================================================
+
+    /**
+     * Dibuja la parte del mosaico visible desde la cámara.
+     *
+     * @param g          Contexto gráfico (origen en la esquina superior izquierda de la pantalla).
+     * @param camaraX    Coordenada X del mapa que aparece en el borde izquierdo de la pantalla.
+     * @param camaraY    Coordenada Y del mapa que aparece en el borde superior de la pantalla.
+     * @param anchoVista Ancho de la pantalla.
+     * @param altoVista  Alto de la pantalla.
+     */
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int anchoVista, int altoVista) {
+        int colIni = Math.max(0, camaraX / tamTesela);
+        int filaIni = Math.max(0, camaraY / tamTesela);
+        int colFin = Math.min(columnas - 1, (camaraX + anchoVista - 1) / tamTesela);
+        int filaFin = Math.min(filas - 1, (camaraY + altoVista - 1) / tamTesela);
+
+        GraphicsConfiguration gc = USAR_VOLATILE ? g.getDeviceConfiguration() : null;
+
+        for (int fila = filaIni; fila <= filaFin; fila++) {
+            for (int col = colIni; col <= colFin; col++) {
+                int indice = fila * columnas + col;
+                BufferedImage tesela = teselas[indice];
+                if (tesela == null) continue;
+
+                int x = col * tamTesela - camaraX;
+                int y = fila * tamTesela - camaraY;
+
+                Image img = gc != null ? obtenerAcelerada(indice, tesela, gc) : tesela;
+                g.drawImage(img, x, y, null);
+            }
+        }
+    }
+
+    /**
+     * Devuelve la copia en memoria de vídeo de una tesela, creándola o restaurándola si hace falta.
+     * Si no se puede usar (contenido perdido justo ahora), se devuelve la imagen compatible.
+     */
+    private Image obtenerAcelerada(int indice, BufferedImage origen, GraphicsConfiguration gc) {
+        VolatileImage vi = aceleradas[indice];
+        int estado = vi == null ? VolatileImage.IMAGE_INCOMPATIBLE : vi.validate(gc);
+
+        if (estado == VolatileImage.IMAGE_INCOMPATIBLE) {
+            if (vi != null) vi.flush();
+            vi = gc.createCompatibleVolatileImage(origen.getWidth(), origen.getHeight(), transparencia);
+            aceleradas[indice] = vi;
+            restaurar(vi, origen);
+        } else if (estado == VolatileImage.IMAGE_RESTORED) {
+            restaurar(vi, origen);
+        }
+
+        return vi.contentsLost() ? origen : vi;
+    }
+
+    /** Vuelve a copiar la tesela en la VolatileImage (tras crearla o tras perder su contenido). */
+    private void restaurar(VolatileImage vi, BufferedImage origen) {
+        Graphics2D g = vi.createGraphics();
+        g.setComposite(AlphaComposite.Src);
+        g.drawImage(origen, 0, 0, null);
+        g.dispose();
+    }
+
+    /** Libera las copias en memoria de vídeo (se recrean al volver a dibujar). */
+    public void liberarAceleradas() {
+        for (int i = 0; i < aceleradas.length; i++) {
+            if (aceleradas[i] != null) {
+                aceleradas[i].flush();
+                aceleradas[i] = null;
+            }
+        }
+    }
+
+    // =========================================================================
+    // 4. GETTERS
+    // =========================================================================
+
+    public int getAncho() {
+        return ancho;
+    }
+
+    public int getAlto() {
+        return alto;
+    }
+
+    public int getTamTesela() {
+        return tamTesela;
+    }
+
+    /** Número de teselas que tienen contenido (en capas dispersas, las demás no ocupan memoria). */
+    public int getTeselasNoVacias() {
+        return teselasNoVacias;
+    }
+}
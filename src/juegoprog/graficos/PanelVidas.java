@@ -4,11 +4,14 @@ import javax.swing.*;
 import java.awt.*;
 import java.util.Objects;
 
-public class PanelVidas extends JPanel {
+/** Vidas del personaje en la esquina superior izquierda. Es una capa del HUD en el compositor. */
+public class PanelVidas {
 
     private int vidas; // Número de vidas actuales
     private Image imagenVida; // Imagen para representar las vidas
 
+    private static final int ALTO_PANEL = 100; // Alto de la franja donde se centran las vidas
+
     // Constructor que inicializa el número de vidas
     public PanelVidas(int vidasIniciales, String rutaImagen) {
         this.vidas = vidasIniciales;
@@ -19,19 +22,15 @@ public class PanelVidas extends JPanel {
         } else {
             this.imagenVida = icono.getImage().getScaledInstance(225, 225, Image.SCALE_SMOOTH);
         }
-
-        setPreferredSize(new Dimension(225, 225)); // Tamaño del panel
     }
 
-    // Metodo para actualizar el número de vidas y redibujar el panel
+    // Metodo para actualizar el número de vidas (se verá en el siguiente frame)
     public void actualizarVidas(int nuevasVidas) {
         this.vidas = nuevasVidas;
-        repaint(); // Redibuja el panel
     }
 
     // Metodo para dibujar las imágenes según el número de vidas
-    @Override
-    protected void paintComponent(Graphics g) {
+    public void dibujar(Graphics2D g, int camaraX, int camaraY, int ancho, int alto) {
 
         if (imagenVida == null) {
             return; // No dibujar si la imagen no está cargada
@@ -44,8 +43,8 @@ public class PanelVidas extends JPanel {
 
         for (int i = 0; i < vidas; i++) {
             int x = 10 + i * (anchoImagen + espacio); // Posición horizontal
-            int y = (getHeight() - altoImagen) / 2; // Centra verticalmente
-            g.drawImage(imagenVida, x, y, anchoImagen, altoImagen, this);
+            int y = (ALTO_PANEL - altoImagen) / 2; // Centra verticalmente
+            g.drawImage(imagenVida, x, y, anchoImagen, altoImagen, null);
         }
     }
 }
@@ -6,23 +6,29 @@ import juegoprog.cinematica.Cinematica;
 import juegoprog.cinematica.FinalMision;
 import juegoprog.cinematica.GestorPistas;
 import juegoprog.efectos.EfectoNieblaDinamica;
+import juegoprog.efectos.EfectoOscuridadSigilo;
 import juegoprog.efectos.EfectoParticulas;
 import juegoprog.elementos.Dial;
-import juegoprog.elementos.GestorEnemigos;
+import juegoprog.elementos.GestorBalas;
+import juegoprog.escenarios.CapaTejados;
 import juegoprog.escenarios.ColisionesPanel;
 import juegoprog.escenarios.EscenarioDistritoSombrio;
+import juegoprog.escenarios.MapaColisiones;
 import juegoprog.jugador.Personaje;
+import juegoprog.simulacion.Simulacion;
+import juegoprog.sistema.BucleJuego;
 import juegoprog.sistema.MenuPrincipal;
 import juegoprog.controles.Movimiento;
 
 import javax.swing.*;
 import java.awt.*;
-import java.util.Objects;
 
 
 /**
  * Clase principal para gestionar la ventana del juego, con distintas 'pantallas' (Menu, Juego, Minijuegos, etc.).
  * Además, contiene el bucle principal (FPS) para actualizar la lógica y renderizar.
+ * La lógica de la partida es la {@link Simulacion} (sin Swing); la ventana solo la avanza, la dibuja
+ * y le pasa la entrada.
  */
 public class Pantalla extends JFrame {
 
@@ -33,18 +39,33 @@ public class Pantalla extends JFrame {
     private final CardLayout cardLayout;         // Permite cambiar entre pantallas
     private final JPanel contenedorPrincipal;    // Panel que contiene las distintas pantallas
 
-    // Referencia al panel del juego
-    private JLayeredPane capaJuego;
+    // Compositor de la escena de juego: una lista ordenada de capas dibujadas en una sola pasada
+    private final Compositor compositor = new Compositor();
 
-    private final Movimiento movimiento;         // Control principal de movimiento y lógica del personaje
+    /** Con {@code -Dnoir.perfil.capas=true} se imprime cada segundo el tiempo medio de cada capa
+     *  y los disparos perdidos o reciclados por el pool de balas. */
+    private static final boolean PERFIL_CAPAS = Boolean.getBoolean("noir.perfil.capas");
 
-    private int frameCount = 0;                  // Contador de frames para calcular FPS
-    private long lastTime = System.nanoTime();   // Ayuda en el cálculo de FPS
+    /**
+     * Modo de render. Por defecto es activo (Canvas + BufferStrategy dibujado desde el bucle).
+     * Con {@code -Dnoir.render=swing} se usa el camino anterior: repaint() y pintado en el EDT.
+     */
+    private static final boolean RENDER_ACTIVO =
+            !"swing".equalsIgnoreCase(System.getProperty("noir.render", "activo"));
+
+    private LienzoActivo lienzo;                 // Solo en modo activo
+    private Component vistaJuego;                // Componente que recibe la entrada en la pantalla de juego
+
+    private final Simulacion simulacion;         // Núcleo de la partida: jugador, enemigos, balas y zonas
+    private final Movimiento movimiento;         // Controles del personaje, cámara y mensajes de las zonas
+    private final CapaEntidades entidades;       // Dibujo del personaje, las balas y los enemigos
+
+    private BucleJuego bucle;                    // Bucle de paso fijo (lógica + render interpolado)
 
     private final GestorMusica gestorMusica;     // Gestor de música de fondo
-    private GestorSonidos gestorSonidos;         // Gestor de efectos de sonido
+    private final GestorSonidos gestorSonidos;   // Gestor de efectos de sonido (también los de la simulación)
 
-    private Image tejados;                       // Imagen de los tejados del escenario
+    private CapaTejados tejados;                 // Tejados del escenario (dispersos, por edificio)
     private GestorPistas gestorPistas;           // Gestiona pistas (investigación / recolección)
 
     private PanelVidas panelVidas;
@@ -53,13 +74,11 @@ public class Pantalla extends JFrame {
 
     private boolean partidaTerminada = false; // Bandera para saber si la partida terminó
 
-    private boolean bucleEnEjecucion = true;
-
-    private GestorEnemigos gestorEnemigos; // Añade esta variable
-
     // Pantalla final del juego antes de regresar al menú.
     private FinalMision finalMision;
 
+    private ColisionesPanel colisionesDebug;     // Vista opcional del mapa de colisiones
+
     private EfectoNieblaDinamica niebla;
     private EfectoParticulas particulas;
 
@@ -93,7 +112,7 @@ public class Pantalla extends JFrame {
         setContentPane(contenedorPrincipal);
 
         // Creamos de una vez el gestor de pistas (ligado a esta ventana)
-        gestorPistas = new GestorPistas(this, gestorEnemigos);
+        gestorPistas = new GestorPistas(this);
 
         // ---------------------------------------------------------------------
         // 2.3 Agregar la pantalla del Menú principal
@@ -101,64 +120,83 @@ public class Pantalla extends JFrame {
         contenedorPrincipal.add(new MenuPrincipal(this), "MENU");
 
         // ---------------------------------------------------------------------
-        // 2.4 Configuración de la pantalla de juego (JLayeredPane con varias capas)
+        // 2.4 Configuración de la pantalla de juego (capas del compositor)
         // ---------------------------------------------------------------------
-        capaJuego = new JLayeredPane();
-        capaJuego.setPreferredSize(new Dimension(1280, 720));
 
-        // EFECTO NIEBLA
-        niebla = new EfectoNieblaDinamica();
-        niebla.setBounds(0, 0, 4472, 4816);
-        // La añadimos en una capa por encima del escenario
-        capaJuego.add(niebla, JLayeredPane.POPUP_LAYER);
-
-        // Opcional, si quieres más densidad:
-        niebla.setAlpha(0.7f);
-
-        // EFECTO PARTÍCULAS
-        // 1) Crear e inicializar la instancia
-        particulas = new EfectoParticulas(4472, 4816, 350);
-        particulas.setBounds(0, 0, 4472, 4816);
-        // Añadir en la capa que quieras, por ejemplo una capa por debajo de la niebla
-        capaJuego.add(particulas, JLayeredPane.PALETTE_LAYER);
+        // Fondo del escenario (mapa): solo se dibujan las teselas visibles
+        EscenarioDistritoSombrio escenario = new EscenarioDistritoSombrio();
 
-        // 2) (Opcional) Establecer una densidad base
-        particulas.setDensidad(0.5f);
+        // Mapa de colisiones compartido (coordenadas globales, sin Swing)
+        MapaColisiones colisiones = MapaColisiones.cargar("/escenarios/colision_distrito_sombrio2.png", 4472, 4816);
 
+        // Vista de depuración de las colisiones (desactivada salvo -Dnoir.debug.colisiones=true)
+        colisionesDebug = new ColisionesPanel(colisiones);
 
-        // Fondo del escenario (mapa)
-        EscenarioDistritoSombrio escenario = new EscenarioDistritoSombrio();
-        escenario.setBounds(0, 0, 4472, 4816);
-        capaJuego.add(escenario, JLayeredPane.DEFAULT_LAYER);
+        // Núcleo de la partida (sin Swing) y su personaje principal; sus efectos suenan en el gestor de la ventana
+        gestorSonidos = new GestorSonidos();
+        simulacion = new Simulacion(colisiones, gestorSonidos);
+        personaje = simulacion.getPersonaje();
+        finalMision = new FinalMision(this);
 
-        // Capa de colisiones (invisible, se usa para detectar choques con paredes/obstáculos)
-        ColisionesPanel colisiones = new ColisionesPanel();
-        colisiones.setBounds(0, 0, 4472, 4816);
-        capaJuego.add(colisiones, JLayeredPane.PALETTE_LAYER);
+        // Cada rectángulo es el interior de una casa: al entrar, se desvanece solo su tejado
+        tejados = new CapaTejados("/escenarios/tejados_distrito_sombrio.png",
+                new Rectangle(1787, 1865, 463, 756),
+                new Rectangle(2567, 2785, 516, 1084));
 
-        // Personaje principal
-        personaje = new Personaje();
-        finalMision = new FinalMision(this);
+        // Control del personaje desde la ventana (teclado, ratón, cámara y mensajes)
+        movimiento = new Movimiento(this, simulacion, finalMision);
 
+        // Personaje, balas y enemigos tal y como los deja cada tick
+        entidades = new CapaEntidades(personaje, simulacion.getGestorBalas(), simulacion.getGestorEnemigos());
 
-        // Control de movimiento (manejador de la lógica principal del juego)
-        movimiento = new Movimiento(this, escenario, colisiones, personaje, finalMision);
-        movimiento.setBounds(0, 0, 1280, 720);
-        capaJuego.add(movimiento, JLayeredPane.MODAL_LAYER);
+        // EFECTO PARTÍCULAS (-Dnoir.particulas=N para cambiar la cantidad)
+        particulas = new EfectoParticulas(4472, 4816, Integer.getInteger("noir.particulas", 350));
+        particulas.setDensidad(0.5f);
 
-        // Minimapa
-        Minimapa minimapa = new Minimapa(personaje, 4472, 4816);
-        minimapa.setBounds(getWidth() - 237, getHeight() - 280, 217, 236);
-        capaJuego.add(minimapa, JLayeredPane.DRAG_LAYER); // Se coloca por encima de las capas base
+        // EFECTO NIEBLA
+        niebla = new EfectoNieblaDinamica();
+        niebla.setAlpha(0.7f);
 
+        // Oscuridad alrededor del personaje (modo sigilo)
+        EfectoOscuridadSigilo iluminacion = new EfectoOscuridadSigilo(personaje);
 
-        // Crear el panel de vidas
+        // HUD: minimapa en la esquina inferior derecha y vidas en la superior izquierda
+        Minimapa minimapa = new Minimapa(personaje, simulacion.getGestorEnemigos(), 4472, 4816, getWidth() - 237, getHeight() - 280);
         panelVidas = new PanelVidas(3, "/resources/graficos/Vida2.png"); // Inicia con 3 vidas
-        panelVidas.setBounds(0, 0, 200, 100); // Colocarlo en la esquina superior izquierda
-        capaJuego.add(panelVidas, JLayeredPane.POPUP_LAYER);
 
-        // Agregar esta "pantalla de juego" al CardLayout
-        contenedorPrincipal.add(capaJuego, "JUEGO");
+        // Orden de las capas, de abajo a arriba (se pueden apagar con -Dnoir.capas.off=niebla,particulas...)
+        compositor.agregarCapa("fondo", escenario::dibujar);
+        compositor.agregarCapa("colisiones", colisionesDebug::dibujar);
+        compositor.agregarCapa("entidades", entidades::dibujar);
+        compositor.agregarCapa("tejados", tejados::dibujar);
+        compositor.agregarCapa("particulas", particulas::dibujar);
+        compositor.agregarCapa("niebla", niebla::dibujar);
+        compositor.agregarCapa("iluminacion", iluminacion::dibujar);
+        compositor.agregarCapa("hud", (g, camX, camY, ancho, alto) -> {
+            movimiento.dibujarMensajes(g, camX, camY, ancho, alto);
+            minimapa.dibujar(g, camX, camY, ancho, alto);
+            panelVidas.dibujar(g, camX, camY, ancho, alto);
+            dibujarVeloNegro(g, ancho, alto);
+        });
+        compositor.setActiva("colisiones", ColisionesPanel.DEBUG_ACTIVO);
+        compositor.setActiva("iluminacion", false);
+        compositor.configurarDesdePropiedades();
+
+        // Agregar esta "pantalla de juego" al CardLayout.
+        // En modo activo el lienzo se pinta desde el bucle; en modo Swing, un único panel pinta el compositor.
+        if (RENDER_ACTIVO) {
+            lienzo = new LienzoActivo(1280, 720, 3);
+            JPanel panelLienzo = new JPanel(new BorderLayout());
+            panelLienzo.add(lienzo, BorderLayout.CENTER);
+            contenedorPrincipal.add(panelLienzo, "JUEGO");
+            vistaJuego = lienzo;
+        } else {
+            PanelEscena panelEscena = new PanelEscena();
+            contenedorPrincipal.add(panelEscena, "JUEGO");
+            vistaJuego = panelEscena;
+        }
+        vistaJuego.setFocusable(true);
+        movimiento.registrarEventos(vistaJuego);
 
         // ---------------------------------------------------------------------
         // 2.5 Registrar el minijuego de la caja fuerte en el CardLayout
@@ -166,14 +204,9 @@ public class Pantalla extends JFrame {
         contenedorPrincipal.add(new Dial(this), "MINIJUEGO_CAJA_FUERTE");
 
         // ---------------------------------------------------------------------
-        // 2.6 Cargar la imagen de tejados y el gestor de música/sonidos
+        // 2.6 Cargar el gestor de música/sonidos
         // ---------------------------------------------------------------------
-        tejados = new ImageIcon(Objects.requireNonNull(
-                getClass().getResource("/escenarios/tejados_distrito_sombrio.png"))).getImage();
-
-
         gestorMusica = new GestorMusica();
-        gestorSonidos = new GestorSonidos(); // Inicializamos aquí para evitar null
 
         // ---------------------------------------------------------------------
         // 2.7 Iniciar el bucle principal del juego
@@ -200,12 +233,12 @@ public class Pantalla extends JFrame {
         );
 
         // Establecer el cursor personalizado en el panel del juego
-        capaJuego.setCursor(cursorPersonalizado);
+        vistaJuego.setCursor(cursorPersonalizado);
     }
 
     private void restaurarCursorPorDefecto() {
         // Restaura el cursor predeterminado del sistema para toda la ventana
-        capaJuego.setCursor(Cursor.getDefaultCursor());
+        vistaJuego.setCursor(Cursor.getDefaultCursor());
     }
 
 
@@ -249,7 +282,7 @@ public class Pantalla extends JFrame {
         if (pantalla.equals("JUEGO")) {
             configurarCursorPersonalizado();
             movimiento.setEnMinijuego(false);
-            SwingUtilities.invokeLater(movimiento::requestFocusInWindow);
+            SwingUtilities.invokeLater(vistaJuego::requestFocusInWindow);
         } else {
             restaurarCursorPorDefecto();
         }
@@ -262,36 +295,49 @@ public class Pantalla extends JFrame {
 
     /**
      * Inicia el bucle principal en un hilo separado:
-     * - Se repite continuamente: actualizar() + repaint().
-     * - Usa una tasa fija de 60 FPS.
+     * - La lógica avanza a 60 ticks por segundo con paso fijo (acumulador de tiempo).
+     * - El render interpola entre los dos últimos estados de la simulación.
+     * - Una vez por segundo se muestran FPS, TPS y ticks descartados/extra en el título.
      */
     private void iniciarBucle() {
-        new Thread(() -> {
-            final int fps = 60;
-            final long frameTime = 1_000_000_000L / fps; // nanos
+        bucle = new BucleJuego(this::actualizar, this::renderizar, 60, 5, 0);
+        bucle.setInforme(this::mostrarEstadisticas);
+        bucle.iniciar();
+    }
 
-            while (bucleEnEjecucion) {
-                long startTime = System.nanoTime();
+    /**
+     * Paso de render: prepara la cámara interpolada y dibuja el frame con el compositor.
+     * - Modo activo: el propio hilo del bucle pinta las capas en el BufferStrategy del lienzo.
+     * - Modo Swing: se pide un repaint() y el panel de la escena pinta las capas en el EDT.
+     */
+    private void renderizar(double alpha) {
+        movimiento.prepararRender(alpha);
+        entidades.setAlphaRender(alpha);
 
-                // Actualiza la lógica del juego
-                actualizar();
+        if (RENDER_ACTIVO) {
+            lienzo.renderizar(this::dibujarEscena);
+        } else {
+            vistaJuego.repaint();
+        }
+    }
 
-                // Llama al paint(...) de la ventana
-                repaint();
+    /** Dibuja todas las capas activas del compositor con la cámara del frame actual. */
+    private void dibujarEscena(Graphics2D g) {
+        compositor.dibujar(g, movimiento.getCamaraRenderX(), movimiento.getCamaraRenderY(), 1280, 720);
+    }
 
-                // Calcula cuánto tardó en este frame
-                long elapsedTime = System.nanoTime() - startTime;
-                long sleepTime = frameTime - elapsedTime;
+    /** Panel de la pantalla de juego en modo Swing: un único componente que pinta el compositor. */
+    private class PanelEscena extends JPanel {
+        PanelEscena() {
+            setPreferredSize(new Dimension(1280, 720));
+            setBackground(Color.BLACK);
+        }
 
-                if (sleepTime > 0) {
-                    try {
-                        Thread.sleep(sleepTime / 1_000_000L); // nanos a ms
-                    } catch (InterruptedException e) {
-                        e.printStackTrace();
-                    }
-                }
-            }
-        }).start();
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            dibujarEscena((Graphics2D) g);
+        }
     }
 
     // =========================================================================
@@ -299,11 +345,17 @@ public class Pantalla extends JFrame {
     // =========================================================================
 
     /**
-     * Se llama en cada frame:
-     *  - Actualiza el movimiento del personaje (si no estamos en cinemática).
-     *  - Calcula y actualiza los FPS.
+     * Se llama en cada tick del bucle (60 por segundo):
+     *  - Avanza el scroll de la niebla, las partículas y el reloj de las animaciones.
+     *  - Avanza la simulación un tick (si no estamos en cinemática) y actualiza la vista con su estado.
      */
     private void actualizar() {
+        // Niebla, partículas y animaciones avanzan con el reloj del bucle (también en menús y cinemáticas)
+        double segundosTick = 1.0 / bucle.getTicksPorSegundo();
+        niebla.actualizar(segundosTick);
+        particulas.actualizar(segundosTick);
+        RelojAnimacion.avanzar(segundosTick);
+
         // No realiza lógica si la partida ya ha terminado
         if (partidaTerminada) {
             return;
@@ -311,12 +363,9 @@ public class Pantalla extends JFrame {
 
         // Solo actualiza si no estamos en cinemática
         if (!enCinematica) {
-            movimiento.moverJugador();
-            // Eliminamos enemigos inactivos de forma segura
-            GestorEnemigos.getEnemigos().removeIf(enemigo -> {
-                enemigo.verificarColision(personaje);
-                return !enemigo.isActivo();
-            });
+            simulacion.tick();
+            // Cámara, tejados y mensajes de las zonas con el estado de este tick
+            movimiento.despuesDelTick();
 
             // Actualizar el panel de vidas si la vida del personaje cambia
             panelVidas.actualizarVidas(personaje.getVida());
@@ -326,8 +375,6 @@ public class Pantalla extends JFrame {
                 terminarPartida();
             }
         }
-
-        calcularYActualizarFPS();
     }
 
 
@@ -343,7 +390,7 @@ public class Pantalla extends JFrame {
         movimiento.reiniciarTeclas();
 
         // Reiniciar desplazamiento de la pantalla
-        movimiento.reiniciarDesplazamiento(1280, 720);
+        movimiento.reiniciarDesplazamiento(Simulacion.INICIO_X, Simulacion.INICIO_Y);
 
 
         // Restablecer la salud y vidas del personaje
@@ -355,26 +402,28 @@ public class Pantalla extends JFrame {
     }
 
     // =========================================================================
-    // 6. CÁLCULO Y MOSTRADO DE FPS EN LA VENTANA
+    // 6. ESTADÍSTICAS DEL BUCLE EN LA VENTANA
     // =========================================================================
 
     /**
-     * Calcula los fotogramas por segundo (FPS) y los muestra en el título de la ventana.
-     * Se hace cada vez que pasa 1 segundo (1_000_000_000 ns).
+     * Muestra en el título de la ventana los FPS, los ticks de lógica por segundo (TPS),
+     * los ticks descartados / extra y el tiempo medio de render del último segundo.
+     * Lo llama el bucle una vez por segundo.
      */
-    private void calcularYActualizarFPS() {
-        frameCount++;
-        long currentTime = System.nanoTime();
-
-        if (currentTime - lastTime >= 1_000_000_000L) {
-            double fps = frameCount / ((currentTime - lastTime) / 1e9);
-            frameCount = 0;
-            lastTime = currentTime;
-
-            SwingUtilities.invokeLater(() ->
-                    setTitle("NOIR CITY - FPS: " + String.format("%.2f", fps))
-            );
+    private void mostrarEstadisticas(double fps, double tps, long descartados, long extra) {
+        double msRender = compositor.cerrarVentanaTiempos();
+        if (PERFIL_CAPAS) {
+            System.out.println("[CAPAS] " + compositor.getInformeCapas());
+            GestorBalas balas = simulacion.getGestorBalas();
+            System.out.println("[BALAS] disparos perdidos: " + balas.getDisparosDescartados()
+                    + " - recicladas: " + balas.getBalasRecicladas());
         }
+
+        String modo = RENDER_ACTIVO ? "activo" : "swing";
+        SwingUtilities.invokeLater(() ->
+                setTitle(String.format("NOIR CITY - FPS: %.2f - TPS: %.2f - Descartados: %d - Extra: %d - Render (%s): %.2f ms",
+                        fps, tps, descartados, extra, modo, msRender))
+        );
     }
 
     // =========================================================================
@@ -392,6 +441,28 @@ public class Pantalla extends JFrame {
         this.enCinematica = valor;
     }
 
+    /**
+     * Instante (System.nanoTime) hasta el que se tapa la pantalla de juego con negro.
+     * Lo escribe el EDT y lo lee el hilo que pinta, por eso es volatile.
+     */
+    private volatile long veloNegroHasta = 0;
+
+    /**
+     * Tapa la pantalla de juego con negro durante unos milisegundos (p. ej. al acabar una
+     * cinemática). El velo lo pinta la capa "hud" del compositor, así que se ve igual con el
+     * lienzo activo (Canvas, por encima de cualquier glassPane) que en modo Swing.
+     */
+    public void mostrarVeloNegro(int milisegundos) {
+        veloNegroHasta = System.nanoTime() + milisegundos * 1_000_000L;
+    }
+
+    private void dibujarVeloNegro(Graphics2D g, int ancho, int alto) {
+        if (System.nanoTime() - veloNegroHasta < 0) {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, ancho, alto);
+        }
+    }
+
     /**
      * @return true si el juego está en cinemática,
      *         false si está en gameplay normal.
@@ -404,11 +475,20 @@ public class Pantalla extends JFrame {
         return movimiento;
     }
 
+    public Simulacion getSimulacion() {
+        return simulacion;
+    }
+
+    /** @return componente de la pantalla de juego que recibe teclado y ratón. */
+    public Component getVistaJuego() {
+        return vistaJuego;
+    }
+
     public GestorMusica getGestorMusica() {
         return gestorMusica;
     }
 
-    public Image getTejados() {
+    public CapaTejados getTejados() {
         return tejados;
     }
 
@@ -422,6 +502,14 @@ public class Pantalla extends JFrame {
 
     public FinalMision getFinalMision() { return finalMision; }
 
+    public Compositor getCompositor() {
+        return compositor;
+    }
+
+    public ColisionesPanel getColisionesDebug() {
+        return colisionesDebug;
+    }
+
     // NUEVO: Un getter para que Movimiento pueda acceder a la niebla
     public EfectoNieblaDinamica getNiebla() {
         return niebla;
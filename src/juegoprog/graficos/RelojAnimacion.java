@@ -0,0 +1,33 @@
+package juegoprog.graficos;
+
+/**
+ * Reloj compartido por todas las animaciones de sprites.
+ * Lo avanza el bucle principal en cada tick de lógica, así que las animaciones van al ritmo
+ * del juego (se paran si la lógica se para) y no dependen de hilos de AWT.
+ */
+public final class RelojAnimacion {
+
+    // Tiempo de animación acumulado, en milisegundos
+    private static volatile long milisegundos = 0;
+
+    // Parte fraccionaria pendiente (para no perder precisión con ticks de 16,67 ms)
+    private static double restoMs = 0;
+
+    private RelojAnimacion() {
+    }
+
+    /** Avanza el reloj. Se llama desde el hilo del bucle en cada tick.
+     *
+     * @param segundos duración del tick en segundos. */
+    public static void avanzar(double segundos) {
+        double total = restoMs + segundos * 1000.0;
+        long enteros = (long) total;
+        restoMs = total - enteros;
+        milisegundos += enteros;
+    }
+
+    /** @return tiempo de animación en milisegundos. */
+    public static long getMilisegundos() {
+        return milisegundos;
+    }
+}
@@ -0,0 +1,126 @@
+package juegoprog.graficos;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Sprite animado ya rotado y escalado: cada frame se guarda en N direcciones al tamaño final.
+ * <p>
+ * - Se prepara una sola vez al cargar y se comparte entre todas las entidades que usan el mismo sprite.
+ * - Al dibujar no hace falta translate/rotate ni escalar: basta con elegir frame y dirección y hacer
+ *   un drawImage simple centrado en la entidad.
+ * - Cuantas más direcciones, más suave el giro y más memoria (frames × direcciones × lado²).
+ */
+public class SpritesRotados {
+
+    // =========================================================================
+    // 1. CONFIGURACIÓN Y DATOS
+    // =========================================================================
+
+    /** Direcciones por defecto; se puede cambiar con {@code -Dnoir.sprites.direcciones=N}. */
+    public static final int DIRECCIONES = Math.max(1, Integer.getInteger("noir.sprites.direcciones", 32));
+
+    private final BufferedImage[][] sprites; // [frame][dirección]
+    private final int[] finFrameMs;          // Instante (ms) en el que termina cada frame dentro del ciclo
+    private final int duracionCicloMs;
+    private final int direcciones;
+    private final int lado;                  // Lado del cuadrado que contiene el sprite girado
+
+    // =========================================================================
+    // 2. CREACIÓN
+    // =========================================================================
+
+    /**
+     * Rota y escala todos los frames.
+     *
+     * @param frames      Frames originales de la animación.
+     * @param duracionesMs Duración de cada frame en milisegundos.
+     * @param ancho       Ancho final del sprite (sin rotar).
+     * @param alto        Alto final del sprite (sin rotar).
+     * @param direcciones Número de ángulos en los que se divide la vuelta completa.
+     */
+    public SpritesRotados(BufferedImage[] frames, int[] duracionesMs, int ancho, int alto, int direcciones) {
+        this.direcciones = direcciones;
+        this.lado = (int) Math.ceil(Math.hypot(ancho, alto));
+        this.sprites = new BufferedImage[frames.length][direcciones];
+        this.finFrameMs = new int[frames.length];
+
+        int acumulado = 0;
+        for (int f = 0; f < frames.length; f++) {
+            acumulado += Math.max(1, duracionesMs[f]);
+            finFrameMs[f] = acumulado;
+
+            for (int d = 0; d < direcciones; d++) {
+                sprites[f][d] = rotar(frames[f], ancho, alto, d * 2 * Math.PI / direcciones);
+            }
+        }
+        this.duracionCicloMs = acumulado;
+    }
+
+    /** Dibuja el frame escalado al tamaño final y girado sobre el centro de una imagen de lado x lado. */
+    private BufferedImage rotar(BufferedImage frame, int ancho, int alto, double angulo) {
+        BufferedImage sprite = MosaicoTeselas.crearImagenCompatible(lado, lado, Transparency.TRANSLUCENT);
+        Graphics2D g = sprite.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.translate(lado / 2.0, lado / 2.0);
+        g.rotate(angulo);
+        g.drawImage(frame, -ancho / 2, -alto / 2, ancho, alto, null);
+        g.dispose();
+        return sprite;
+    }
+
+    /**
+     * Prepara en todas las direcciones los frames de una animación ya decodificada.
+     *
+     * @return el sprite preparado, o null si la animación es null.
+     */
+    public static SpritesRotados desdeAnimacion(AnimacionGif animacion, int ancho, int alto, int direcciones) {
+        if (animacion == null) return null;
+
+        BufferedImage[] frames = new BufferedImage[animacion.getNumFrames()];
+        int[] duraciones = new int[frames.length];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = animacion.getFrame(i);
+            duraciones[i] = animacion.getDuracionMs(i);
+        }
+        return new SpritesRotados(frames, duraciones, ancho, alto, direcciones);
+    }
+
+    /** Decodifica un GIF de los recursos y lo prepara en todas las direcciones (null si falla). */
+    public static SpritesRotados desdeGif(String ruta, int ancho, int alto, int direcciones) {
+        return desdeAnimacion(AnimacionGif.cargar(ruta), ancho, alto, direcciones);
+    }
+
+    // =========================================================================
+    // 3. CONSULTA
+    // =========================================================================
+
+    /** Frame que corresponde a un instante dado (en ms) del reloj de animación ({@link RelojAnimacion}). */
+    public int indiceFrame(long milisegundos) {
+        int enCiclo = (int) Math.floorMod(milisegundos, (long) duracionCicloMs);
+        for (int f = 0; f < finFrameMs.length; f++) {
+            if (enCiclo < finFrameMs[f]) return f;
+        }
+        return finFrameMs.length - 1;
+    }
+
+    /** Dirección más cercana a un ángulo en radianes (cualquier valor, también negativo). */
+    public int indiceDireccion(double angulo) {
+        int d = (int) Math.round(angulo * direcciones / (2 * Math.PI));
+        return Math.floorMod(d, direcciones);
+    }
+
+    public BufferedImage getSprite(int frame, int direccion) {
+        return sprites[frame][direccion];
+    }
+
+    /** Mitad del lado del sprite girado: se resta a la posición para dibujarlo centrado. */
+    public int getMitadLado() {
+        return lado / 2;
+    }
+
+    public int getNumFrames() {
+        return sprites.length;
+    }
+}
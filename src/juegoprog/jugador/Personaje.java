@@ -1,61 +1,43 @@
 package juegoprog.jugador;
 
-import javax.swing.*;
-import java.awt.*;
-import java.util.Objects;
-
-public class Personaje extends JPanel {
-    private ImageIcon gifNormal;  // GIF de caminar o estar quieto
-    private ImageIcon gifCorrer;  // GIF de correr
-    private ImageIcon gifActual;  // GIF actualmente usado
+/**
+ * Estado del personaje del jugador: posición en el mapa, vida, si corre y hacia dónde mira.
+ * No carga ni dibuja nada (los GIF los pone la capa de entidades), así que la simulación
+ * puede usarlo sin pantalla.
+ */
+public class Personaje {
 
     // Posición actual del personaje
     private int x = 50;
     private int y = 50;
 
     private int vida;
-    // Constructor
-    public Personaje() {
-        // Cargar GIFs
-        cargarGifNormal("/personaje/personaje_andando.gif"); // Ruta del GIF normal
-        cargarGifCorrer("/personaje/personaje_corriendo.gif"); // Ruta del GIF de correr
 
-        // Por defecto, usa el GIF normal
-        gifActual = gifNormal;
+    // Si va corriendo (la vista elige el GIF de correr) y ángulo hacia el que mira (radianes)
+    private volatile boolean corriendo = false;
+    private volatile double angulo = 0;
 
+    // Constructor
+    public Personaje() {
         this.vida = 4;
     }
 
-    public Image getImagen() {
-        return gifActual.getImage();
+    // Cambiar entre caminar y correr
+    public void setCorrer(boolean corriendo) {
+        this.corriendo = corriendo;
     }
 
-    public void cargarGifNormal(String ruta) {
-        try {
-            ImageIcon original = new ImageIcon(Objects.requireNonNull(getClass().getResource(ruta)));
-            gifNormal = original;  // Cargamos sin escalar
-        } catch (Exception e) {
-            System.err.println("Error al cargar el GIF normal: " + ruta);
-        }
+    public boolean isCorriendo() {
+        return corriendo;
     }
 
-    public void cargarGifCorrer(String ruta) {
-        try {
-            ImageIcon original = new ImageIcon(Objects.requireNonNull(getClass().getResource(ruta)));
-            gifCorrer = original;  // Cargamos sin escalar
-        } catch (Exception e) {
-            System.err.println("Error al cargar el GIF de correr: " + ruta);
-        }
+    // Métodos de orientación
+    public double getAngulo() {
+        return angulo;
     }
 
-
-    // Cambiar entre los GIF
-    public void setCorrer(boolean corriendo) {
-        if (corriendo) {
-            gifActual = gifCorrer;  // Si está corriendo, usa el GIF de correr
-        } else {
-            gifActual = gifNormal;  // Si no, usa el GIF normal
-        }
+    public void setAngulo(double angulo) {
+        this.angulo = angulo;
     }
 
     // Métodos de posición
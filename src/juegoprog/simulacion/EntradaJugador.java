@@ -0,0 +1,63 @@
+package juegoprog.simulacion;
+
+/**
+ * Estado de los controles del jugador tal y como los lee la simulación en cada tick.
+ * <p>
+ * - La escribe quien maneja al jugador: el teclado de la ventana o un guion sin pantalla.
+ * - Son solo banderas: se pueden escribir desde cualquier hilo (p. ej. el de Swing) y el tick
+ *   lee su valor en ese momento.
+ */
+public class EntradaJugador {
+
+    private volatile boolean arriba, abajo, izquierda, derecha;
+    private volatile boolean correr;
+
+    public boolean isArriba() {
+        return arriba;
+    }
+
+    public void setArriba(boolean arriba) {
+        this.arriba = arriba;
+    }
+
+    public boolean isAbajo() {
+        return abajo;
+    }
+
+    public void setAbajo(boolean abajo) {
+        this.abajo = abajo;
+    }
+
+    public boolean isIzquierda() {
+        return izquierda;
+    }
+
+    public void setIzquierda(boolean izquierda) {
+        this.izquierda = izquierda;
+    }
+
+    public boolean isDerecha() {
+        return derecha;
+    }
+
+    public void setDerecha(boolean derecha) {
+        this.derecha = derecha;
+    }
+
+    public boolean isCorrer() {
+        return correr;
+    }
+
+    public void setCorrer(boolean correr) {
+        this.correr = correr;
+    }
+
+    /** Suelta todos los controles (al reaparecer o volver al menú). */
+    public void soltarTodo() {
+        arriba = false;
+        abajo = false;
+        izquierda = false;
+        derecha = false;
+        correr = false;
+    }
+}
@@ -0,0 +1,35 @@
+package juegoprog.simulacion;
+
+/**
+ * Lo que la simulación necesita para hacer sonar algo. La simulación solo pide sonidos por ruta;
+ * quién los reproduce lo decide el que la crea.
+ * <p>
+ * - En el juego la implementa {@link juegoprog.audio.GestorSonidos}.
+ * - Sin ventana ni tarjeta de sonido (pruebas, servidores) se usa {@link #SILENCIO}.
+ */
+public interface SalidaSonido {
+
+    /** No reproduce nada. */
+    SalidaSonido SILENCIO = new SalidaSonido() {
+        @Override
+        public void reproducirEfecto(String ruta) {
+        }
+
+        @Override
+        public void reproducirBucle(String ruta) {
+        }
+
+        @Override
+        public void detenerSonido(String ruta) {
+        }
+    };
+
+    /** Reproduce un sonido corto una vez. */
+    void reproducirEfecto(String ruta);
+
+    /** Reproduce un sonido en bucle hasta que se detenga (si ya suena, no lo reinicia). */
+    void reproducirBucle(String ruta);
+
+    /** Detiene un sonido en bucle. */
+    void detenerSonido(String ruta);
+}
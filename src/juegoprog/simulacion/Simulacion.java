@@ -0,0 +1,237 @@
+package juegoprog.simulacion;
+
+import juegoprog.elementos.GestorBalas;
+import juegoprog.elementos.GestorEnemigos;
+import juegoprog.escenarios.MapaColisiones;
+import juegoprog.jugador.Personaje;
+
+/**
+ * Núcleo de la partida sin pantalla: mapa de colisiones, jugador, enemigos, balas y zonas.
+ * <p>
+ * - {@link #tick()} avanza un paso fijo de lógica (1/60 s). No mira el reloj, así que se puede
+ *   llamar tan rápido como se quiera (pruebas de rendimiento y de carga sin ventana).
+ * - No usa AWT ni Swing: los controles llegan por {@link EntradaJugador}, los sonidos salen por
+ *   {@link SalidaSonido} y lo que hay que dibujar se lee de las instantáneas de los gestores.
+ * - La ventana ({@link juegoprog.graficos.Pantalla}) es solo una vista encima: decide cuándo se
+ *   llama al tick (no durante las cinemáticas ni con la partida terminada), mueve la cámara y
+ *   muestra los mensajes de las zonas.
+ * - Se actualiza desde un solo hilo (el del bucle); {@link #disparar} y la entrada se pueden
+ *   usar desde cualquiera.
+ */
+public class Simulacion {
+
+    // =========================================================================
+    // 1. CONSTANTES
+    // =========================================================================
+
+    /** Posición en la que empieza (y reaparece) el jugador. */
+    public static final int INICIO_X = 1280;
+    public static final int INICIO_Y = 720;
+
+    // El jugador no se acerca al borde del mapa más de media vista (1280x720): la cámara va
+    // centrada en él y así nunca se sale del mapa
+    private static final int MARGEN_X = 1280 / 2;
+    private static final int MARGEN_Y = 720 / 2;
+
+    private static final int VELOCIDAD_CAMINAR = 3;
+    private static final int VELOCIDAD_CORRER = 5;
+    private static final int HITBOX = 10;
+
+    private static final String SONIDO_PASOS = "/audio/NoirStep3b.wav";
+    private static final String SONIDO_CORRER = "/audio/NoirRun.wav";
+    private static final String SONIDO_ALARMA = "/audio/NoirAreaAlarm.wav";
+    private static final String SONIDO_DISPARO = "/audio/NoirShotC.wav";
+    private static final String[] SONIDOS_HERIDA = {"/audio/NoirHerida1.wav", "/audio/NoirHerida2.wav", "/audio/NoirHerida3.wav"};
+
+    // =========================================================================
+    // 2. MUNDO
+    // =========================================================================
+
+    private final MapaColisiones colisiones;
+    private final SalidaSonido sonidos;
+
+    private final Personaje personaje = new Personaje();
+    private final EntradaJugador entrada = new EntradaJugador();
+    private final GestorEnemigos gestorEnemigos;
+    private final GestorBalas gestorBalas = new GestorBalas();
+    private final ZonasMision zonas = new ZonasMision();
+
+    // Puntos de sondeo de colisión del jugador (se reutilizan en cada tick)
+    private final int[] sondeoX = new int[4];
+    private final int[] sondeoY = new int[4];
+    private final boolean[] sondeoColision = new boolean[4];
+
+    // Sonido de pasos que está sonando
+    private boolean estaCaminando = false;
+    private boolean estaCorriendo = false;
+
+    private long ticks = 0;
+
+    /**
+     * @param colisiones Mapa de colisiones (coordenadas globales); también da el tamaño del mapa.
+     * @param sonidos    Dónde suenan los efectos ({@link SalidaSonido#SILENCIO} sin audio).
+     */
+    public Simulacion(MapaColisiones colisiones, SalidaSonido sonidos) {
+        this.colisiones = colisiones;
+        this.sonidos = sonidos;
+        this.gestorEnemigos = new GestorEnemigos(sonidos);
+        personaje.setPosicion(INICIO_X, INICIO_Y);
+    }
+
+    // =========================================================================
+    // 3. TICK
+    // =========================================================================
+
+    /**
+     * Avanza la partida un tick:
+     *  - Mueve al jugador según la entrada y las colisiones.
+     *  - Comprueba las zonas (alarma, pistas, salida, caja fuerte).
+     *  - Mueve enemigos y balas, aplica impactos y contacto con el jugador.
+     *  - Publica las instantáneas de este tick para la vista.
+     */
+    public void tick() {
+        ticks++;
+
+        moverJugador();
+        int x = personaje.getX();
+        int y = personaje.getY();
+
+        zonas.actualizar(x, y);
+        if (zonas.isAlarmaDisparada()) {
+            System.out.println("🚨 Alarma activada: ¡Intruso detectado!");
+            sonidos.reproducirEfecto(SONIDO_ALARMA);
+        }
+
+        gestorEnemigos.actualizar(x, y, colisiones);
+        gestorEnemigos.verificarColisiones(gestorBalas);
+        if (gestorEnemigos.enemigosEliminados()) {
+            // Generar nueva oleada
+            gestorEnemigos.actualizar(x, y, colisiones);
+        }
+        gestorBalas.actualizar(colisiones);
+
+        // Contacto enemigo-jugador (solo los enemigos cercanos según la rejilla) y limpieza de inactivos
+        gestorEnemigos.verificarContactoJugador(personaje);
+        // Estado final de los enemigos en este tick, para el render y el minimapa
+        gestorEnemigos.publicarInstantanea();
+    }
+
+    /** Mueve al jugador con los controles de este tick, sin atravesar obstáculos ni salir del margen del mapa. */
+    private void moverJugador() {
+        boolean correr = entrada.isCorrer();
+        int velocidad = correr ? VELOCIDAD_CORRER : VELOCIDAD_CAMINAR;
+        personaje.setCorrer(correr);
+
+        int x = personaje.getX();
+        int y = personaje.getY();
+
+        // Colisiones en cuatro direcciones (arriba, abajo, izquierda, derecha) en una sola consulta
+        sondeoX[0] = x;                       sondeoY[0] = y - HITBOX - velocidad;
+        sondeoX[1] = x;                       sondeoY[1] = y + HITBOX + velocidad;
+        sondeoX[2] = x - HITBOX - velocidad;  sondeoY[2] = y;
+        sondeoX[3] = x + HITBOX + velocidad;  sondeoY[3] = y;
+        colisiones.consultar(sondeoX, sondeoY, 4, sondeoColision);
+
+        double moverX = 0, moverY = 0;
+        if (entrada.isArriba() && !sondeoColision[0]) moverY -= velocidad;
+        if (entrada.isAbajo() && !sondeoColision[1]) moverY += velocidad;
+        if (entrada.isIzquierda() && !sondeoColision[2]) moverX -= velocidad;
+        if (entrada.isDerecha() && !sondeoColision[3]) moverX += velocidad;
+
+        // Normalizar en diagonal (para no ir más rápido en diagonales)
+        double longitud = Math.sqrt(moverX * moverX + moverY * moverY);
+        if (longitud > 0) {
+            moverX = (moverX / longitud) * velocidad;
+            moverY = (moverY / longitud) * velocidad;
+        }
+
+        int nuevoX = Math.max(MARGEN_X, Math.min(x + (int) moverX, colisiones.getAncho() - MARGEN_X));
+        int nuevoY = Math.max(MARGEN_Y, Math.min(y + (int) moverY, colisiones.getAlto() - MARGEN_Y));
+        personaje.setPosicion(nuevoX, nuevoY);
+
+        actualizarSonidoPasos(longitud > 0, correr);
+    }
+
+    /** Activa o desactiva los sonidos de pasos y carrera según el movimiento del personaje. */
+    private void actualizarSonidoPasos(boolean moviendose, boolean correr) {
+        if (!moviendose) {
+            if (estaCaminando || estaCorriendo) {
+                detenerPasos();
+            }
+            return;
+        }
+        if (correr ? estaCorriendo : estaCaminando) return;
+
+        detenerPasos();
+        sonidos.reproducirBucle(correr ? SONIDO_CORRER : SONIDO_PASOS);
+        estaCorriendo = correr;
+        estaCaminando = !correr;
+    }
+
+    private void detenerPasos() {
+        sonidos.detenerSonido(SONIDO_PASOS);
+        sonidos.detenerSonido(SONIDO_CORRER);
+        estaCaminando = false;
+        estaCorriendo = false;
+    }
+
+    // =========================================================================
+    // 4. ACCIONES DEL JUGADOR
+    // =========================================================================
+
+    /**
+     * Dispara una bala desde la posición del personaje hacia un punto del mapa.
+     * Se puede llamar desde cualquier hilo: la bala aparece en el siguiente tick.
+     */
+    public void disparar(double objetivoX, double objetivoY) {
+        sonidos.reproducirEfecto(SONIDO_DISPARO);
+        gestorBalas.disparar(personaje.getX(), personaje.getY(), objetivoX, objetivoY);
+    }
+
+    /** Coloca al jugador en un punto del mapa (al reaparecer o volver a empezar). */
+    public void reiniciarJugador(int x, int y) {
+        personaje.setPosicion(x, y);
+    }
+
+    /** Suelta todos los controles y corta los sonidos de pasos y heridas que siguieran sonando. */
+    public void soltarControles() {
+        entrada.soltarTodo();
+        detenerPasos();
+        for (String herida : SONIDOS_HERIDA) {
+            sonidos.detenerSonido(herida);
+        }
+    }
+
+    // =========================================================================
+    // 5. GETTERS
+    // =========================================================================
+
+    public Personaje getPersonaje() {
+        return personaje;
+    }
+
+    public EntradaJugador getEntrada() {
+        return entrada;
+    }
+
+    public GestorEnemigos getGestorEnemigos() {
+        return gestorEnemigos;
+    }
+
+    public GestorBalas getGestorBalas() {
+        return gestorBalas;
+    }
+
+    public ZonasMision getZonas() {
+        return zonas;
+    }
+
+    public MapaColisiones getColisiones() {
+        return colisiones;
+    }
+
+    /** @return ticks avanzados desde que se creó la simulación. */
+    public long getTicks() {
+        return ticks;
+    }
+}
@@ -0,0 +1,139 @@
+package juegoprog.simulacion;
+
+import juegoprog.elementos.GestorBalas;
+import juegoprog.elementos.GestorEnemigos;
+import juegoprog.elementos.InstantaneaEnemigos;
+import juegoprog.escenarios.MapaColisiones;
+import juegoprog.jugador.Personaje;
+import juegoprog.sistema.Azar;
+
+import java.util.SplittableRandom;
+
+/**
+ * Ejecuta la partida sin ventana, sin sonido y sin esperar al reloj: cada tick se lanza en
+ * cuanto acaba el anterior. Sirve para medir el rendimiento de la lógica y para pruebas de
+ * carga largas en máquinas sin pantalla.
+ * <p>
+ * Uso: {@code java -Djava.awt.headless=true juegoprog.simulacion.SimulacionSinPantalla [ticks]}
+ * (por defecto 10 minutos de partida). Se combina con las demás propiedades del juego, por
+ * ejemplo {@code -Dnoir.semilla=N} para repetir exactamente la misma partida o
+ * {@code -Dnoir.enemigos=N} para cargarla.
+ * <p>
+ * - Al jugador lo maneja un guion con su propio flujo de azar: cambia de dirección cada poco,
+ *   a veces corre y dispara al enemigo cercano que encuentre.
+ * - Si el jugador muere, reaparece en el inicio con la vida completa y se cuenta la muerte.
+ * - Cada minuto de partida se escribe un informe, y al final los ticks por segundo y una suma
+ *   de comprobación del estado: con la misma semilla tiene que salir siempre la misma.
+ */
+public class SimulacionSinPantalla {
+
+    private static final int TICKS_POR_DEFECTO = 60 * 60 * 10;   // 10 minutos a 60 ticks por segundo
+    private static final int TICKS_POR_INFORME = 60 * 60;        // Un informe por minuto de partida
+
+    // Guion del jugador
+    private static final int TICKS_ENTRE_DECISIONES = 45;
+    private static final int TICKS_ENTRE_DISPAROS = 12;
+    private static final double ALCANCE_DISPARO = 400;
+
+    public static void main(String[] args) {
+        // Sin pantalla aunque no se haya pasado la propiedad (antes de tocar nada de AWT)
+        System.setProperty("java.awt.headless", "true");
+
+        long totalTicks = args.length > 0 ? Long.parseLong(args[0]) : TICKS_POR_DEFECTO;
+
+        MapaColisiones colisiones = MapaColisiones.cargar("/escenarios/colision_distrito_sombrio2.png", 4472, 4816);
+        Simulacion simulacion = new Simulacion(colisiones, SalidaSonido.SILENCIO);
+        SplittableRandom guion = Azar.flujo("sin-pantalla");
+        int[] cercanos = new int[8];
+        int muertes = 0;
+
+        System.out.println("▶ Simulación sin pantalla: " + totalTicks + " ticks");
+        long inicio = System.nanoTime();
+        long inicioInforme = inicio;
+
+        for (long tick = 1; tick <= totalTicks; tick++) {
+            if (tick % TICKS_ENTRE_DECISIONES == 1) {
+                decidirMovimiento(simulacion.getEntrada(), guion);
+            }
+            if (tick % TICKS_ENTRE_DISPAROS == 0) {
+                dispararAlMasCercano(simulacion, cercanos);
+            }
+
+            simulacion.tick();
+
+            Personaje personaje = simulacion.getPersonaje();
+            if (personaje.getVida() <= 0) {
+                muertes++;
+                simulacion.soltarControles();
+                simulacion.reiniciarJugador(Simulacion.INICIO_X, Simulacion.INICIO_Y);
+                personaje.setVida(4);
+            }
+
+            if (tick % TICKS_POR_INFORME == 0) {
+                long ahora = System.nanoTime();
+                double msPorTick = (ahora - inicioInforme) / 1e6 / TICKS_POR_INFORME;
+                inicioInforme = ahora;
+                GestorBalas balas = simulacion.getGestorBalas();
+                System.out.printf("[SIM] tick %d - %.3f ms/tick - enemigos: %d - balas: %d (perdidas: %d, recicladas: %d) - vida: %d - muertes: %d%n",
+                        tick, msPorTick, simulacion.getGestorEnemigos().getAlmacen().getNum(),
+                        balas.getAlmacen().getNum(), balas.getDisparosDescartados(), balas.getBalasRecicladas(),
+                        personaje.getVida(), muertes);
+            }
+        }
+
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+        double ticksPorSegundo = totalTicks / segundos;
+        System.out.printf("✔ %d ticks en %.2f s: %.0f ticks/s (%.1f veces el tiempo real), %.4f ms/tick%n",
+                totalTicks, segundos, ticksPorSegundo, ticksPorSegundo / 60, segundos * 1000 / totalTicks);
+        System.out.printf("✔ Semilla %d - muertes: %d - comprobación del estado: %016x%n",
+                Azar.getSemilla(), muertes, sumaComprobacion(simulacion));
+    }
+
+    /** Nuevas teclas del guion: cada eje quieto o en uno de sus dos sentidos, al azar, y a veces corre. */
+    private static void decidirMovimiento(EntradaJugador entrada, SplittableRandom guion) {
+        int vertical = guion.nextInt(3) - 1;
+        int horizontal = guion.nextInt(3) - 1;
+        entrada.setArriba(vertical < 0);
+        entrada.setAbajo(vertical > 0);
+        entrada.setIzquierda(horizontal < 0);
+        entrada.setDerecha(horizontal > 0);
+        entrada.setCorrer(guion.nextInt(10) < 3);
+    }
+
+    /** Dispara al primer enemigo activo dentro del alcance (según el último tick). */
+    private static void dispararAlMasCercano(Simulacion simulacion, int[] cercanos) {
+        Personaje personaje = simulacion.getPersonaje();
+        GestorEnemigos enemigos = simulacion.getGestorEnemigos();
+        if (enemigos.buscarCercanos(personaje.getX(), personaje.getY(), ALCANCE_DISPARO, cercanos) == 0) return;
+
+        int i = enemigos.getAlmacen().indice(cercanos[0]);
+        if (i < 0) return;
+        InstantaneaEnemigos instantanea = enemigos.tomarInstantanea();
+        try {
+            // La instantánea solo tiene los activos, en el mismo orden que el almacén tras limpiar inactivos
+            if (i < instantanea.getNumEnemigos()) {
+                simulacion.disparar(instantanea.getX(i), instantanea.getY(i));
+            }
+        } finally {
+            instantanea.soltar();
+        }
+    }
+
+    /** Mezcla la posición y la vida del jugador y de todos los enemigos en un solo número. */
+    private static long sumaComprobacion(Simulacion simulacion) {
+        Personaje personaje = simulacion.getPersonaje();
+        long suma = personaje.getX() * 31L + personaje.getY() * 17L + personaje.getVida();
+
+        InstantaneaEnemigos enemigos = simulacion.getGestorEnemigos().tomarInstantanea();
+        try {
+            for (int i = 0; i < enemigos.getNumEnemigos(); i++) {
+                suma = suma * 31 + Double.doubleToLongBits(enemigos.getX(i));
+                suma = suma * 31 + Double.doubleToLongBits(enemigos.getY(i));
+                suma = suma * 31 + enemigos.getVida(i);
+            }
+        } finally {
+            enemigos.soltar();
+        }
+        return suma;
+    }
+}
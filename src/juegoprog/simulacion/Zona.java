@@ -0,0 +1,54 @@
+package juegoprog.simulacion;
+
+/**
+ * Rectángulo del mapa con significado para la partida (pista, salida, caja fuerte, alarma).
+ * Mismo criterio que un rectángulo de AWT: incluye el borde izquierdo y superior, no el derecho
+ * ni el inferior.
+ */
+public final class Zona {
+
+    /** Qué pasa cuando el jugador está dentro. */
+    public enum Tipo { PISTA, ESCAPE, CAJA_FUERTE, ALARMA }
+
+    private final String id;
+    private final Tipo tipo;
+    private final int x, y, ancho, alto;
+
+    public Zona(String id, Tipo tipo, int x, int y, int ancho, int alto) {
+        this.id = id;
+        this.tipo = tipo;
+        this.x = x;
+        this.y = y;
+        this.ancho = ancho;
+        this.alto = alto;
+    }
+
+    /** @return true si el punto (coordenadas globales) está dentro de la zona. */
+    public boolean contiene(int px, int py) {
+        return px >= x && py >= y && px < x + ancho && py < y + alto;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getAncho() {
+        return ancho;
+    }
+
+    public int getAlto() {
+        return alto;
+    }
+}
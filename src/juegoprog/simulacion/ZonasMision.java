@@ -0,0 +1,86 @@
+package juegoprog.simulacion;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Zonas especiales del Distrito Sombrío y en cuál está el jugador en cada tick.
+ * <p>
+ * - Zonas de interacción (pistas, salida, caja fuerte): la simulación solo dice en cuál está el
+ *   jugador ({@link #getZonaActual()}); qué se muestra al pulsar ENTER lo decide la vista.
+ * - Alarma: se dispara una vez al entrar y no vuelve a sonar hasta que el jugador sale.
+ * - Las pistas ya vistas dejan de contar como zona de interacción.
+ * - Lo actualiza el hilo del bucle; {@link #marcarPistaVista(String)} se puede llamar desde
+ *   cualquier hilo (la vista la llama al abrir una pista).
+ */
+public class ZonasMision {
+
+    // =========================================================================
+    // 1. ZONAS DEL MAPA
+    // =========================================================================
+
+    // Zonas de interacción, en el orden en que se comprueban
+    private final List<Zona> interaccion = List.of(
+            new Zona("76", Zona.Tipo.PISTA, 1930, 3125, 198, 129),
+            new Zona("190", Zona.Tipo.PISTA, 2823, 1283, 251, 228),
+            new Zona("35", Zona.Tipo.PISTA, 2670, 3079, 230, 120),
+            new Zona("ESCAPE", Zona.Tipo.ESCAPE, 1120, 1800, 50, 120),
+            new Zona("CAJA_FUERTE", Zona.Tipo.CAJA_FUERTE, 2700, 3800, 31, 61)
+    );
+
+    private final Zona alarma = new Zona("ALARMA", Zona.Tipo.ALARMA, 2499, 1854, 1301, 2588);
+
+    // =========================================================================
+    // 2. ESTADO
+    // =========================================================================
+
+    private final Set<String> pistasVistas = ConcurrentHashMap.newKeySet();
+
+    private volatile Zona zonaActual;
+    private boolean dentroAlarma = false;
+    private boolean alarmaDisparada = false;
+
+    /**
+     * Comprueba las zonas con la posición del jugador de este tick.
+     *
+     * @param x Coordenada X del jugador.
+     * @param y Coordenada Y del jugador.
+     */
+    public void actualizar(int x, int y) {
+        Zona encontrada = null;
+        for (Zona zona : interaccion) {
+            if (zona.contiene(x, y) && !(zona.getTipo() == Zona.Tipo.PISTA && pistasVistas.contains(zona.getId()))) {
+                encontrada = zona;
+                break;
+            }
+        }
+        zonaActual = encontrada;
+
+        boolean dentro = alarma.contiene(x, y);
+        alarmaDisparada = dentro && !dentroAlarma;
+        dentroAlarma = dentro;
+    }
+
+    // =========================================================================
+    // 3. CONSULTA
+    // =========================================================================
+
+    /** @return zona de interacción en la que está el jugador, o null si no está en ninguna. */
+    public Zona getZonaActual() {
+        return zonaActual;
+    }
+
+    /** @return true solo en el tick en que el jugador entra en la zona de alarma. */
+    public boolean isAlarmaDisparada() {
+        return alarmaDisparada;
+    }
+
+    public void marcarPistaVista(String id) {
+        pistasVistas.add(id);
+    }
+
+    public boolean isPistaVista(String id) {
+        return pistasVistas.contains(id);
+    }
+}
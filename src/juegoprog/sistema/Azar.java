@@ -0,0 +1,66 @@
+package juegoprog.sistema;
+
+import java.util.SplittableRandom;
+
+/**
+ * Servicio central de números aleatorios de la partida.
+ * <p>
+ * - Toda la aleatoriedad del juego sale de una sola semilla de sesión: {@code -Dnoir.semilla=N}
+ *   para fijarla (pruebas de rendimiento, repeticiones) o, si no se indica, una distinta en cada
+ *   ejecución. La semilla usada se escribe en la consola al arrancar.
+ * - Cada subsistema pide su propio flujo por nombre ({@link #flujo(String)}). El flujo depende solo
+ *   de la semilla y del nombre, no del orden en que se pidan, así que añadir o quitar un subsistema
+ *   no cambia lo que sale en los demás.
+ * - Los flujos son {@link SplittableRandom}: no crean objetos al generar números ni se sincronizan.
+ *   No son seguros entre hilos, así que cada subsistema usa el suyo desde un solo hilo.
+ */
+public final class Azar {
+
+    // =========================================================================
+    // 1. SEMILLA DE LA SESIÓN
+    // =========================================================================
+
+    private static volatile long semillaSesion = semillaInicial();
+
+    private Azar() {
+    }
+
+    private static long semillaInicial() {
+        Long fija = Long.getLong("noir.semilla");
+        long semilla = fija != null ? fija : System.nanoTime() ^ mezclar(System.currentTimeMillis());
+        System.out.println("🎲 Semilla de la partida: " + semilla + " (-Dnoir.semilla=" + semilla + " para repetirla)");
+        return semilla;
+    }
+
+    /** @return la semilla de la que salen todos los flujos. */
+    public static long getSemilla() {
+        return semillaSesion;
+    }
+
+    /**
+     * Cambia la semilla de la sesión. Solo afecta a los flujos que se pidan después
+     * (p. ej. al empezar una partida o una prueba de rendimiento desde cero).
+     */
+    public static void setSemilla(long semilla) {
+        semillaSesion = semilla;
+    }
+
+    // =========================================================================
+    // 2. FLUJOS POR SUBSISTEMA
+    // =========================================================================
+
+    /**
+     * Devuelve un generador nuevo para el subsistema indicado ("enemigos", "particulas"...).
+     * Con la misma semilla de sesión y el mismo nombre, siempre da la misma secuencia.
+     */
+    public static SplittableRandom flujo(String subsistema) {
+        return new SplittableRandom(mezclar(semillaSesion ^ mezclar(subsistema.hashCode())));
+    }
+
+    // Mezcla de 64 bits (la de SplitMix64) para que semillas parecidas den flujos sin relación
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
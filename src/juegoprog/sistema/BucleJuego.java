@@ -0,0 +1,202 @@
+package juegoprog.sistema;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bucle principal de paso fijo (fixed timestep).
+ * <p>
+ * La lógica se ejecuta siempre a {@code ticksPorSegundo} ticks por segundo, con independencia
+ * de lo que tarde el render o de la precisión de {@code Thread.sleep}: el tiempo real transcurrido
+ * se acumula y se consume en ticks de duración fija. Si el equipo se queda atrás, se ejecutan varios
+ * ticks seguidos ("ticks extra") hasta un máximo por frame; lo que supere ese máximo se descarta
+ * ("ticks descartados") para no entrar en una espiral de recuperación.
+ * <p>
+ * Tras los ticks se llama al render con un factor {@code alpha} en [0, 1) que indica cuánto se ha
+ * avanzado hacia el siguiente tick, para que el render interpole entre los dos últimos estados.
+ */
+public class BucleJuego implements Runnable {
+
+    // =========================================================================
+    // 1. INTERFACES DE LOS PASOS DEL BUCLE
+    // =========================================================================
+
+    /** Paso de render. {@code alpha} es la fracción de tick pendiente en el acumulador. */
+    public interface Render {
+        void renderizar(double alpha);
+    }
+
+    /** Recibe una vez por segundo las estadísticas del bucle. */
+    public interface Informe {
+        void informar(double fps, double tps, long ticksDescartados, long ticksExtra);
+    }
+
+    // =========================================================================
+    // 2. CONFIGURACIÓN
+    // =========================================================================
+
+    private final Runnable logica;
+    private final Render render;
+    private Informe informe;
+
+    private final int ticksPorSegundo;
+    private final long nanosPorTick;
+    private final int maxTicksPorFrame;   // Límite de ticks de recuperación por frame
+    private final long nanosPorFrame;     // 0 => se renderiza una vez por tick
+
+    private volatile boolean enEjecucion = false;
+
+    // =========================================================================
+    // 3. ESTADÍSTICAS
+    // =========================================================================
+
+    private long ticksTotales = 0;
+    private long ticksDescartadosTotales = 0;
+    private long ticksExtraTotales = 0;
+
+    // Ventana de un segundo para el informe
+    private long inicioVentana;
+    private int framesVentana = 0;
+    private int ticksVentana = 0;
+    private long descartadosVentana = 0;
+    private long extraVentana = 0;
+
+    /**
+     * @param logica           Paso de simulación (se ejecuta a ritmo fijo).
+     * @param render           Paso de render (recibe el factor de interpolación).
+     * @param ticksPorSegundo  Ritmo de la lógica (60 en el juego).
+     * @param maxTicksPorFrame Máximo de ticks que se ejecutan seguidos para recuperar retraso.
+     * @param fpsMaximo        Límite de frames por segundo; 0 para renderizar una vez por tick.
+     */
+    public BucleJuego(Runnable logica, Render render, int ticksPorSegundo, int maxTicksPorFrame, int fpsMaximo) {
+        this.logica = logica;
+        this.render = render;
+        this.ticksPorSegundo = ticksPorSegundo;
+        this.nanosPorTick = 1_000_000_000L / ticksPorSegundo;
+        this.maxTicksPorFrame = Math.max(1, maxTicksPorFrame);
+        this.nanosPorFrame = fpsMaximo > 0 ? 1_000_000_000L / fpsMaximo : 0;
+    }
+
+    /** Arranca el bucle en su propio hilo. */
+    public void iniciar() {
+        enEjecucion = true;
+        Thread hilo = new Thread(this, "BucleJuego");
+        hilo.start();
+    }
+
+    /** Pide al bucle que termine tras el frame en curso. */
+    public void detener() {
+        enEjecucion = false;
+    }
+
+    public void setInforme(Informe informe) {
+        this.informe = informe;
+    }
+
+    // =========================================================================
+    // 4. BUCLE
+    // =========================================================================
+
+    @Override
+    public void run() {
+        long anterior = System.nanoTime();
+        long acumulador = 0;
+        inicioVentana = anterior;
+
+        while (enEjecucion) {
+            long inicioFrame = System.nanoTime();
+            acumulador += inicioFrame - anterior;
+            anterior = inicioFrame;
+
+            // 1. Consumir el tiempo acumulado en ticks de duración fija
+            int ticksFrame = 0;
+            while (acumulador >= nanosPorTick && ticksFrame < maxTicksPorFrame) {
+                logica.run();
+                acumulador -= nanosPorTick;
+                ticksFrame++;
+            }
+
+            // 2. Si aún queda más de un tick pendiente, se descarta (no se puede recuperar)
+            if (acumulador >= nanosPorTick) {
+                long perdidos = acumulador / nanosPorTick;
+                acumulador -= perdidos * nanosPorTick;
+                ticksDescartadosTotales += perdidos;
+                descartadosVentana += perdidos;
+            }
+
+            if (ticksFrame > 1) {
+                ticksExtraTotales += ticksFrame - 1;
+                extraVentana += ticksFrame - 1;
+            }
+            ticksTotales += ticksFrame;
+            ticksVentana += ticksFrame;
+
+            // 3. Render interpolado entre el estado anterior y el actual
+            render.renderizar((double) acumulador / nanosPorTick);
+            framesVentana++;
+
+            informarSiProcede();
+
+            // 4. Esperar al siguiente tick (o al siguiente frame si hay límite de FPS)
+            long ahora = System.nanoTime();
+            long espera = nanosPorFrame > 0
+                    ? nanosPorFrame - (ahora - inicioFrame)
+                    : nanosPorTick - acumulador - (ahora - inicioFrame);
+            esperar(ahora + espera);
+        }
+    }
+
+    /**
+     * Espera hasta el instante indicado. Se duerme en tramos cortos y los últimos
+     * microsegundos se ceden con {@code Thread.yield()}, para no depender de la
+     * granularidad en milisegundos de {@code Thread.sleep}.
+     */
+    private void esperar(long hasta) {
+        long restante;
+        while ((restante = hasta - System.nanoTime()) > 0) {
+            if (restante > 2_000_000L) {
+                LockSupport.parkNanos(restante - 1_000_000L);
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    private void informarSiProcede() {
+        long ahora = System.nanoTime();
+        long transcurrido = ahora - inicioVentana;
+        if (transcurrido < 1_000_000_000L) {
+            return;
+        }
+
+        double segundos = transcurrido / 1e9;
+        if (informe != null) {
+            informe.informar(framesVentana / segundos, ticksVentana / segundos, descartadosVentana, extraVentana);
+        }
+
+        inicioVentana = ahora;
+        framesVentana = 0;
+        ticksVentana = 0;
+        descartadosVentana = 0;
+        extraVentana = 0;
+    }
+
+    // =========================================================================
+    // 5. GETTERS
+    // =========================================================================
+
+    public int getTicksPorSegundo() {
+        return ticksPorSegundo;
+    }
+
+    public long getTicksTotales() {
+        return ticksTotales;
+    }
+
+    public long getTicksDescartadosTotales() {
+        return ticksDescartadosTotales;
+    }
+
+    public long getTicksExtraTotales() {
+        return ticksExtraTotales;
+    }
+}
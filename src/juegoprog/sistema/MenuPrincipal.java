@@ -16,13 +16,13 @@ public class MenuPrincipal extends JPanel {
     private JButton botonJugar; // ¡Ahora accesible desde otros lugares!
 
     private Font cargarFuentePersonalizada(String ruta, float tamaño) {
-        try {
-            Font fuente = Font.createFont(Font.TRUETYPE_FONT, Objects.requireNonNull(getClass().getResourceAsStream(ruta)));
-            return fuente.deriveFont(Font.BOLD, tamaño);
-        } catch (Exception e) {
+        // La fuente base se carga una vez en el registro; deriveFont crea la variante con tamaño
+        RegistroRecursos.Recurso<Font> fuente = RegistroRecursos.fuente(ruta);
+        if (fuente == null) {
             System.err.println("Error cargando la fuente: " + ruta);
             return new Font("Serif", Font.BOLD, (int) tamaño);
         }
+        return fuente.get().deriveFont(Font.BOLD, tamaño);
     }
 
     public MenuPrincipal(JFrame ventana) {
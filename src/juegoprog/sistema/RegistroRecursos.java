@@ -0,0 +1,208 @@
+package juegoprog.sistema;
+
+import juegoprog.audio.DatosSonido;
+import juegoprog.graficos.AnimacionGif;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registro central de recursos (imágenes, GIFs, fuentes y sonidos).
+ * <p>
+ * - Cada recurso se carga una sola vez y se comparte: las siguientes peticiones devuelven el mismo objeto.
+ * - Los recursos se identifican por un ID normalizado, así que "/audio/x.wav", "/resources/audio/x.wav"
+ *   y "resources/audio/x.wav" son el mismo recurso ("audio/x.wav").
+ * - Cada petición devuelve un {@link Recurso} que cuenta como una referencia. Al liberarlo se resta
+ *   la referencia y, cuando no queda ninguna, el recurso se descarta del registro.
+ * - Los objetos compartidos se tratan como de solo lectura: nadie debe dibujar encima ni modificarlos.
+ */
+public final class RegistroRecursos {
+
+    // =========================================================================
+    // 1. TIPOS Y DATOS
+    // =========================================================================
+
+    /** Tipos de recurso que sabe cargar el registro. */
+    private enum Tipo { IMAGEN, GIF, FUENTE, SONIDO }
+
+    /** Referencia a un recurso compartido. Se libera una sola vez con {@link #liberar()}. */
+    public static final class Recurso<T> {
+        private final String id;
+        private final T valor;
+        private boolean liberado = false;
+
+        private Recurso(String id, T valor) {
+            this.id = id;
+            this.valor = valor;
+        }
+
+        /** @return el recurso compartido (de solo lectura). */
+        public T get() {
+            return valor;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /** Devuelve la referencia al registro. Llamadas repetidas no hacen nada. */
+        public void liberar() {
+            synchronized (RegistroRecursos.class) {
+                if (liberado) return;
+                liberado = true;
+                RegistroRecursos.soltar(id);
+            }
+        }
+    }
+
+    /** Entrada del registro: el objeto cargado y cuántas referencias siguen vivas. */
+    private static final class Entrada {
+        final Tipo tipo;
+        final Object valor;
+        int referencias = 0;
+
+        Entrada(Tipo tipo, Object valor) {
+            this.tipo = tipo;
+            this.valor = valor;
+        }
+    }
+
+    private static final Map<String, Entrada> entradas = new HashMap<>();
+
+    private RegistroRecursos() {
+    }
+
+    // =========================================================================
+    // 2. PETICIÓN DE RECURSOS
+    // =========================================================================
+
+    /** Imagen estática (PNG, JPG...). Devuelve null si no existe o no se puede leer. */
+    public static Recurso<BufferedImage> imagen(String ruta) {
+        return obtener(ruta, Tipo.IMAGEN, BufferedImage.class);
+    }
+
+    /** GIF animado decodificado en frames. Devuelve null si no existe o no se puede leer. */
+    public static Recurso<AnimacionGif> gif(String ruta) {
+        return obtener(ruta, Tipo.GIF, AnimacionGif.class);
+    }
+
+    /** Fuente TrueType/OpenType (tamaño 1: usar deriveFont). Devuelve null si no existe o no se puede leer. */
+    public static Recurso<Font> fuente(String ruta) {
+        return obtener(ruta, Tipo.FUENTE, Font.class);
+    }
+
+    /** Sonido decodificado en memoria. Devuelve null si no existe o no se puede leer. */
+    public static Recurso<DatosSonido> sonido(String ruta) {
+        return obtener(ruta, Tipo.SONIDO, DatosSonido.class);
+    }
+
+    private static synchronized <T> Recurso<T> obtener(String ruta, Tipo tipo, Class<T> clase) {
+        String id = normalizarId(ruta);
+        Entrada entrada = entradas.get(id);
+
+        if (entrada == null) {
+            Object valor = cargar(id, tipo);
+            if (valor == null) {
+                return null;
+            }
+            entrada = new Entrada(tipo, valor);
+            entradas.put(id, entrada);
+        } else if (entrada.tipo != tipo) {
+            System.err.println("❌ El recurso " + id + " ya está cargado como " + entrada.tipo + ", no como " + tipo);
+            return null;
+        }
+
+        entrada.referencias++;
+        return new Recurso<>(id, clase.cast(entrada.valor));
+    }
+
+    /** Resta una referencia y descarta el recurso cuando ya no la usa nadie. */
+    private static synchronized void soltar(String id) {
+        Entrada entrada = entradas.get(id);
+        if (entrada == null) return;
+
+        entrada.referencias--;
+        if (entrada.referencias <= 0) {
+            entradas.remove(id);
+            if (entrada.valor instanceof BufferedImage imagen) {
+                imagen.flush();
+            }
+        }
+    }
+
+    // =========================================================================
+    // 3. IDS Y CARGA
+    // =========================================================================
+
+    /**
+     * Normaliza una ruta de recurso: sin barra inicial, con "/" como separador y sin el prefijo
+     * "resources/". Así se aceptan tanto "/resources/audio/x.wav" como "/audio/x.wav".
+     */
+    public static String normalizarId(String ruta) {
+        String id = ruta.replace('\\', '/');
+        while (id.startsWith("/")) {
+            id = id.substring(1);
+        }
+        if (id.startsWith("resources/")) {
+            id = id.substring("resources/".length());
+        }
+        return id;
+    }
+
+    /** Busca el recurso con y sin el prefijo "resources/" (según cómo esté montado el classpath). */
+    private static URL buscar(String id) {
+        URL url = RegistroRecursos.class.getResource("/" + id);
+        if (url == null) {
+            url = RegistroRecursos.class.getResource("/resources/" + id);
+        }
+        return url;
+    }
+
+    private static Object cargar(String id, Tipo tipo) {
+        URL url = buscar(id);
+        if (url == null) {
+            System.err.println("❌ Recurso no encontrado: " + id);
+            return null;
+        }
+
+        try {
+            switch (tipo) {
+                case IMAGEN:
+                    return ImageIO.read(url);
+                case GIF:
+                    return AnimacionGif.cargar(url);
+                case FUENTE:
+                    try (InputStream entrada = url.openStream()) {
+                        return Font.createFont(Font.TRUETYPE_FONT, entrada);
+                    }
+                case SONIDO:
+                    return DatosSonido.cargar(url);
+                default:
+                    return null;
+            }
+        } catch (Exception e) {
+            System.err.println("❌ Error al cargar el recurso " + id + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // =========================================================================
+    // 4. CONSULTA
+    // =========================================================================
+
+    /** @return número de recursos cargados ahora mismo. */
+    public static synchronized int getNumCargados() {
+        return entradas.size();
+    }
+
+    /** @return referencias vivas de un recurso (0 si no está cargado). */
+    public static synchronized int getReferencias(String ruta) {
+        Entrada entrada = entradas.get(normalizarId(ruta));
+        return entrada != null ? entrada.referencias : 0;
+    }
+}